@@ -1,42 +1,73 @@
 package software.amazon.sso.assignment;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AccessDeniedException;
 import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
+import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
 import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
 import software.amazon.awssdk.services.ssoadmin.model.ValidationException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.sso.assignment.actionProxy.AssignmentProxy;
+import software.amazon.sso.commons.ApiCallMetrics;
+import software.amazon.sso.commons.WaitScheduler;
 
+import java.lang.management.ManagementFactory;
 import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
+import static software.amazon.sso.assignment.Constants.CONFLICT_POLLS_MAX;
+import static software.amazon.sso.assignment.Constants.CONFLICT_POLL_DELAY_SECONDS;
+import static software.amazon.sso.assignment.Constants.CONFLICT_RETRY_DELAY_SECONDS;
+import static software.amazon.sso.assignment.Constants.OPTIMISTIC_WRITES_ENV;
+import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS_ZERO;
+
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
   protected static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
+  private static final String PRIMING_ARN = "arn:aws:sso:::priming";
+  // Runs while the class is initialised, i.e. during Lambda init and before the first invocation is billed
+  private static final long PRIMING_NANOS = prime();
+  private static final AtomicBoolean STARTUP_REPORTED = new AtomicBoolean();
+
   @Override
   public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
     final AmazonWebServicesClientProxy proxy,
     final ResourceHandlerRequest<ResourceModel> request,
     final CallbackContext callbackContext,
     final Logger logger) {
-    return handleRequest(
-      proxy,
-      request,
-      callbackContext != null ? callbackContext : new CallbackContext(),
-      proxy.newProxy(ClientBuilder::getClient),
-      logger
-    );
+    reportStartup(logger);
+    final ApiCallMetrics metrics = new ApiCallMetrics(ResourceModel.TYPE_NAME);
+    try {
+      return runWithinInvocation(
+        proxy,
+        request,
+        callbackContext != null ? callbackContext : new CallbackContext(),
+        proxy.newProxy(timedClientSupplier(logger, metrics)),
+        logger
+      );
+    } finally {
+      metrics.flush(logger);
+    }
   }
 
   protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -46,6 +77,201 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     final ProxyClient<SsoAdminClient> proxyClient,
     final Logger logger);
 
+  /**
+   * Runs the handler and, for as long as it asks for a callback short enough to wait out in this invocation, waits
+   * and runs it again with the model and context it returned, as CloudFormation would on the callback. The first
+   * delay the {@link WaitScheduler} hands to a callback goes back to CloudFormation.
+   */
+  private ProgressEvent<ResourceModel, CallbackContext> runWithinInvocation(
+    final AmazonWebServicesClientProxy proxy,
+    final ResourceHandlerRequest<ResourceModel> request,
+    final CallbackContext callbackContext,
+    final ProxyClient<SsoAdminClient> proxyClient,
+    final Logger logger) {
+    final WaitScheduler waitScheduler = WaitScheduler.forInvocation();
+    ProgressEvent<ResourceModel, CallbackContext> progress = handleRequest(proxy, request, callbackContext, proxyClient, logger);
+    while (progress.getStatus() == OperationStatus.IN_PROGRESS
+            && waitScheduler.awaitInProcess(TimeUnit.SECONDS.toMillis(progress.getCallbackDelaySeconds()))) {
+      logger.log(String.format("Waited %d s in process, %d ms of the invocation left.",
+              progress.getCallbackDelaySeconds(), waitScheduler.getRemainingMillis()));
+      if (progress.getResourceModel() != null) {
+        request.setDesiredResourceState(progress.getResourceModel());
+      }
+      progress = handleRequest(proxy, request,
+              progress.getCallbackContext() != null ? progress.getCallbackContext() : callbackContext, proxyClient, logger);
+    }
+    return progress;
+  }
+
+  /**
+   * Hands out the container-wide client instrumented for this invocation, timing the first time an invocation asks
+   * for it.
+   */
+  private Supplier<SsoAdminClient> timedClientSupplier(final Logger logger, final ApiCallMetrics metrics) {
+    final AtomicBoolean measured = new AtomicBoolean();
+    return () -> {
+      if (measured.getAndSet(true)) {
+        return metrics.instrument(ClientBuilder.getClient(), SsoAdminClient.class);
+      }
+      final boolean warm = ClientBuilder.isClientInitialized();
+      final long setupStart = System.nanoTime();
+      final SsoAdminClient client = ClientBuilder.getClient();
+      onClientSetup(logger, warm, System.nanoTime() - setupStart);
+      return metrics.instrument(client, SsoAdminClient.class);
+    };
+  }
+
+  /**
+   * Called once per invocation that uses the client with the time it took to get it ready, logged by default so
+   * that cold and warm containers can be compared.
+   */
+  protected void onClientSetup(final Logger logger, final boolean warm, final long setupNanos) {
+    logger.log(String.format("SSO Admin client setup took %d us on a %s container.",
+            TimeUnit.NANOSECONDS.toMicros(setupNanos), warm ? "warm" : "cold"));
+  }
+
+  /**
+   * Loads and exercises what every invocation needs before it can make its first call: the Jackson serializers of the
+   * model and the callback context, the translators and the SDK request models with their field metadata. Sample
+   * data only, nothing is sent over the network. Priming is best effort; if it fails the first invocation simply
+   * pays for the class loading instead.
+   */
+  private static long prime() {
+    final long start = System.nanoTime();
+    try {
+      final Serializer serializer = new Serializer();
+      final ResourceModel model = ResourceModel.builder()
+              .instanceArn(PRIMING_ARN)
+              .permissionSetArn(PRIMING_ARN)
+              .targetType("AWS_ACCOUNT")
+              .targetId("000000000000")
+              .principalType("USER")
+              .principalId("priming")
+              .build();
+      roundTrip(serializer, model, new TypeReference<ResourceModel>() {});
+      roundTrip(serializer, new CallbackContext(), new TypeReference<CallbackContext>() {});
+      touch(Translator.translateToCreateRequest(model));
+      touch(Translator.translateToDeleteRequest(model));
+      touch(Translator.translateToDescribeCreationStatusRequest(PRIMING_ARN, "priming"));
+      touch(Translator.translateToDescribeDeletionStatusRequest(PRIMING_ARN, "priming"));
+      touch(Translator.translateToListRequest(PRIMING_ARN, "000000000000", PRIMING_ARN, null));
+    } catch (final Exception e) {
+      // best effort, see above
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static <T> void roundTrip(final Serializer serializer, final T value, final TypeReference<T> type) throws Exception {
+    serializer.deserialize(serializer.serialize(value), type);
+  }
+
+  private static void touch(final SdkPojo request) {
+    for (SdkField<?> field : request.sdkFields()) {
+      field.getValueOrDefault(request);
+    }
+  }
+
+  /**
+   * Logs once per container how long after JVM start the first invocation arrived and how much of that went into
+   * priming, so that cold starts can be compared across changes.
+   */
+  private static void reportStartup(final Logger logger) {
+    if (STARTUP_REPORTED.compareAndSet(false, true)) {
+      logger.log(String.format("First invocation of this container %d ms after JVM start, priming took %d ms.",
+              ManagementFactory.getRuntimeMXBean().getUptime(), TimeUnit.NANOSECONDS.toMillis(PRIMING_NANOS)));
+    }
+  }
+
+  /**
+   * Reacts to a ConflictException by noting which assignment operations on the same account and permission set are
+   * in progress and polling them until one is done, so the call is retried right after the operation it collided with
+   * instead of after a blind backoff. Every reaction counts as a poll of this operation, including a retry when no
+   * conflicting operation is left. Once the polls are used up, or it is not known which operations are in the way
+   * because they could not be listed or not all of them were described, it backs off as before at the cost of a retry
+   * attempt.
+   */
+  protected ProgressEvent<ResourceModel, CallbackContext> retryAfterConflict(
+    final AssignmentProxy assignmentProxy,
+    final Exception exception,
+    final ResourceModel model,
+    final CallbackContext context,
+    final Logger logger) {
+    if (context.getConflictPolls() >= CONFLICT_POLLS_MAX) {
+      return backOffAfterConflict(exception, model, context);
+    }
+
+    final Set<String> inProgress;
+    try {
+      inProgress = assignmentProxy.listConflictingOperations(model.getInstanceArn(), model.getTargetId(), model.getPermissionSetArn());
+    } catch (final ThrottlingException | InternalServerException e) {
+      logger.log(String.format("Could not list the operations in progress, backing off instead: %s", e.getMessage()));
+      return backOffAfterConflict(exception, model, context);
+    }
+    if (inProgress == null) {
+      logger.log("Too many operations in progress to tell which one is in the way, backing off instead.");
+      return backOffAfterConflict(exception, model, context);
+    }
+    context.setConflictPolls(context.getConflictPolls() + 1);
+    if (inProgress.isEmpty()) {
+      logger.log("Conflicting operation already finished, retrying.");
+      return ProgressEvent.defaultInProgressHandler(context, CONFLICT_RETRY_DELAY_SECONDS, model);
+    }
+    logger.log(String.format("Conflict with %d operations in progress, polling them.", inProgress.size()));
+    context.setConflictBlockingRequestIds(new ArrayList<>(inProgress));
+    return ProgressEvent.defaultInProgressHandler(context, CONFLICT_POLL_DELAY_SECONDS, model);
+  }
+
+  private ProgressEvent<ResourceModel, CallbackContext> backOffAfterConflict(
+    final Exception exception,
+    final ResourceModel model,
+    final CallbackContext context) {
+    if (context.getRetryAttempts() == RETRY_ATTEMPTS_ZERO) {
+      return ProgressEvent.defaultFailureHandler(exception, mapExceptionToHandlerCode(exception));
+    }
+    context.decrementRetryAttempts();
+    return ProgressEvent.defaultInProgressHandler(context, getRetryTime(exception), model);
+  }
+
+  /**
+   * Passes the progress on as soon as any of the operations noted by {@link #retryAfterConflict} is no longer in
+   * progress, and polls them again later otherwise.
+   */
+  protected ProgressEvent<ResourceModel, CallbackContext> awaitConflictingOperations(
+    final AssignmentProxy assignmentProxy,
+    final ProgressEvent<ResourceModel, CallbackContext> progress,
+    final Logger logger) {
+    final CallbackContext context = progress.getCallbackContext();
+    if (context.getConflictBlockingRequestIds().isEmpty()) {
+      return progress;
+    }
+
+    final Set<String> inProgress;
+    try {
+      inProgress = assignmentProxy.listInProgressOperations(progress.getResourceModel().getInstanceArn());
+    } catch (final ThrottlingException | InternalServerException e) {
+      logger.log(String.format("Could not list the operations in progress, retrying: %s", e.getMessage()));
+      context.resetConflict();
+      return progress;
+    }
+    inProgress.retainAll(context.getConflictBlockingRequestIds());
+    if (inProgress.size() < context.getConflictBlockingRequestIds().size() || context.getConflictPolls() >= CONFLICT_POLLS_MAX) {
+      logger.log(String.format("Retrying after %d polls of the conflicting operations, %d still in progress.",
+              context.getConflictPolls(), inProgress.size()));
+      context.resetConflict();
+      return progress;
+    }
+    context.setConflictBlockingRequestIds(new ArrayList<>(inProgress));
+    context.setConflictPolls(context.getConflictPolls() + 1);
+    return ProgressEvent.defaultInProgressHandler(context, CONFLICT_POLL_DELAY_SECONDS, progress.getResourceModel());
+  }
+
+  /**
+   * Whether the handler function was deployed with optimistic writes, see {@link Constants#OPTIMISTIC_WRITES_ENV}.
+   */
+  protected static boolean isOptimisticWritesEnabled() {
+    return Boolean.parseBoolean(System.getenv(OPTIMISTIC_WRITES_ENV));
+  }
+
   protected int getRetryTime(Exception exception) {
     IntStream possibleNumber;
     if (exception instanceof ConflictException || exception instanceof ThrottlingException) {
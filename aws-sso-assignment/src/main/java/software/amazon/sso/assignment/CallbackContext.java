@@ -3,6 +3,9 @@ package software.amazon.sso.assignment;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @lombok.Getter
 @lombok.Setter
 @lombok.ToString
@@ -12,9 +15,46 @@ public class CallbackContext extends StdCallbackContext {
     private int retryAttempts;
     private boolean handlerInvoked;
     private boolean readHandlerInvoked;
+    private int readThrottlingAttempts;
+    private int readIseAttempts;
+    // Cursor of an unfinished ListAccountAssignments scan, so a re-invocation resumes where it stopped
+    private String assignmentScanKey;
+    private String assignmentScanNextToken;
+    private int assignmentScanPages;
+    // When the workflow being stabilized started and when it was last seen running, to pace and learn status polls
+    private long statusPollStartedAt;
+    private long statusPollSeenRunningAt;
+    // Operations on the same account and permission set that were in progress when the last ConflictException was raised
+    private List<String> conflictBlockingRequestIds = new ArrayList<>();
+    private int conflictPolls;
 
     @JsonIgnore
     public void decrementRetryAttempts() {
         retryAttempts--;
     }
+
+    @JsonIgnore
+    public void decrementReadThrottlingAttempts() {
+        readThrottlingAttempts--;
+    }
+
+    @JsonIgnore
+    public void decrementReadIseAttempts() {
+        readIseAttempts--;
+    }
+
+    @JsonIgnore
+    public void resetAssignmentScan() {
+        assignmentScanKey = null;
+        assignmentScanNextToken = null;
+        assignmentScanPages = 0;
+    }
+
+    /**
+     * Stops waiting for conflicting operations. The polls spent so far still count against the operation.
+     */
+    @JsonIgnore
+    public void resetConflict() {
+        conflictBlockingRequestIds = new ArrayList<>();
+    }
 }
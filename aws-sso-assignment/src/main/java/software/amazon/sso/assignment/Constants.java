@@ -3,5 +3,22 @@ package software.amazon.sso.assignment;
 public class Constants {
     public final static int RETRY_ATTEMPTS = 5;
     public final static int RETRY_ATTEMPTS_ZERO = 0;
+    public final static int LIST_ACCOUNTS_PAGE_SIZE = 10;
+    public final static int LIST_SCAN_PARALLELISM = 5;
+    // While a conflicting operation runs, its status is polled this often, up to CONFLICT_POLLS_MAX times per operation
+    public final static int CONFLICT_POLL_DELAY_SECONDS = 5;
+    public final static int CONFLICT_POLLS_MAX = 60;
+    // Operations in progress on the instance described to find those on the same account and permission set
+    public final static int CONFLICT_DESCRIBES_MAX = 10;
+    // Not 0, which would carry on with the rest of the chain instead of returning to retry the call
+    public final static int CONFLICT_RETRY_DELAY_SECONDS = 1;
+    // First status poll of a workflow until this container has learned how long they take
+    public final static long ASSIGNMENT_STATUS_EXPECTED_MILLIS = 2000;
+    // Complete assignment listings are shared by the invocations of a container for this long, for this many
+    // (instance, account, permission set) combinations
+    public final static long ASSIGNMENT_LISTING_TTL_MILLIS = 30000;
+    public final static int ASSIGNMENT_LISTING_CACHE_SIZE = 256;
+    // Set to "true" on the handler function to create and delete assignments without listing them first
+    public final static String OPTIMISTIC_WRITES_ENV = "OPTIMISTIC_ASSIGNMENT_WRITES";
     public final static String FAILED_WORKFLOW_REQUEST = "Request %s failed due to: %s";
 }
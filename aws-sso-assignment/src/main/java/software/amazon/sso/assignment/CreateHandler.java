@@ -17,8 +17,10 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.sso.assignment.actionProxy.AssignmentProxy;
+import software.amazon.sso.commons.StatusPoller;
 
 import static software.amazon.sso.assignment.Translator.translateToDescribeCreationStatusRequest;
+import static software.amazon.sso.assignment.Constants.ASSIGNMENT_STATUS_EXPECTED_MILLIS;
 import static software.amazon.sso.assignment.Constants.FAILED_WORKFLOW_REQUEST;
 import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS_ZERO;
@@ -26,6 +28,19 @@ import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS_ZERO;
 
 public class CreateHandler extends BaseHandlerStd {
     private Logger logger;
+    private final boolean optimistic;
+
+    public CreateHandler() {
+        this(isOptimisticWritesEnabled());
+    }
+
+    /**
+     * An optimistic create calls CreateAccountAssignment without scanning for the assignment first. Only when the
+     * creation workflow fails is the assignment looked up, to tell a duplicate from any other failure.
+     */
+    CreateHandler(boolean optimistic) {
+        this.optimistic = optimistic;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -36,7 +51,8 @@ public class CreateHandler extends BaseHandlerStd {
 
         this.logger = logger;
 
-        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger);
+        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger, callbackContext);
+        StatusPoller statusPoller = new StatusPoller("CreateAccountAssignment", ASSIGNMENT_STATUS_EXPECTED_MILLIS);
 
         if (!callbackContext.isHandlerInvoked()) {
             callbackContext.setHandlerInvoked(true);
@@ -44,37 +60,57 @@ public class CreateHandler extends BaseHandlerStd {
         }
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+                .then(progress -> awaitConflictingOperations(assignmentProxy, progress, logger))
                 .then(progress ->
                         proxy.initiate("sso::assignment-create", proxyClient,progress.getResourceModel(), progress.getCallbackContext())
                                 .translateToServiceRequest(Translator::translateToCreateRequest)
+                                .backoffDelay(statusPoller.delay(callbackContext::getStatusPollStartedAt))
                                 .makeServiceCall((createRequest, client) -> {
-                                    if (assignmentProxy.checkIfAssignmentAlreadyExist(createRequest.instanceArn(), createRequest.targetId(), createRequest.permissionSetArn(), createRequest.principalId(), createRequest.principalTypeAsString())) {
-                                        throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, "Assignment already exists. Can't process creation.");
+                                    if (optimistic) {
+                                        logger.log("Skipping assignment pre-existence check.");
+                                    } else {
+                                        if (assignmentProxy.checkIfPermissionSetProvisionedToAccount(createRequest.instanceArn(), createRequest.targetId(), createRequest.permissionSetArn())
+                                                && assignmentProxy.checkIfAssignmentAlreadyExist(createRequest.instanceArn(), createRequest.targetId(), createRequest.permissionSetArn(), createRequest.principalId(), createRequest.principalTypeAsString())) {
+                                            throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, "Assignment already exists. Can't process creation.");
+                                        }
+                                        logger.log("Assignment pre-existence check complete.");
                                     }
-                                    logger.log("Assignment pre-existence check complete.");
 
                                     CreateAccountAssignmentResponse response = proxy.injectCredentialsAndInvokeV2(createRequest, proxyClient.client()::createAccountAssignment);
 
+                                    callbackContext.setStatusPollStartedAt(statusPoller.now());
+
                                     logger.log(String.format("%s is in creating process.", ResourceModel.TYPE_NAME));
                                     return response;
                                 })
                                 .stabilize((modelRequest, response, client, model, context) -> {
+                                    if (!statusPoller.isDue(context.getStatusPollStartedAt())) {
+                                        return false;
+                                    }
                                     String statusTrackId = response.accountAssignmentCreationStatus().requestId();
                                     DescribeAccountAssignmentCreationStatusResponse checkStatusResponse = proxy.injectCredentialsAndInvokeV2(translateToDescribeCreationStatusRequest(model.getInstanceArn(), statusTrackId),
                                             proxyClient.client()::describeAccountAssignmentCreationStatus);
                                     AccountAssignmentOperationStatus creationStatus = checkStatusResponse.accountAssignmentCreationStatus();
                                     if (creationStatus.status().equals(StatusValues.SUCCEEDED)) {
                                         logger.log(String.format("%s [%s] has been stabilized.", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                                        statusPoller.completed(context.getStatusPollStartedAt(), context.getStatusPollSeenRunningAt(), logger);
+                                        assignmentProxy.markAssignmentCreated(model.getInstanceArn(), model.getTargetId(), model.getPermissionSetArn(), model.getPrincipalId(), model.getPrincipalType());
                                         //reset the retry attemps for following read API
                                         context.setRetryAttempts(RETRY_ATTEMPTS);
                                         return true;
                                     } else if (creationStatus.status().equals(StatusValues.FAILED)) {
+                                        if (optimistic && assignmentProxy.checkIfAssignmentAlreadyExist(model.getInstanceArn(), model.getTargetId(), model.getPermissionSetArn(), model.getPrincipalId(), model.getPrincipalType())) {
+                                            throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, "Assignment already exists. Can't process creation.");
+                                        }
                                         throw new CfnGeneralServiceException(String.format(FAILED_WORKFLOW_REQUEST, statusTrackId, creationStatus.failureReason()));
                                     }
+                                    context.setStatusPollSeenRunningAt(statusPoller.now());
                                     return false;
                                 })
                                 .handleError((awsRequest, exception, client, resourceModel, context) -> {
-                                    if (exception instanceof ConflictException || exception instanceof ThrottlingException) {
+                                    if (exception instanceof ConflictException) {
+                                        return retryAfterConflict(assignmentProxy, exception, resourceModel, context, logger);
+                                    } else if (exception instanceof ThrottlingException) {
                                         return ProgressEvent.defaultInProgressHandler(callbackContext, getRetryTime(exception), resourceModel);
                                     } else if (exception instanceof InternalServerException) {
                                         if (context.getRetryAttempts() == RETRY_ATTEMPTS_ZERO) {
@@ -87,6 +123,6 @@ public class CreateHandler extends BaseHandlerStd {
                                 })
                                 .progress()
                 )
-                .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+                .then(progress -> new ReadHandler(assignmentProxy).handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 }
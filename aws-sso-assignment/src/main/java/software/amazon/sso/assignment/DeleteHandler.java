@@ -6,6 +6,7 @@ import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
 import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
 import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
@@ -17,14 +18,29 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.sso.assignment.actionProxy.AssignmentProxy;
+import software.amazon.sso.commons.StatusPoller;
 
 import static software.amazon.sso.assignment.Translator.translateToDescribeDeletionStatusRequest;
+import static software.amazon.sso.assignment.Constants.ASSIGNMENT_STATUS_EXPECTED_MILLIS;
 import static software.amazon.sso.assignment.Constants.FAILED_WORKFLOW_REQUEST;
 import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS_ZERO;
 
 public class DeleteHandler extends BaseHandlerStd {
     private Logger logger;
+    private final boolean optimistic;
+
+    public DeleteHandler() {
+        this(isOptimisticWritesEnabled());
+    }
+
+    /**
+     * An optimistic delete calls DeleteAccountAssignment without scanning for the assignment first. Only when the
+     * deletion workflow fails is the assignment looked up, to tell one that is already gone from any other failure.
+     */
+    DeleteHandler(boolean optimistic) {
+        this.optimistic = optimistic;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -40,36 +56,57 @@ public class DeleteHandler extends BaseHandlerStd {
             callbackContext.setRetryAttempts(RETRY_ATTEMPTS);
         }
 
-        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger);
+        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger, callbackContext);
+        StatusPoller statusPoller = new StatusPoller("DeleteAccountAssignment", ASSIGNMENT_STATUS_EXPECTED_MILLIS);
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+                .then(progress -> awaitConflictingOperations(assignmentProxy, progress, logger))
                 .then(progress -> proxy.initiate("sso::assignment-delete", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
                         .translateToServiceRequest(Translator::translateToDeleteRequest)
+                        .backoffDelay(statusPoller.delay(callbackContext::getStatusPollStartedAt))
                         .makeServiceCall((modelRequest, client) -> {
-                            if (!assignmentProxy.checkIfAssignmentAlreadyExist(modelRequest.instanceArn(), modelRequest.targetId(), modelRequest.permissionSetArn(), modelRequest.principalId(), modelRequest.principalTypeAsString())) {
-                                throw new CfnNotFoundException(ResourceModel.TYPE_NAME, "Assignment not exist any more. Can't process deletion.");
+                            if (optimistic) {
+                                logger.log("Skipping assignment pre-existence check.");
+                            } else {
+                                if (!assignmentProxy.checkIfAssignmentAlreadyExist(modelRequest.instanceArn(), modelRequest.targetId(), modelRequest.permissionSetArn(), modelRequest.principalId(), modelRequest.principalTypeAsString())) {
+                                    throw new CfnNotFoundException(ResourceModel.TYPE_NAME, "Assignment not exist any more. Can't process deletion.");
+                                }
+                                logger.log("Assignment pre-existence check complete.");
                             }
-                            logger.log("Assignment pre-existence check complete.");
 
                             DeleteAccountAssignmentResponse response = proxy.injectCredentialsAndInvokeV2(modelRequest, client.client()::deleteAccountAssignment);
+                            callbackContext.setStatusPollStartedAt(statusPoller.now());
                             logger.log(String.format("%s is in deleting process.", ResourceModel.TYPE_NAME));
                             return response;
                         })
                         .stabilize((modelRequest, response, client, model, context) -> {
+                            if (!statusPoller.isDue(context.getStatusPollStartedAt())) {
+                                return false;
+                            }
                             String statusTrackId = response.accountAssignmentDeletionStatus().requestId();
                             DescribeAccountAssignmentDeletionStatusResponse checkStatusResponse = proxy.injectCredentialsAndInvokeV2(translateToDescribeDeletionStatusRequest(model.getInstanceArn(), statusTrackId),
                                     proxyClient.client()::describeAccountAssignmentDeletionStatus);
                             AccountAssignmentOperationStatus deletionStatus = checkStatusResponse.accountAssignmentDeletionStatus();
                             if (deletionStatus.status().equals(StatusValues.SUCCEEDED)) {
                                 logger.log(String.format("%s [%s] has been stabilized.", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                                statusPoller.completed(context.getStatusPollStartedAt(), context.getStatusPollSeenRunningAt(), logger);
+                                assignmentProxy.markAssignmentDeleted(model.getInstanceArn(), model.getTargetId(), model.getPermissionSetArn(), model.getPrincipalId(), model.getPrincipalType());
                                 return true;
                             } else if (deletionStatus.status().equals(StatusValues.FAILED)) {
+                                if (optimistic && !assignmentProxy.checkIfAssignmentAlreadyExist(model.getInstanceArn(), model.getTargetId(), model.getPermissionSetArn(), model.getPrincipalId(), model.getPrincipalType())) {
+                                    throw new CfnNotFoundException(ResourceModel.TYPE_NAME, "Assignment not exist any more. Can't process deletion.");
+                                }
                                 throw new CfnGeneralServiceException(String.format(FAILED_WORKFLOW_REQUEST, statusTrackId, deletionStatus.failureReason()));
                             }
+                            context.setStatusPollSeenRunningAt(statusPoller.now());
                             return false;
                         })
                         .handleError((awsRequest, exception, client, resourceModel, context) -> {
-                            if (exception instanceof ConflictException || exception instanceof ThrottlingException) {
+                            if (exception instanceof ConflictException) {
+                                return retryAfterConflict(assignmentProxy, exception, resourceModel, context, logger);
+                            } else if (optimistic && exception instanceof ResourceNotFoundException) {
+                                return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.NotFound);
+                            } else if (exception instanceof ThrottlingException) {
                                 return ProgressEvent.defaultInProgressHandler(callbackContext, getRetryTime(exception), resourceModel);
                             } else if (exception instanceof InternalServerException) {
                                 if (context.getRetryAttempts() == RETRY_ATTEMPTS_ZERO) {
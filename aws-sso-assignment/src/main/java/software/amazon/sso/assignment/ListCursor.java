@@ -0,0 +1,48 @@
+package software.amazon.sso.assignment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a list walk over permission sets x provisioned accounts, carried between list invocations as the
+ * continuation token. Each part is base64 encoded on its own since service tokens may contain any character.
+ */
+@lombok.Getter
+@lombok.AllArgsConstructor
+public class ListCursor {
+
+    private static final String SEPARATOR = ".";
+
+    // ListPermissionSets token of the page holding the current permission set
+    private final String permissionSetsToken;
+    private final String permissionSetArn;
+    // Position of the current permission set on its page, where the walk resumes if it has been deleted since
+    private final int permissionSetIndex;
+    // ListAccountsForProvisionedPermissionSet token of the next account page of the current permission set
+    private final String accountsToken;
+
+    public String encode() {
+        return encodePart(permissionSetsToken) + SEPARATOR + encodePart(permissionSetArn) + SEPARATOR + permissionSetIndex
+                + SEPARATOR + encodePart(accountsToken);
+    }
+
+    public static ListCursor decode(String token) {
+        String[] parts = token.split("\\" + SEPARATOR, -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid list continuation token");
+        }
+        int permissionSetIndex = Integer.parseInt(parts[2]);
+        if (permissionSetIndex < 0) {
+            throw new IllegalArgumentException("Invalid list continuation token");
+        }
+        return new ListCursor(decodePart(parts[0]), decodePart(parts[1]), permissionSetIndex, decodePart(parts[3]));
+    }
+
+    private static String encodePart(String part) {
+        return part == null ? "" : Base64.getUrlEncoder().withoutPadding().encodeToString(part.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodePart(String part) {
+        return part.isEmpty() ? null : new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,18 @@
 package software.amazon.sso.assignment;
 
+import com.amazonaws.util.StringUtils;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.SsoAdminException;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -9,19 +20,203 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static software.amazon.sso.assignment.Constants.LIST_ACCOUNTS_PAGE_SIZE;
+import static software.amazon.sso.assignment.Constants.LIST_SCAN_PARALLELISM;
+import static software.amazon.sso.assignment.Translator.translateToListPermissionSetsRequest;
+import static software.amazon.sso.assignment.Translator.translateToListProvisionedAccountsRequest;
+import static software.amazon.sso.assignment.Translator.translateToListRequest;
+
+/**
+ * Lists the assignments of an instance by walking its permission sets, one page of at most
+ * {@code LIST_ACCOUNTS_PAGE_SIZE} provisioned accounts per invocation. The position of the walk is handed back as a
+ * {@link ListCursor} continuation token. A permission set in the desired state narrows the walk to that permission set.
+ */
 public class ListHandler extends BaseHandlerStd {
 
     @Override
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(AmazonWebServicesClientProxy proxy, ResourceHandlerRequest<ResourceModel> request, CallbackContext callbackContext, ProxyClient<SsoAdminClient> proxyClient, Logger logger) {
 
+        final ResourceModel desired = request.getDesiredResourceState();
+        if (desired == null || StringUtils.isNullOrEmpty(desired.getInstanceArn())) {
+            return ProgressEvent.defaultFailureHandler(new CfnInvalidRequestException("InstanceArn is required to list assignments."),
+                    HandlerErrorCode.InvalidRequest);
+        }
+        final String instanceArn = desired.getInstanceArn();
+        final String fixedPermissionSetArn = desired.getPermissionSetArn();
+
         final List<ResourceModel> models = new ArrayList<>();
-        models.add(request.getDesiredResourceState());
+        String nextToken = null;
+        try {
+            ListCursor cursor;
+            if (StringUtils.isNullOrEmpty(request.getNextToken())) {
+                cursor = fixedPermissionSetArn != null
+                        ? new ListCursor(null, fixedPermissionSetArn, 0, null)
+                        : firstPermissionSet(proxy, proxyClient, instanceArn, null);
+            } else {
+                cursor = ListCursor.decode(request.getNextToken());
+            }
+
+            if (cursor != null) {
+                ListAccountsForProvisionedPermissionSetResponse accounts;
+                try {
+                    accounts = proxy.injectCredentialsAndInvokeV2(
+                            translateToListProvisionedAccountsRequest(instanceArn, cursor.getPermissionSetArn(), LIST_ACCOUNTS_PAGE_SIZE, cursor.getAccountsToken()),
+                            proxyClient.client()::listAccountsForProvisionedPermissionSet);
+                } catch (ResourceNotFoundException e) {
+                    if (fixedPermissionSetArn != null) {
+                        throw e;
+                    }
+                    // Deleted since the walk reached it, so the walk carries on with the next one
+                    accounts = ListAccountsForProvisionedPermissionSetResponse.builder().build();
+                }
+                if (accounts.accountIds() != null) {
+                    for (List<AccountAssignment> assignments : scanAccounts(proxy, proxyClient, instanceArn, cursor.getPermissionSetArn(), accounts.accountIds()).values()) {
+                        for (AccountAssignment assignment : assignments) {
+                            models.add(translateFromAssignment(instanceArn, assignment));
+                        }
+                    }
+                }
 
+                ListCursor next;
+                if (!StringUtils.isNullOrEmpty(accounts.nextToken())) {
+                    next = new ListCursor(cursor.getPermissionSetsToken(), cursor.getPermissionSetArn(), cursor.getPermissionSetIndex(), accounts.nextToken());
+                } else if (fixedPermissionSetArn != null) {
+                    next = null;
+                } else {
+                    next = nextPermissionSet(proxy, proxyClient, instanceArn, cursor);
+                }
+                nextToken = next == null ? null : next.encode();
+            }
+        } catch (IllegalArgumentException e) {
+            return ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.InvalidRequest);
+        } catch (SsoAdminException e) {
+            return ProgressEvent.defaultFailureHandler(e, mapExceptionToHandlerCode(e));
+        }
+
+        logger.log(String.format("%s listed %d assignments of instance %s.", ResourceModel.TYPE_NAME, models.size(), instanceArn));
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(models)
+                .nextToken(nextToken)
                 .status(OperationStatus.SUCCESS)
                 .build();
     }
+
+    /**
+     * First permission set at or after the ListPermissionSets page of {@code permissionSetsToken}, skipping empty pages.
+     */
+    private ListCursor firstPermissionSet(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient,
+                                          String instanceArn, String permissionSetsToken) {
+        String token = permissionSetsToken;
+        do {
+            ListPermissionSetsResponse page = proxy.injectCredentialsAndInvokeV2(translateToListPermissionSetsRequest(instanceArn, token),
+                    proxyClient.client()::listPermissionSets);
+            if (page.permissionSets() != null && !page.permissionSets().isEmpty()) {
+                return new ListCursor(token, page.permissionSets().get(0), 0, null);
+            }
+            token = page.nextToken();
+        } while (!StringUtils.isNullOrEmpty(token));
+        return null;
+    }
+
+    /**
+     * Permission set following the one of {@code cursor}, or null once the last one has been walked. If the permission
+     * set of the cursor is no longer on its page, the walk resumes at the position it had, where the permission set that
+     * followed it has moved up to, rather than restart the page and list its permission sets again.
+     */
+    private ListCursor nextPermissionSet(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient,
+                                         String instanceArn, ListCursor cursor) {
+        ListPermissionSetsResponse page = proxy.injectCredentialsAndInvokeV2(translateToListPermissionSetsRequest(instanceArn, cursor.getPermissionSetsToken()),
+                proxyClient.client()::listPermissionSets);
+        List<String> permissionSets = page.permissionSets() == null ? new ArrayList<>() : page.permissionSets();
+        int position = permissionSets.indexOf(cursor.getPermissionSetArn());
+        int next = position >= 0 ? position + 1 : cursor.getPermissionSetIndex();
+        if (next < permissionSets.size()) {
+            return new ListCursor(cursor.getPermissionSetsToken(), permissionSets.get(next), next, null);
+        }
+        if (StringUtils.isNullOrEmpty(page.nextToken())) {
+            return null;
+        }
+        return firstPermissionSet(proxy, proxyClient, instanceArn, page.nextToken());
+    }
+
+    /**
+     * Lists the assignments of the permission set in every account on a pool of at most {@code LIST_SCAN_PARALLELISM}
+     * threads. Results keep the order of the accounts; the first failure is rethrown once all scans have been waited for.
+     */
+    private Map<String, List<AccountAssignment>> scanAccounts(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient,
+                                                              String instanceArn, String permissionSetArn, List<String> accountIds) {
+        Map<String, List<AccountAssignment>> results = new LinkedHashMap<>();
+        if (accountIds.isEmpty()) {
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(LIST_SCAN_PARALLELISM, accountIds.size()));
+        try {
+            Map<String, Future<List<AccountAssignment>>> futures = new LinkedHashMap<>();
+            for (String accountId : accountIds) {
+                futures.put(accountId, executor.submit(() -> listAccount(proxy, proxyClient, instanceArn, accountId, permissionSetArn)));
+            }
+            RuntimeException failure = null;
+            for (Map.Entry<String, Future<List<AccountAssignment>>> entry : futures.entrySet()) {
+                try {
+                    results.put(entry.getKey(), await(entry.getValue()));
+                } catch (RuntimeException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<AccountAssignment> listAccount(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient,
+                                                String instanceArn, String accountId, String permissionSetArn) {
+        List<AccountAssignment> assignments = new ArrayList<>();
+        String nextToken = null;
+        do {
+            ListAccountAssignmentsResponse response = proxy.injectCredentialsAndInvokeV2(translateToListRequest(instanceArn, accountId, permissionSetArn, nextToken),
+                    proxyClient.client()::listAccountAssignments);
+            if (response.accountAssignments() != null) {
+                assignments.addAll(response.accountAssignments());
+            }
+            nextToken = response.nextToken();
+        } while (!StringUtils.isNullOrEmpty(nextToken));
+        return assignments;
+    }
+
+    private static ResourceModel translateFromAssignment(String instanceArn, AccountAssignment assignment) {
+        return ResourceModel.builder()
+                .instanceArn(instanceArn)
+                .targetId(assignment.accountId())
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .permissionSetArn(assignment.permissionSetArn())
+                .principalType(assignment.principalTypeAsString())
+                .principalId(assignment.principalId())
+                .build();
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CfnInternalFailureException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CfnInternalFailureException(e);
+        }
+    }
 }
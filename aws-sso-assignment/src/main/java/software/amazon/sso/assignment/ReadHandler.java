@@ -11,6 +11,7 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.sso.assignment.actionProxy.AssignmentProxy;
+import software.amazon.sso.commons.WaitScheduler;
 
 import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS_ZERO;
@@ -19,6 +20,24 @@ public class ReadHandler extends BaseHandlerStd {
     private Logger logger;
     private static final String THROTTLE_MESSAGE = "Read request got throttled. Please add DependsOn attribute if you have large number of AWS SSO owned resources";
     private static final String ISE_MESSAGE = "Something went wrong while performing READ call";
+    private final AssignmentProxy sharedAssignmentProxy;
+    private final boolean callbackRetry;
+
+    public ReadHandler() {
+        this.sharedAssignmentProxy = null;
+        this.callbackRetry = false;
+    }
+
+    /**
+     * Read chained from another handler. It reuses the caller's proxy, so pages already listed in this
+     * invocation are not fetched again, and retries through callbacks instead of sleeping, since only a
+     * standalone read is bound to finish within a single invocation.
+     */
+    ReadHandler(AssignmentProxy assignmentProxy) {
+        this.sharedAssignmentProxy = assignmentProxy;
+        this.callbackRetry = true;
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
@@ -28,10 +47,15 @@ public class ReadHandler extends BaseHandlerStd {
 
         this.logger = logger;
 
-        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger);
+        // A standalone read may be answered from a listing of this container, see AssignmentListingCache
+        AssignmentProxy assignmentProxy = sharedAssignmentProxy != null ? sharedAssignmentProxy : new AssignmentProxy(proxy, proxyClient, logger, callbackContext, true);
 
         ResourceModel model = request.getDesiredResourceState();
 
+        if (callbackRetry) {
+            return readWithCallbackRetry(model, callbackContext, assignmentProxy);
+        }
+
         int retryThrottlingAttempts = Integer.valueOf(RETRY_ATTEMPTS);
         int retryISEAttempts = Integer.valueOf(RETRY_ATTEMPTS);
         while (retryISEAttempts > RETRY_ATTEMPTS_ZERO && retryThrottlingAttempts > RETRY_ATTEMPTS_ZERO) {
@@ -58,17 +82,54 @@ public class ReadHandler extends BaseHandlerStd {
         }
     }
 
+    /**
+     * Single read attempt; throttling and ISE are retried by returning IN_PROGRESS with the attempts left
+     * tracked in the callback context, so no compute is spent waiting.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> readWithCallbackRetry(final ResourceModel model,
+                                                                              final CallbackContext callbackContext,
+                                                                              final AssignmentProxy assignmentProxy) {
+        if (!callbackContext.isReadHandlerInvoked()) {
+            callbackContext.setReadHandlerInvoked(true);
+            callbackContext.setReadThrottlingAttempts(RETRY_ATTEMPTS);
+            callbackContext.setReadIseAttempts(RETRY_ATTEMPTS);
+        }
+
+        try {
+            if (!assignmentProxy.checkIfAssignmentAlreadyExist(model.getInstanceArn(), model.getTargetId(), model.getPermissionSetArn(), model.getPrincipalId(), model.getPrincipalType())) {
+                return ProgressEvent.defaultFailureHandler(new CfnNotFoundException(ResourceModel.TYPE_NAME, "Assignment not exists for given entity."), HandlerErrorCode.NotFound);
+            }
+        } catch (ThrottlingException te) {
+            callbackContext.decrementReadThrottlingAttempts();
+            if (callbackContext.getReadThrottlingAttempts() == RETRY_ATTEMPTS_ZERO) {
+                return ProgressEvent.defaultFailureHandler(ThrottlingException.builder().message(THROTTLE_MESSAGE).build(), HandlerErrorCode.Throttling);
+            }
+            return ProgressEvent.defaultInProgressHandler(callbackContext, getReadRetryDelay(), model);
+        } catch (InternalServerException ise) {
+            callbackContext.decrementReadIseAttempts();
+            if (callbackContext.getReadIseAttempts() == RETRY_ATTEMPTS_ZERO) {
+                return ProgressEvent.defaultFailureHandler(InternalServerException.builder().message(ISE_MESSAGE).build(), HandlerErrorCode.InternalFailure);
+            }
+            return ProgressEvent.defaultInProgressHandler(callbackContext, getReadRetryDelay(), model);
+        }
+        logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+        return ProgressEvent.success(model, callbackContext);
+    }
+
+    /**
+     * Callback delay matching the in-process wait, between 5 and 10 seconds.
+     */
+    private int getReadRetryDelay() {
+        return SECURE_RANDOM.ints(5, 10).findFirst().getAsInt();
+    }
+
     /**
      * Decrement context and wait for some time
      * Should wait between 1 and 5 second in case got throttled.
      */
     private int decrementAndWait(int attempts) {
         int timeToWait = SECURE_RANDOM.ints(5000, 10000).findFirst().getAsInt();
-        try {
-            Thread.sleep(timeToWait);
-        } catch (InterruptedException e) {
-            // Ignore if fail sleep
-        }
-        return attempts - 1;
+        // Out of attempts once the wait no longer fits in the invocation, so the read fails instead of timing out
+        return WaitScheduler.forInvocation().awaitIfFits(timeToWait) ? attempts - 1 : RETRY_ATTEMPTS_ZERO;
     }
 }
@@ -4,7 +4,14 @@ import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentReq
 import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.OperationStatusFilter;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
 
 /**
  * This class is a centralized placeholder for
@@ -57,6 +64,22 @@ public class Translator {
             .build();
   }
 
+  public static ListAccountAssignmentCreationStatusRequest translateToListInProgressCreationsRequest(String instanceArn, String nextToken) {
+    return ListAccountAssignmentCreationStatusRequest.builder()
+            .instanceArn(instanceArn)
+            .filter(OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build())
+            .nextToken(nextToken)
+            .build();
+  }
+
+  public static ListAccountAssignmentDeletionStatusRequest translateToListInProgressDeletionsRequest(String instanceArn, String nextToken) {
+    return ListAccountAssignmentDeletionStatusRequest.builder()
+            .instanceArn(instanceArn)
+            .filter(OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build())
+            .nextToken(nextToken)
+            .build();
+  }
+
   /**
    * Request to list resources
    * @param nextToken token passed to the aws service list resources request
@@ -70,4 +93,33 @@ public class Translator {
             .nextToken(nextToken)
             .build();
   }
+
+  public static ListPermissionSetsRequest translateToListPermissionSetsRequest(String instanceArn, String nextToken) {
+    return ListPermissionSetsRequest.builder()
+            .instanceArn(instanceArn)
+            .nextToken(nextToken)
+            .build();
+  }
+
+  public static ListPermissionSetsProvisionedToAccountRequest translateToListProvisionedPermissionSetsRequest(String instanceArn,
+                                                                                                           String targetId,
+                                                                                                           String nextToken) {
+    return ListPermissionSetsProvisionedToAccountRequest.builder()
+            .instanceArn(instanceArn)
+            .accountId(targetId)
+            .nextToken(nextToken)
+            .build();
+  }
+
+  public static ListAccountsForProvisionedPermissionSetRequest translateToListProvisionedAccountsRequest(String instanceArn,
+                                                                                                         String permissionSetArn,
+                                                                                                         int maxResults,
+                                                                                                         String nextToken) {
+    return ListAccountsForProvisionedPermissionSetRequest.builder()
+            .instanceArn(instanceArn)
+            .permissionSetArn(permissionSetArn)
+            .maxResults(maxResults)
+            .nextToken(nextToken)
+            .build();
+  }
 }
@@ -0,0 +1,109 @@
+package software.amazon.sso.assignment.actionProxy;
+
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Principal index over the ListAccountAssignments pages of one (instance, account, permission set).
+ * Pages are folded in as they arrive, so a lookup only fetches the pages that have not been scanned yet.
+ */
+public class AssignmentIndex {
+
+    private final Set<String> principals = new HashSet<>();
+    private String nextToken;
+    private boolean complete;
+    private int pagesScanned;
+    // Set when the index was resumed from a persisted cursor: earlier pages are only known not to hold this principal
+    private String resumedPrincipalKey;
+
+    public AssignmentIndex() {
+    }
+
+    private AssignmentIndex(String nextToken, int pagesScanned, String resumedPrincipalKey) {
+        this.nextToken = nextToken;
+        this.pagesScanned = pagesScanned;
+        this.resumedPrincipalKey = resumedPrincipalKey;
+    }
+
+    /**
+     * Index that continues an earlier scan for one principal from the page after {@code nextToken}.
+     */
+    public static AssignmentIndex resumeAt(String nextToken, int pagesScanned, String principalType, String principalId) {
+        return new AssignmentIndex(nextToken, pagesScanned, principalKey(principalType, principalId));
+    }
+
+    /**
+     * Complete index over principals that were listed before, e.g. by an earlier invocation of this container.
+     */
+    public static AssignmentIndex of(Set<String> principalKeys) {
+        AssignmentIndex index = new AssignmentIndex();
+        index.principals.addAll(principalKeys);
+        index.complete = true;
+        return index;
+    }
+
+    public static String principalKey(String principalType, String principalId) {
+        return principalType + "/" + principalId;
+    }
+
+    public boolean contains(String principalType, String principalId) {
+        return principals.contains(principalKey(principalType, principalId));
+    }
+
+    public void addPage(List<AccountAssignment> assignments, String nextToken) {
+        if (assignments != null) {
+            for (AccountAssignment assignment : assignments) {
+                principals.add(principalKey(assignment.principalTypeAsString(), assignment.principalId()));
+            }
+        }
+        this.nextToken = nextToken;
+        this.complete = nextToken == null || nextToken.isEmpty();
+        pagesScanned++;
+    }
+
+    /**
+     * Whether lookups of this principal can be answered from the pages folded in so far.
+     */
+    public boolean covers(String principalType, String principalId) {
+        return resumedPrincipalKey == null || resumedPrincipalKey.equals(principalKey(principalType, principalId));
+    }
+
+    public void add(String principalType, String principalId) {
+        principals.add(principalKey(principalType, principalId));
+    }
+
+    public void remove(String principalType, String principalId) {
+        principals.remove(principalKey(principalType, principalId));
+    }
+
+    /**
+     * Whether every page has been folded in, from the first on, so the index holds every principal.
+     */
+    public boolean isExhaustive() {
+        return complete && resumedPrincipalKey == null;
+    }
+
+    public Set<String> getPrincipalKeys() {
+        return Collections.unmodifiableSet(principals);
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int getPagesScanned() {
+        return pagesScanned;
+    }
+
+    public int size() {
+        return principals.size();
+    }
+}
@@ -0,0 +1,104 @@
+package software.amazon.sso.assignment.actionProxy;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static software.amazon.sso.assignment.Constants.ASSIGNMENT_LISTING_CACHE_SIZE;
+import static software.amazon.sso.assignment.Constants.ASSIGNMENT_LISTING_TTL_MILLIS;
+
+/**
+ * Principals of complete ListAccountAssignments listings per (instance, account, permission set), kept for a bounded
+ * time so that reads of sibling assignments served by a warm container do not list the same pages again. The least
+ * recently used listing is evicted once the cache is full. Creates and deletes of this container update the listings
+ * they touch; changes made elsewhere show up once a listing expires.
+ */
+public class AssignmentListingCache {
+
+    private static final AssignmentListingCache CONTAINER =
+            new AssignmentListingCache(ASSIGNMENT_LISTING_TTL_MILLIS, ASSIGNMENT_LISTING_CACHE_SIZE, System::nanoTime);
+
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, Listing> listings;
+
+    public AssignmentListingCache(final long ttlMillis, final int maxListings, final LongSupplier nanoTime) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoTime = nanoTime;
+        this.listings = new LinkedHashMap<String, Listing>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Listing> eldest) {
+                return size() > maxListings;
+            }
+        };
+    }
+
+    /**
+     * Cache shared by all invocations of this container.
+     */
+    public static AssignmentListingCache container() {
+        return CONTAINER;
+    }
+
+    /**
+     * Principal keys of the listing of {@code scope}, or null if there is none that has not expired.
+     */
+    public synchronized Set<String> get(final String scope) {
+        Listing listing = fresh(scope);
+        return listing == null ? null : new HashSet<>(listing.principalKeys);
+    }
+
+    public synchronized void put(final String scope, final Set<String> principalKeys) {
+        listings.put(scope, new Listing(new HashSet<>(principalKeys), nanoTime.getAsLong() + ttlNanos));
+    }
+
+    /**
+     * Adds a principal to the listing of {@code scope}, if one is cached. Does not extend its lifetime.
+     */
+    public synchronized void add(final String scope, final String principalKey) {
+        Listing listing = fresh(scope);
+        if (listing != null) {
+            listing.principalKeys.add(principalKey);
+        }
+    }
+
+    /**
+     * Removes a principal from the listing of {@code scope}, if one is cached. Does not extend its lifetime.
+     */
+    public synchronized void remove(final String scope, final String principalKey) {
+        Listing listing = fresh(scope);
+        if (listing != null) {
+            listing.principalKeys.remove(principalKey);
+        }
+    }
+
+    public synchronized void clear() {
+        listings.clear();
+    }
+
+    public synchronized int size() {
+        return listings.size();
+    }
+
+    private Listing fresh(final String scope) {
+        Listing listing = listings.get(scope);
+        if (listing != null && nanoTime.getAsLong() - listing.expiresAt >= 0) {
+            listings.remove(scope);
+            return null;
+        }
+        return listing;
+    }
+
+    private static final class Listing {
+        private final Set<String> principalKeys;
+        private final long expiresAt;
+
+        private Listing(final Set<String> principalKeys, final long expiresAt) {
+            this.principalKeys = principalKeys;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
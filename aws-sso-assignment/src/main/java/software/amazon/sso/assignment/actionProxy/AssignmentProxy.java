@@ -3,14 +3,31 @@ package software.amazon.sso.assignment.actionProxy;
 import com.amazonaws.util.StringUtils;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatusMetadata;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountResponse;
 import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.sso.assignment.CallbackContext;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static software.amazon.sso.assignment.Constants.CONFLICT_DESCRIBES_MAX;
+import static software.amazon.sso.assignment.Translator.translateToDescribeCreationStatusRequest;
+import static software.amazon.sso.assignment.Translator.translateToDescribeDeletionStatusRequest;
+import static software.amazon.sso.assignment.Translator.translateToListInProgressCreationsRequest;
+import static software.amazon.sso.assignment.Translator.translateToListInProgressDeletionsRequest;
+import static software.amazon.sso.assignment.Translator.translateToListProvisionedPermissionSetsRequest;
 import static software.amazon.sso.assignment.Translator.translateToListRequest;
 
 public class AssignmentProxy {
@@ -18,45 +35,251 @@ public class AssignmentProxy {
     private AmazonWebServicesClientProxy proxy;
     private ProxyClient<SsoAdminClient> proxyClient;
     private Logger logger;
+    private CallbackContext callbackContext;
+    private final boolean cachedLookups;
+    private final Map<String, AssignmentIndex> indexes = new HashMap<>();
+    private final Map<String, Set<String>> provisionedPermissionSets = new HashMap<>();
 
     public AssignmentProxy(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient, Logger logger) {
+        this(proxy, proxyClient, logger, null);
+    }
+
+    /**
+     * Unfinished scans are checkpointed into the callback context, so a re-invoked handler resumes them.
+     */
+    public AssignmentProxy(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient, Logger logger, CallbackContext callbackContext) {
+        this(proxy, proxyClient, logger, callbackContext, false);
+    }
+
+    /**
+     * With {@code cachedLookups}, lookups are answered from listings this container completed recently, see
+     * {@link AssignmentListingCache}. Scans still stop at the principal; one that reaches the last page anyway, because
+     * the principal is on it or not assigned, leaves its listing cached. Meant for reads, which may then miss changes
+     * made by other containers for up to the cache lifetime; a lookup that guards a create or delete should see the
+     * current listing.
+     */
+    public AssignmentProxy(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient, Logger logger, CallbackContext callbackContext,
+                           boolean cachedLookups) {
         this.proxy = proxy;
         this.proxyClient = proxyClient;
         this.logger = logger;
+        this.callbackContext = callbackContext;
+        this.cachedLookups = cachedLookups;
     }
 
+    /**
+     * Looks the principal up in the index of (instance, account, permission set), fetching further
+     * ListAccountAssignments pages only while the principal has not been seen and pages remain. A listing that
+     * reaches the last page is cached for the container.
+     */
     public boolean checkIfAssignmentAlreadyExist(String instanceArn, String targetId, String permissionSetArn, String principalId, String principalType) {
+        String scope = scopeKey(instanceArn, targetId, permissionSetArn);
+        String scanKey = scope + "|" + AssignmentIndex.principalKey(principalType, principalId);
+        AssignmentIndex index = indexes.get(scope);
+        if (index == null && cachedLookups) {
+            Set<String> cached = AssignmentListingCache.container().get(scope);
+            if (cached != null) {
+                index = AssignmentIndex.of(cached);
+                indexes.put(scope, index);
+            }
+        }
+        if (index == null || !index.covers(principalType, principalId)) {
+            index = resumeOrStartIndex(scanKey, principalType, principalId);
+            indexes.put(scope, index);
+        }
 
-        String nextToken = null;
-        do {
+        boolean listed = false;
+        while (!index.contains(principalType, principalId) && !index.isComplete()) {
             try {
-                ListAccountAssignmentsResponse listAccountAssignmentsResponse = proxy.injectCredentialsAndInvokeV2(translateToListRequest(instanceArn, targetId, permissionSetArn, nextToken),
+                ListAccountAssignmentsResponse listAccountAssignmentsResponse = proxy.injectCredentialsAndInvokeV2(translateToListRequest(instanceArn, targetId, permissionSetArn, index.getNextToken()),
                         proxyClient.client()::listAccountAssignments);
-                if (listAccountAssignmentsResponse.accountAssignments() != null && listAccountAssignmentsResponse.accountAssignments().size() > 0) {
-                    if (checkAssignmentExistsInList(targetId, permissionSetArn, principalId, principalType, listAccountAssignmentsResponse.accountAssignments())) {
-                        return true;
-                    }
-                }
-                nextToken = listAccountAssignmentsResponse.nextToken();
+                index.addPage(listAccountAssignmentsResponse.accountAssignments(), listAccountAssignmentsResponse.nextToken());
+                checkpointScan(scanKey, index);
+                listed = true;
             } catch (ResourceNotFoundException e) {
+                clearScanCheckpoint();
                 return false;
             }
+        }
+
+        clearScanCheckpoint();
+        if (listed && index.isExhaustive()) {
+            AssignmentListingCache.container().put(scope, index.getPrincipalKeys());
+        }
+        return index.contains(principalType, principalId);
+    }
+
+    /**
+     * Whether the permission set is provisioned to the account, listed once per (instance, account). Assigning a
+     * permission set provisions it to the account, so where it is not provisioned no assignment of it can exist and
+     * the ListAccountAssignments scan can be skipped. A scan checkpointed by an earlier invocation already found the
+     * permission set provisioned, so it is resumed without asking again.
+     */
+    public boolean checkIfPermissionSetProvisionedToAccount(String instanceArn, String targetId, String permissionSetArn) {
+        String scope = scopeKey(instanceArn, targetId, permissionSetArn);
+        if (callbackContext != null && !StringUtils.isNullOrEmpty(callbackContext.getAssignmentScanKey())
+                && callbackContext.getAssignmentScanKey().startsWith(scope + "|")) {
+            return true;
+        }
+
+        String account = String.join("|", instanceArn, targetId);
+        Set<String> provisioned = provisionedPermissionSets.get(account);
+        if (provisioned == null) {
+            provisioned = new HashSet<>();
+            String nextToken = null;
+            try {
+                do {
+                    ListPermissionSetsProvisionedToAccountResponse response = proxy.injectCredentialsAndInvokeV2(translateToListProvisionedPermissionSetsRequest(instanceArn, targetId, nextToken),
+                            proxyClient.client()::listPermissionSetsProvisionedToAccount);
+                    provisioned.addAll(response.permissionSets());
+                    nextToken = response.nextToken();
+                } while (!StringUtils.isNullOrEmpty(nextToken));
+            } catch (ResourceNotFoundException e) {
+                provisioned.clear();
+            }
+            provisionedPermissionSets.put(account, provisioned);
+        }
+        return provisioned.contains(permissionSetArn);
+    }
+
+    /**
+     * Records an assignment this invocation has just created, so follow-up lookups do not list again.
+     */
+    public void markAssignmentCreated(String instanceArn, String targetId, String permissionSetArn, String principalId, String principalType) {
+        getIndex(instanceArn, targetId, permissionSetArn).add(principalType, principalId);
+        AssignmentListingCache.container().add(scopeKey(instanceArn, targetId, permissionSetArn), AssignmentIndex.principalKey(principalType, principalId));
+        Set<String> provisioned = provisionedPermissionSets.get(String.join("|", instanceArn, targetId));
+        if (provisioned != null) {
+            provisioned.add(permissionSetArn);
+        }
+    }
+
+    /**
+     * Records an assignment this invocation has just deleted, so follow-up lookups do not list again.
+     */
+    public void markAssignmentDeleted(String instanceArn, String targetId, String permissionSetArn, String principalId, String principalType) {
+        getIndex(instanceArn, targetId, permissionSetArn).remove(principalType, principalId);
+        AssignmentListingCache.container().remove(scopeKey(instanceArn, targetId, permissionSetArn), AssignmentIndex.principalKey(principalType, principalId));
+    }
+
+    /**
+     * Request ids of the account assignment creations and deletions still in progress on the instance.
+     */
+    public Set<String> listInProgressOperations(String instanceArn) {
+        Set<String> requestIds = new HashSet<>();
+        String nextToken = null;
+        do {
+            ListAccountAssignmentCreationStatusResponse response = proxy.injectCredentialsAndInvokeV2(translateToListInProgressCreationsRequest(instanceArn, nextToken),
+                    proxyClient.client()::listAccountAssignmentCreationStatus);
+            addRequestIds(requestIds, response.accountAssignmentsCreationStatus());
+            nextToken = response.nextToken();
+        } while (!StringUtils.isNullOrEmpty(nextToken));
+        nextToken = null;
+        do {
+            ListAccountAssignmentDeletionStatusResponse response = proxy.injectCredentialsAndInvokeV2(translateToListInProgressDeletionsRequest(instanceArn, nextToken),
+                    proxyClient.client()::listAccountAssignmentDeletionStatus);
+            addRequestIds(requestIds, response.accountAssignmentsDeletionStatus());
+            nextToken = response.nextToken();
+        } while (!StringUtils.isNullOrEmpty(nextToken));
+        return requestIds;
+    }
+
+    /**
+     * Request ids of the account assignment creations and deletions in progress on {@code targetId} and
+     * {@code permissionSetArn}, the only ones an operation on an assignment of that pair can conflict with. The
+     * operations in progress on the instance are described once each, at most CONFLICT_DESCRIBES_MAX of them.
+     *
+     * @return the conflicting operations, or null if none was found among those described but there were more that
+     *         were not, so it is not known whether anything is in the way
+     */
+    public Set<String> listConflictingOperations(String instanceArn, String targetId, String permissionSetArn) {
+        Set<String> requestIds = new HashSet<>();
+        int describes = 0;
+        String nextToken = null;
+        do {
+            ListAccountAssignmentCreationStatusResponse response = proxy.injectCredentialsAndInvokeV2(translateToListInProgressCreationsRequest(instanceArn, nextToken),
+                    proxyClient.client()::listAccountAssignmentCreationStatus);
+            for (AccountAssignmentOperationStatusMetadata operation : response.accountAssignmentsCreationStatus()) {
+                if (describes++ >= CONFLICT_DESCRIBES_MAX) {
+                    return requestIds.isEmpty() ? null : requestIds;
+                }
+                AccountAssignmentOperationStatus status = proxy.injectCredentialsAndInvokeV2(translateToDescribeCreationStatusRequest(instanceArn, operation.requestId()),
+                        proxyClient.client()::describeAccountAssignmentCreationStatus).accountAssignmentCreationStatus();
+                addIfConflicting(requestIds, status, targetId, permissionSetArn);
+            }
+            nextToken = response.nextToken();
         } while (!StringUtils.isNullOrEmpty(nextToken));
+        nextToken = null;
+        do {
+            ListAccountAssignmentDeletionStatusResponse response = proxy.injectCredentialsAndInvokeV2(translateToListInProgressDeletionsRequest(instanceArn, nextToken),
+                    proxyClient.client()::listAccountAssignmentDeletionStatus);
+            for (AccountAssignmentOperationStatusMetadata operation : response.accountAssignmentsDeletionStatus()) {
+                if (describes++ >= CONFLICT_DESCRIBES_MAX) {
+                    return requestIds.isEmpty() ? null : requestIds;
+                }
+                AccountAssignmentOperationStatus status = proxy.injectCredentialsAndInvokeV2(translateToDescribeDeletionStatusRequest(instanceArn, operation.requestId()),
+                        proxyClient.client()::describeAccountAssignmentDeletionStatus).accountAssignmentDeletionStatus();
+                addIfConflicting(requestIds, status, targetId, permissionSetArn);
+            }
+            nextToken = response.nextToken();
+        } while (!StringUtils.isNullOrEmpty(nextToken));
+        return requestIds;
+    }
 
+    public boolean checkAssignmentExistsInList(String targetId, String permissionSetArn, String principalId, String principalType, List<AccountAssignment> existingAssignments) {
+        for (AccountAssignment existingAssignment : existingAssignments) {
+            if (principalId.equals(existingAssignment.principalId())
+                    && principalType.equals(existingAssignment.principalTypeAsString())
+                    && targetId.equals(existingAssignment.accountId())
+                    && permissionSetArn.equals(existingAssignment.permissionSetArn())) {
+                return true;
+            }
+        }
         return false;
     }
 
-    public boolean checkAssignmentExistsInList(String targetId, String permissionSetArn, String principalId, String principalType, List<AccountAssignment> existingAssignments) {
-        AccountAssignment assignment = AccountAssignment.builder()
-                .accountId(targetId)
-                .permissionSetArn(permissionSetArn)
-                .principalId(principalId)
-                .principalType(principalType)
-                .build();
-        if (existingAssignments.contains(assignment)) {
-            return true;
-        } else {
-            return false;
+    private static void addIfConflicting(Set<String> requestIds, AccountAssignmentOperationStatus status, String targetId, String permissionSetArn) {
+        if (status != null && status.status() == StatusValues.IN_PROGRESS
+                && targetId.equals(status.targetId()) && permissionSetArn.equals(status.permissionSetArn())) {
+            requestIds.add(status.requestId());
         }
     }
+
+    private static void addRequestIds(Set<String> requestIds, List<AccountAssignmentOperationStatusMetadata> operations) {
+        for (AccountAssignmentOperationStatusMetadata operation : operations) {
+            requestIds.add(operation.requestId());
+        }
+    }
+
+    private AssignmentIndex getIndex(String instanceArn, String targetId, String permissionSetArn) {
+        return indexes.computeIfAbsent(scopeKey(instanceArn, targetId, permissionSetArn), scope -> new AssignmentIndex());
+    }
+
+    private AssignmentIndex resumeOrStartIndex(String scanKey, String principalType, String principalId) {
+        if (callbackContext != null && scanKey.equals(callbackContext.getAssignmentScanKey())
+                && !StringUtils.isNullOrEmpty(callbackContext.getAssignmentScanNextToken())) {
+            logger.log(String.format("Resuming assignment scan after %d pages.", callbackContext.getAssignmentScanPages()));
+            return AssignmentIndex.resumeAt(callbackContext.getAssignmentScanNextToken(), callbackContext.getAssignmentScanPages(),
+                    principalType, principalId);
+        }
+        return new AssignmentIndex();
+    }
+
+    private void checkpointScan(String scanKey, AssignmentIndex index) {
+        if (callbackContext != null) {
+            callbackContext.setAssignmentScanKey(scanKey);
+            callbackContext.setAssignmentScanNextToken(index.getNextToken());
+            callbackContext.setAssignmentScanPages(index.getPagesScanned());
+        }
+    }
+
+    private void clearScanCheckpoint() {
+        if (callbackContext != null) {
+            callbackContext.resetAssignmentScan();
+        }
+    }
+
+    private static String scopeKey(String instanceArn, String targetId, String permissionSetArn) {
+        return String.join("|", instanceArn, targetId, permissionSetArn);
+    }
 }
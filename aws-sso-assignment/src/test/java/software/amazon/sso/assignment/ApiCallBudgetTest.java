@@ -0,0 +1,237 @@
+package software.amazon.sso.assignment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.assignment.actionProxy.AssignmentListingCache;
+import software.amazon.sso.commons.CountingProxyClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignment.TestConstants.TEST_REQUEST_ID;
+import static software.amazon.sso.assignment.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignment.TestConstants.TEST_TARGET_ID;
+
+/**
+ * Upper bounds on the SSO Admin calls each handler makes for a successful operation, for accounts whose
+ * assignments of the permission set fill 1, 10 and 100 ListAccountAssignments pages. The principal of the
+ * resource sits on the last page, so every page before it has to be listed once and no more.
+ */
+public class ApiCallBudgetTest extends AbstractTestBase {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGE_COUNTS = {1, 10, 100};
+
+    private AmazonWebServicesClientProxy proxy;
+    private CountingProxyClient proxyClient;
+    private final List<AccountAssignment> assignments = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = new CountingProxyClient(proxy);
+        scriptAssignments();
+    }
+
+    @Test
+    public void create_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, false);
+
+            run(new CreateHandler());
+
+            // provisioned check, pre-existence scan, create, one status poll; the chained read reuses the scan
+            assertWithinBudget("Create", pages, 1 + pages + 2);
+        }
+    }
+
+    @Test
+    public void create_InGreenfieldAccount_SkipsScan() {
+        givenAssignmentPages(0, false);
+
+        run(new CreateHandler());
+
+        // provisioned check, create, one status poll
+        assertWithinBudget("Create", 0, 3);
+    }
+
+    @Test
+    public void optimisticCreate_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, false);
+
+            run(new CreateHandler(true));
+
+            // create, one status poll, however many pages there are
+            assertWithinBudget("Optimistic create", pages, 2);
+        }
+    }
+
+    @Test
+    public void read_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, true);
+
+            run(new ReadHandler());
+
+            assertWithinBudget("Read", pages, pages);
+        }
+    }
+
+    @Test
+    public void siblingRead_OnWarmContainer_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, true);
+
+            run(new ReadHandler());
+            run(new ReadHandler());
+
+            // the second read is answered from the listing of the first
+            assertWithinBudget("Two reads", pages, pages);
+        }
+    }
+
+    @Test
+    public void update_StaysWithinBudget() {
+        givenAssignmentPages(1, true);
+
+        run(new UpdateHandler());
+
+        assertWithinBudget("Update", 1, 0);
+    }
+
+    @Test
+    public void delete_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, true);
+
+            run(new DeleteHandler());
+
+            // pre-existence scan, delete, one status poll
+            assertWithinBudget("Delete", pages, pages + 2);
+        }
+    }
+
+    @Test
+    public void optimisticDelete_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, true);
+
+            run(new DeleteHandler(true));
+
+            // delete, one status poll, however many pages there are
+            assertWithinBudget("Optimistic delete", pages, 2);
+        }
+    }
+
+    private void run(final BaseHandlerStd handler) {
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request(), new CallbackContext(), proxyClient, logger);
+        assertThat(response.getStatus()).as("%s: %s", handler.getClass().getSimpleName(), response.getMessage())
+                .isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    private void assertWithinBudget(final String operation, final int pages, final int budget) {
+        assertThat(proxyClient.totalCalls())
+                .as("%s over %d assignment pages made %s", operation, pages, proxyClient.callCounts())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * Fills {@code pages} pages with assignments of other principals, the last slot taken by the principal of the
+     * resource when {@code assigned}.
+     */
+    private void givenAssignmentPages(final int pages, final boolean assigned) {
+        proxyClient.reset();
+        AssignmentListingCache.container().clear();
+        assignments.clear();
+        int others = pages * PAGE_SIZE - (assigned ? 1 : 0);
+        for (int i = 0; i < others; i++) {
+            assignments.add(assignment("other-principal-" + i));
+        }
+        if (assigned) {
+            assignments.add(assignment(TEST_PRINCIPAL_ID));
+        }
+    }
+
+    private static AccountAssignment assignment(final String principalId) {
+        return AccountAssignment.builder()
+                .accountId(TEST_TARGET_ID)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .principalType(PrincipalType.USER)
+                .principalId(principalId)
+                .build();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .targetId(TEST_TARGET_ID)
+                        .targetType(TargetType.AWS_ACCOUNT.toString())
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .principalType(PrincipalType.USER.toString())
+                        .principalId(TEST_PRINCIPAL_ID)
+                        .build())
+                .build();
+    }
+
+    private void scriptAssignments() {
+        final AccountAssignmentOperationStatus inProgress = AccountAssignmentOperationStatus.builder()
+                .requestId(TEST_REQUEST_ID)
+                .status(StatusValues.IN_PROGRESS)
+                .build();
+        final AccountAssignmentOperationStatus succeeded = inProgress.toBuilder().status(StatusValues.SUCCEEDED).build();
+
+        proxyClient
+                .on(ListPermissionSetsProvisionedToAccountRequest.class, request -> ListPermissionSetsProvisionedToAccountResponse.builder()
+                        .permissionSets(assignments.isEmpty() ? Collections.<String>emptyList() : Collections.singletonList(TEST_PERMISSION_SET_ARN))
+                        .build())
+                .on(ListAccountAssignmentsRequest.class, request -> {
+                    int offset = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+                    int end = Math.min(offset + PAGE_SIZE, assignments.size());
+                    return ListAccountAssignmentsResponse.builder()
+                            .accountAssignments(assignments.subList(Math.min(offset, end), end))
+                            .nextToken(end < assignments.size() ? String.valueOf(end) : null)
+                            .build();
+                })
+                .on(CreateAccountAssignmentRequest.class, request -> CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(inProgress)
+                        .build())
+                .on(DescribeAccountAssignmentCreationStatusRequest.class, request -> DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(succeeded)
+                        .build())
+                .on(DeleteAccountAssignmentRequest.class, request -> DeleteAccountAssignmentResponse.builder()
+                        .accountAssignmentDeletionStatus(inProgress)
+                        .build())
+                .on(DescribeAccountAssignmentDeletionStatusRequest.class, request -> DescribeAccountAssignmentDeletionStatusResponse.builder()
+                        .accountAssignmentDeletionStatus(succeeded)
+                        .build());
+    }
+}
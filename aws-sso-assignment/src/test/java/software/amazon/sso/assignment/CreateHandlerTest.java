@@ -8,14 +8,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
 import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatusMetadata;
 import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
 import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentResponse;
 import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountResponse;
+import software.amazon.awssdk.services.ssoadmin.model.OperationStatusFilter;
 import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
 import software.amazon.awssdk.services.ssoadmin.model.ServiceQuotaExceededException;
 import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
@@ -31,12 +39,23 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignment.Constants.CONFLICT_DESCRIBES_MAX;
+import static software.amazon.sso.assignment.Constants.CONFLICT_POLL_DELAY_SECONDS;
+import static software.amazon.sso.assignment.Constants.CONFLICT_RETRY_DELAY_SECONDS;
+import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN_2;
 import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID;
 import static software.amazon.sso.assignment.TestConstants.TEST_REQUEST_ID;
 import static software.amazon.sso.assignment.TestConstants.TEST_SSO_INSTANCE_ARN;
@@ -45,6 +64,8 @@ import static software.amazon.sso.assignment.TestConstants.TEST_TARGET_ID;
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest extends AbstractTestBase {
 
+    private static final String BLOCKING_REQUEST_ID = "blocking-request";
+
     @Mock
     private AmazonWebServicesClientProxy proxy;
 
@@ -85,6 +106,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
         ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
                 .accountId(TEST_TARGET_ID)
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
@@ -161,6 +183,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
         ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
                 .accountId(TEST_TARGET_ID)
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
@@ -181,9 +204,11 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build();
         when(proxy.injectCredentialsAndInvokeV2(createAssignmentRequest, proxyClient.client()::createAccountAssignment))
                 .thenThrow(ConflictException.builder().message("Conflict operation").build());
+        givenOperationsCannotBeListed();
 
         CallbackContext context = new CallbackContext();
         context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
 
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -194,6 +219,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertThat(context.getRetryAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
     }
 
     @Test
@@ -220,6 +246,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
         ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
                 .accountId(TEST_TARGET_ID)
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
@@ -276,6 +303,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
         ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
                 .accountId(TEST_TARGET_ID)
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
@@ -332,6 +360,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
         ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
                 .accountId(TEST_TARGET_ID)
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
@@ -388,6 +417,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
         ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
                 .accountId(TEST_TARGET_ID)
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
@@ -453,6 +483,7 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .desiredResourceState(model)
                 .build();
 
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
         ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
                 .accountId(TEST_TARGET_ID)
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
@@ -465,4 +496,429 @@ public class CreateHandlerTest extends AbstractTestBase {
             handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
         }).isInstanceOf(CfnAlreadyExistsException.class).hasMessageContaining("Assignment already exists. Can't process creation.");
     }
+
+    @Test
+    public void handleRequest_PermissionSetNotProvisioned_SkipsAssignmentScan() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        givenPermissionSetsProvisioned();
+
+        CreateAccountAssignmentRequest createAssignmentRequest = CreateAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(createAssignmentRequest, proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.IN_PROGRESS)
+                                .requestId(TEST_REQUEST_ID)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .accountAssignmentCreationRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenReturn(DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.SUCCEEDED)
+                                .build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        verify(sso, never()).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Optimistic_SkipsPreExistenceCheck() {
+        final CreateHandler handler = new CreateHandler(true);
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        CreateAccountAssignmentRequest createAssignmentRequest = CreateAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(createAssignmentRequest, proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.IN_PROGRESS)
+                                .requestId(TEST_REQUEST_ID)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .accountAssignmentCreationRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenReturn(DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.SUCCEEDED)
+                                .build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        verify(sso, never()).listPermissionSetsProvisionedToAccount(any(ListPermissionSetsProvisionedToAccountRequest.class));
+        verify(sso, never()).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Optimistic_CreationFailed_AssignmentAlreadyExist() {
+        final CreateHandler handler = new CreateHandler(true);
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        AccountAssignment assignment = AccountAssignment.builder()
+                .accountId(TEST_TARGET_ID)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        CreateAccountAssignmentRequest createAssignmentRequest = CreateAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(createAssignmentRequest, proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.IN_PROGRESS)
+                                .requestId(TEST_REQUEST_ID)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .accountAssignmentCreationRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenReturn(DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.FAILED)
+                                .failureReason("Assignment already exists.")
+                                .build())
+                        .build());
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().accountAssignments(assignment).build());
+
+        assertThatThrownBy(() -> {
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        }).isInstanceOf(CfnAlreadyExistsException.class).hasMessageContaining("Assignment already exists. Can't process creation.");
+    }
+
+    @Test
+    public void handleRequest_Conflict_PollsOperationsInProgress() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        CreateAccountAssignmentRequest createAssignmentRequest = CreateAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(createAssignmentRequest, proxyClient.client()::createAccountAssignment))
+                .thenThrow(ConflictException.builder().message("Conflict operation").build());
+        givenOperationsInProgress(BLOCKING_REQUEST_ID, "other-request");
+        givenCreationDescribed(BLOCKING_REQUEST_ID, TEST_PERMISSION_SET_ARN);
+        givenCreationDescribed("other-request", TEST_PERMISSION_SET_ARN_2);
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CONFLICT_POLL_DELAY_SECONDS);
+        // the operation on another permission set cannot be in the way
+        assertThat(response.getCallbackContext().getConflictBlockingRequestIds()).containsExactly(BLOCKING_REQUEST_ID);
+        assertThat(response.getCallbackContext().getConflictPolls()).isEqualTo(1);
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_Conflict_OnlyOtherPermissionSetsBusy_RetriesRightAway() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(Translator.translateToCreateRequest(model), proxyClient.client()::createAccountAssignment))
+                .thenThrow(ConflictException.builder().message("Conflict operation").build());
+        givenOperationsInProgress("other-request");
+        givenCreationDescribed("other-request", TEST_PERMISSION_SET_ARN_2);
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CONFLICT_RETRY_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().getConflictBlockingRequestIds()).isEmpty();
+        // the retry counts as a poll, so a conflict that keeps coming back ends in backoffs
+        assertThat(response.getCallbackContext().getConflictPolls()).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_Conflict_TooManyOperationsToDescribe_BacksOff() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(Translator.translateToCreateRequest(model), proxyClient.client()::createAccountAssignment))
+                .thenThrow(ConflictException.builder().message("Conflict operation").build());
+        // the operation in the way is past the ones that get described, so the deletions are not even listed
+        final List<AccountAssignmentOperationStatusMetadata> operations = new ArrayList<>();
+        for (int i = 0; i < CONFLICT_DESCRIBES_MAX; i++) {
+            operations.add(AccountAssignmentOperationStatusMetadata.builder().requestId("other-request-" + i).status(StatusValues.IN_PROGRESS).build());
+            givenCreationDescribed("other-request-" + i, TEST_PERMISSION_SET_ARN_2);
+        }
+        operations.add(AccountAssignmentOperationStatusMetadata.builder().requestId(BLOCKING_REQUEST_ID).status(StatusValues.IN_PROGRESS).build());
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentCreationStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build())
+                .build(), proxyClient.client()::listAccountAssignmentCreationStatus))
+                .thenReturn(ListAccountAssignmentCreationStatusResponse.builder().accountAssignmentsCreationStatus(operations).build());
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(60, 300);
+        assertThat(context.getConflictBlockingRequestIds()).isEmpty();
+        assertThat(context.getRetryAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
+    }
+
+    @Test
+    public void handleRequest_Conflict_RetriesOnceOperationsFinished() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        givenPermissionSetsProvisioned(TEST_PERMISSION_SET_ARN);
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        CreateAccountAssignmentRequest createAssignmentRequest = CreateAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(createAssignmentRequest, proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.IN_PROGRESS)
+                                .requestId(TEST_REQUEST_ID)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .accountAssignmentCreationRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenReturn(DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.SUCCEEDED)
+                                .build())
+                        .build());
+        givenOperationsInProgress();
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
+        context.setConflictBlockingRequestIds(new ArrayList<>(Collections.singletonList(BLOCKING_REQUEST_ID)));
+        context.setConflictPolls(1);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(context.getConflictBlockingRequestIds()).isEmpty();
+        assertThat(context.getRetryAttempts()).isEqualTo(RETRY_ATTEMPTS);
+    }
+
+    private void givenPermissionSetsProvisioned(final String... permissionSetArns) {
+        when(proxy.injectCredentialsAndInvokeV2(ListPermissionSetsProvisionedToAccountRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .accountId(TEST_TARGET_ID)
+                .build(), proxyClient.client()::listPermissionSetsProvisionedToAccount))
+                .thenReturn(ListPermissionSetsProvisionedToAccountResponse.builder().permissionSets(permissionSetArns).build());
+    }
+
+    private void givenCreationDescribed(final String requestId, final String permissionSetArn) {
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .accountAssignmentCreationRequestId(requestId)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenReturn(DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .requestId(requestId)
+                                .status(StatusValues.IN_PROGRESS)
+                                .targetId(TEST_TARGET_ID)
+                                .permissionSetArn(permissionSetArn)
+                                .build())
+                        .build());
+    }
+
+    private void givenOperationsCannotBeListed() {
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentCreationStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build())
+                .build(), proxyClient.client()::listAccountAssignmentCreationStatus))
+                .thenThrow(ThrottlingException.builder().message("Operation throttled.").build());
+    }
+
+    private void givenOperationsInProgress(final String... requestIds) {
+        final List<AccountAssignmentOperationStatusMetadata> operations = new ArrayList<>();
+        for (String requestId : requestIds) {
+            operations.add(AccountAssignmentOperationStatusMetadata.builder()
+                    .requestId(requestId)
+                    .status(StatusValues.IN_PROGRESS)
+                    .build());
+        }
+        final OperationStatusFilter inProgress = OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build();
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentCreationStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(inProgress)
+                .build(), proxyClient.client()::listAccountAssignmentCreationStatus))
+                .thenReturn(ListAccountAssignmentCreationStatusResponse.builder().accountAssignmentsCreationStatus(operations).build());
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentDeletionStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(inProgress)
+                .build(), proxyClient.client()::listAccountAssignmentDeletionStatus))
+                .thenReturn(ListAccountAssignmentDeletionStatusResponse.builder().build());
+    }
 }
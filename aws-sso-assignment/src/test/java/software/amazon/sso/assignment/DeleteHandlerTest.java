@@ -8,15 +8,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
 import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatusMetadata;
 import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
 import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.OperationStatusFilter;
 import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.ssoadmin.model.ServiceQuotaExceededException;
 import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
 import software.amazon.awssdk.services.ssoadmin.model.TargetType;
@@ -31,11 +38,21 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignment.Constants.CONFLICT_POLLS_MAX;
+import static software.amazon.sso.assignment.Constants.CONFLICT_POLL_DELAY_SECONDS;
+import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN;
 import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID;
 import static software.amazon.sso.assignment.TestConstants.TEST_REQUEST_ID;
@@ -45,6 +62,8 @@ import static software.amazon.sso.assignment.TestConstants.TEST_TARGET_ID;
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest extends AbstractTestBase {
 
+    private static final String BLOCKING_REQUEST_ID = "blocking-request";
+
     @Mock
     private AmazonWebServicesClientProxy proxy;
 
@@ -177,19 +196,22 @@ public class DeleteHandlerTest extends AbstractTestBase {
                 .build();
         when(proxy.injectCredentialsAndInvokeV2(deleteAssignmentRequest, proxyClient.client()::deleteAccountAssignment))
                 .thenThrow(ConflictException.builder().message("Conflict operation").build());
+        givenOperationsCannotBeListed();
 
         CallbackContext context = new CallbackContext();
         context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
 
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds() >= 100 && response.getCallbackDelaySeconds() <= 1100).isEqualTo(true);
+        assertThat(response.getCallbackDelaySeconds() >= 60 && response.getCallbackDelaySeconds() <= 300).isEqualTo(true);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertThat(context.getRetryAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
     }
 
     @Test
@@ -451,4 +473,251 @@ public class DeleteHandlerTest extends AbstractTestBase {
             handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
         }).isInstanceOf(CfnNotFoundException.class).hasMessageContaining("Assignment not exist any more. Can't process deletion.");
     }
+
+    @Test
+    public void handleRequest_Optimistic_DeletionFailed_AssignmentGone() {
+        final DeleteHandler handler = new DeleteHandler(true);
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        DeleteAccountAssignmentRequest deleteAssignmentRequest = DeleteAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(deleteAssignmentRequest, proxyClient.client()::deleteAccountAssignment))
+                .thenReturn(DeleteAccountAssignmentResponse.builder()
+                        .accountAssignmentDeletionStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.IN_PROGRESS)
+                                .requestId(TEST_REQUEST_ID)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentDeletionStatusRequest.builder()
+                .accountAssignmentDeletionRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentDeletionStatus))
+                .thenReturn(DescribeAccountAssignmentDeletionStatusResponse.builder()
+                        .accountAssignmentDeletionStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.FAILED)
+                                .failureReason("Assignment does not exist.")
+                                .build())
+                        .build());
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        assertThatThrownBy(() -> {
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        }).isInstanceOf(CfnNotFoundException.class).hasMessageContaining("Assignment not exist any more. Can't process deletion.");
+    }
+
+    @Test
+    public void handleRequest_Optimistic_ResourceNotFound() {
+        final DeleteHandler handler = new DeleteHandler(true);
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        DeleteAccountAssignmentRequest deleteAssignmentRequest = DeleteAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(deleteAssignmentRequest, proxyClient.client()::deleteAccountAssignment))
+                .thenThrow(ResourceNotFoundException.builder().message("Assignment not found.").build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        verify(sso, never()).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Conflict_WaitsWhileOperationsInProgress() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        givenOperationsInProgress(BLOCKING_REQUEST_ID, "other-request");
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
+        context.setConflictBlockingRequestIds(new ArrayList<>(Collections.singletonList(BLOCKING_REQUEST_ID)));
+        context.setConflictPolls(1);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CONFLICT_POLL_DELAY_SECONDS);
+        // only the operation that caused the conflict is waited for
+        assertThat(response.getCallbackContext().getConflictBlockingRequestIds()).containsExactly(BLOCKING_REQUEST_ID);
+        assertThat(response.getCallbackContext().getConflictPolls()).isEqualTo(2);
+        verify(sso, never()).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+        verify(sso, never()).deleteAccountAssignment(any(DeleteAccountAssignmentRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Conflict_RetriesOnceAnyNotedOperationFinished() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        givenOperationsInProgress("other-request");
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
+        context.setConflictBlockingRequestIds(new ArrayList<>(Arrays.asList(BLOCKING_REQUEST_ID, "other-request")));
+        context.setConflictPolls(1);
+
+        // the delete went ahead and found the assignment already gone
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, context, proxyClient, logger))
+                .isInstanceOf(CfnNotFoundException.class);
+        assertThat(context.getConflictBlockingRequestIds()).isEmpty();
+        verify(sso).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Conflict_BacksOffOncePollsAreUsedUp() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().accountAssignments(AccountAssignment.builder()
+                        .accountId(TEST_TARGET_ID)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .principalType(PrincipalType.USER.toString())
+                        .principalId(TEST_PRINCIPAL_ID)
+                        .build()).build());
+
+        DeleteAccountAssignmentRequest deleteAssignmentRequest = DeleteAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(deleteAssignmentRequest, proxyClient.client()::deleteAccountAssignment))
+                .thenThrow(ConflictException.builder().message("Conflict operation").build());
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
+        context.setConflictPolls(CONFLICT_POLLS_MAX);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(60, 300);
+        assertThat(context.getRetryAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
+        verify(sso, never()).listAccountAssignmentCreationStatus(any(ListAccountAssignmentCreationStatusRequest.class));
+    }
+
+    private void givenOperationsCannotBeListed() {
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentCreationStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build())
+                .build(), proxyClient.client()::listAccountAssignmentCreationStatus))
+                .thenThrow(ThrottlingException.builder().message("Operation throttled.").build());
+    }
+
+    private void givenOperationsInProgress(final String... requestIds) {
+        final List<AccountAssignmentOperationStatusMetadata> operations = new ArrayList<>();
+        for (String requestId : requestIds) {
+            operations.add(AccountAssignmentOperationStatusMetadata.builder()
+                    .requestId(requestId)
+                    .status(StatusValues.IN_PROGRESS)
+                    .build());
+        }
+        final OperationStatusFilter inProgress = OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build();
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentCreationStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(inProgress)
+                .build(), proxyClient.client()::listAccountAssignmentCreationStatus))
+                .thenReturn(ListAccountAssignmentCreationStatusResponse.builder().accountAssignmentsCreationStatus(operations).build());
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentDeletionStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(inProgress)
+                .build(), proxyClient.client()::listAccountAssignmentDeletionStatus))
+                .thenReturn(ListAccountAssignmentDeletionStatusResponse.builder().build());
+    }
 }
@@ -6,7 +6,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -16,6 +27,14 @@ import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignment.Constants.LIST_ACCOUNTS_PAGE_SIZE;
+import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN_2;
+import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignment.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignment.TestConstants.TEST_TARGET_ID;
+import static software.amazon.sso.assignment.TestConstants.TEST_TARGET_ID_2;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest extends AbstractTestBase {
@@ -37,25 +56,177 @@ public class ListHandlerTest extends AbstractTestBase {
     }
 
     @Test
-    public void handleRequest_SimpleSuccess() {
+    public void handleRequest_FirstPage_ContinuesWithAccountsToken() {
         final ListHandler handler = new ListHandler();
 
-        final ResourceModel model = ResourceModel.builder().build();
-
-        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
-                .desiredResourceState(model)
-                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listPermissionSetsRequest(), proxyClient.client()::listPermissionSets))
+                .thenReturn(ListPermissionSetsResponse.builder()
+                        .permissionSets(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_ARN_2)
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(listAccountsRequest(TEST_PERMISSION_SET_ARN, null), proxyClient.client()::listAccountsForProvisionedPermissionSet))
+                .thenReturn(ListAccountsForProvisionedPermissionSetResponse.builder()
+                        .accountIds(TEST_TARGET_ID)
+                        .nextToken("accountsToken")
+                        .build());
+        stubAssignment(TEST_TARGET_ID, TEST_PERMISSION_SET_ARN);
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, null, logger);
+                handler.handleRequest(proxy, buildRequest(null), new CallbackContext(), proxyClient, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
-        assertThat(response.getCallbackContext()).isNull();
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModel()).isNull();
-        assertThat(response.getResourceModels()).isNotNull();
+        assertThat(response.getResourceModels()).containsExactly(expectedModel(TEST_TARGET_ID, TEST_PERMISSION_SET_ARN));
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+
+        ListCursor next = ListCursor.decode(response.getNextToken());
+        assertThat(next.getPermissionSetsToken()).isNull();
+        assertThat(next.getPermissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN);
+        assertThat(next.getAccountsToken()).isEqualTo("accountsToken");
+    }
+
+    @Test
+    public void handleRequest_LastAccountPage_MovesToNextPermissionSet() {
+        final ListHandler handler = new ListHandler();
+
+        when(proxy.injectCredentialsAndInvokeV2(listAccountsRequest(TEST_PERMISSION_SET_ARN, "accountsToken"), proxyClient.client()::listAccountsForProvisionedPermissionSet))
+                .thenReturn(ListAccountsForProvisionedPermissionSetResponse.builder()
+                        .accountIds(TEST_TARGET_ID_2)
+                        .build());
+        stubAssignment(TEST_TARGET_ID_2, TEST_PERMISSION_SET_ARN);
+        when(proxy.injectCredentialsAndInvokeV2(listPermissionSetsRequest(), proxyClient.client()::listPermissionSets))
+                .thenReturn(ListPermissionSetsResponse.builder()
+                        .permissionSets(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_ARN_2)
+                        .build());
+
+        final String token = new ListCursor(null, TEST_PERMISSION_SET_ARN, 0, "accountsToken").encode();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, buildRequest(token), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).containsExactly(expectedModel(TEST_TARGET_ID_2, TEST_PERMISSION_SET_ARN));
+
+        ListCursor next = ListCursor.decode(response.getNextToken());
+        assertThat(next.getPermissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN_2);
+        assertThat(next.getAccountsToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_LastPermissionSet_EndsWalk() {
+        final ListHandler handler = new ListHandler();
+
+        when(proxy.injectCredentialsAndInvokeV2(listAccountsRequest(TEST_PERMISSION_SET_ARN_2, null), proxyClient.client()::listAccountsForProvisionedPermissionSet))
+                .thenReturn(ListAccountsForProvisionedPermissionSetResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(listPermissionSetsRequest(), proxyClient.client()::listPermissionSets))
+                .thenReturn(ListPermissionSetsResponse.builder()
+                        .permissionSets(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_ARN_2)
+                        .build());
+
+        final String token = new ListCursor(null, TEST_PERMISSION_SET_ARN_2, 1, null).encode();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, buildRequest(token), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEmpty();
+        assertThat(response.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_InvalidToken() {
+        final ListHandler handler = new ListHandler();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, buildRequest("not-a-cursor"), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
+
+    @Test
+    public void handleRequest_CursorPermissionSetDeleted_ResumesAtItsPosition() {
+        final ListHandler handler = new ListHandler();
+        final String deletedPermissionSetArn = TEST_PERMISSION_SET_ARN + "-deleted";
+
+        when(proxy.injectCredentialsAndInvokeV2(listAccountsRequest(deletedPermissionSetArn, "accountsToken"), proxyClient.client()::listAccountsForProvisionedPermissionSet))
+                .thenThrow(ResourceNotFoundException.builder().message("Permission set not found.").build());
+        when(proxy.injectCredentialsAndInvokeV2(listPermissionSetsRequest(), proxyClient.client()::listPermissionSets))
+                .thenReturn(ListPermissionSetsResponse.builder()
+                        .permissionSets(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_ARN_2)
+                        .build());
+
+        // the deleted permission set was listed between the other two, so the first of them has been walked already
+        final String token = new ListCursor(null, deletedPermissionSetArn, 1, "accountsToken").encode();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, buildRequest(token), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEmpty();
+
+        ListCursor next = ListCursor.decode(response.getNextToken());
+        assertThat(next.getPermissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN_2);
+        assertThat(next.getPermissionSetIndex()).isEqualTo(1);
+        assertThat(next.getAccountsToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_NoDesiredState_InvalidRequest() {
+        final ListHandler handler = new ListHandler();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().build(), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
+
+    private ResourceHandlerRequest<ResourceModel> buildRequest(String nextToken) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN).build())
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private void stubAssignment(String targetId, String permissionSetArn) {
+        when(proxy.injectCredentialsAndInvokeV2(ListAccountAssignmentsRequest.builder()
+                .accountId(targetId)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(permissionSetArn)
+                .build(), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(AccountAssignment.builder()
+                                .accountId(targetId)
+                                .permissionSetArn(permissionSetArn)
+                                .principalType(PrincipalType.USER)
+                                .principalId(TEST_PRINCIPAL_ID)
+                                .build())
+                        .build());
+    }
+
+    private ResourceModel expectedModel(String targetId, String permissionSetArn) {
+        return ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .targetId(targetId)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .permissionSetArn(permissionSetArn)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+    }
+
+    private ListPermissionSetsRequest listPermissionSetsRequest() {
+        return ListPermissionSetsRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build();
+    }
+
+    private ListAccountsForProvisionedPermissionSetRequest listAccountsRequest(String permissionSetArn, String nextToken) {
+        return ListAccountsForProvisionedPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(permissionSetArn)
+                .maxResults(LIST_ACCOUNTS_PAGE_SIZE)
+                .nextToken(nextToken)
+                .build();
     }
 }
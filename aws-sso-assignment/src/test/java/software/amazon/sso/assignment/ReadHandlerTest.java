@@ -20,12 +20,17 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.assignment.actionProxy.AssignmentListingCache;
+import software.amazon.sso.assignment.actionProxy.AssignmentProxy;
 
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignment.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN;
 import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID;
 import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID_2;
@@ -50,6 +55,7 @@ public class ReadHandlerTest extends AbstractTestBase {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         sso = mock(SsoAdminClient.class);
         proxyClient = MOCK_PROXY(proxy, sso);
+        AssignmentListingCache.container().clear();
     }
 
     @Test
@@ -279,4 +285,124 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(response.getMessage()).contains("Assignment not exists for given entity.");
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
+
+    @Test
+    public void handleRequest_Chained_ThrottlingRetriedInCallback() {
+        final ReadHandler handler = new ReadHandler(new AssignmentProxy(proxy, proxyClient, logger));
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenThrow(ThrottlingException.builder().message("Operation throttled.").build());
+
+        CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(5, 10);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(context.getReadThrottlingAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
+        verify(sso, times(1)).listAccountAssignments(listAssignRequest);
+    }
+
+    @Test
+    public void handleRequest_Chained_ThrottlingAttemptsExhausted() {
+        final ReadHandler handler = new ReadHandler(new AssignmentProxy(proxy, proxyClient, logger));
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenThrow(ThrottlingException.builder().message("Operation throttled.").build());
+
+        CallbackContext context = new CallbackContext();
+        context.setReadHandlerInvoked(true);
+        context.setReadThrottlingAttempts(1);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
+    @Test
+    public void handleRequest_SiblingRead_ServedFromContainerListing() {
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(AccountAssignment.builder()
+                                        .accountId(TEST_TARGET_ID)
+                                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                                        .principalType(PrincipalType.USER.toString())
+                                        .principalId(TEST_PRINCIPAL_ID)
+                                        .build(),
+                                AccountAssignment.builder()
+                                        .accountId(TEST_TARGET_ID)
+                                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                                        .principalType(PrincipalType.USER.toString())
+                                        .principalId(TEST_PRINCIPAL_ID_2)
+                                        .build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new ReadHandler()
+                .handleRequest(proxy, readRequest(TEST_PRINCIPAL_ID), new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> siblingResponse = new ReadHandler()
+                .handleRequest(proxy, readRequest(TEST_PRINCIPAL_ID_2), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(siblingResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(sso, times(1)).listAccountAssignments(listAssignRequest);
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> readRequest(final String principalId) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .targetType(TargetType.AWS_ACCOUNT.toString())
+                        .targetId(TEST_TARGET_ID)
+                        .principalType(PrincipalType.USER.toString())
+                        .principalId(principalId)
+                        .build())
+                .build();
+    }
 }
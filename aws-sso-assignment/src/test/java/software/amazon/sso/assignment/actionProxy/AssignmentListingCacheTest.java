@@ -0,0 +1,83 @@
+package software.amazon.sso.assignment.actionProxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AssignmentListingCacheTest {
+
+    private static final long TTL_MILLIS = 1000;
+    private static final String SCOPE = "instance|account|permission-set";
+    private static final String OTHER_SCOPE = "instance|account|other-permission-set";
+
+    private final AtomicLong now = new AtomicLong();
+    private final AssignmentListingCache cache = new AssignmentListingCache(TTL_MILLIS, 2, now::get);
+
+    @Test
+    public void get_ReturnsListingUntilItExpires() {
+        cache.put(SCOPE, Collections.singleton("USER/a"));
+
+        advanceMillis(TTL_MILLIS - 1);
+        assertThat(cache.get(SCOPE)).containsExactly("USER/a");
+
+        advanceMillis(1);
+        assertThat(cache.get(SCOPE)).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void put_EvictsLeastRecentlyUsedListing() {
+        cache.put(SCOPE, Collections.singleton("USER/a"));
+        cache.put(OTHER_SCOPE, Collections.singleton("USER/b"));
+        cache.get(SCOPE);
+
+        cache.put("instance|account|third-permission-set", Collections.singleton("USER/c"));
+
+        assertThat(cache.get(SCOPE)).isNotNull();
+        assertThat(cache.get(OTHER_SCOPE)).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void addAndRemove_UpdateCachedListingOnly() {
+        cache.put(SCOPE, new HashSet<>(Collections.singleton("USER/a")));
+
+        cache.add(SCOPE, "USER/b");
+        cache.remove(SCOPE, "USER/a");
+        cache.add(OTHER_SCOPE, "USER/c");
+
+        assertThat(cache.get(SCOPE)).containsExactly("USER/b");
+        assertThat(cache.get(OTHER_SCOPE)).isNull();
+    }
+
+    @Test
+    public void add_DoesNotExtendLifetime() {
+        cache.put(SCOPE, Collections.singleton("USER/a"));
+
+        advanceMillis(TTL_MILLIS - 1);
+        cache.add(SCOPE, "USER/b");
+        advanceMillis(1);
+
+        assertThat(cache.get(SCOPE)).isNull();
+    }
+
+    @Test
+    public void get_ReturnsCopy() {
+        cache.put(SCOPE, Collections.singleton("USER/a"));
+
+        Set<String> principals = cache.get(SCOPE);
+        principals.add("USER/b");
+
+        assertThat(cache.get(SCOPE)).containsExactly("USER/a");
+    }
+
+    private void advanceMillis(final long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
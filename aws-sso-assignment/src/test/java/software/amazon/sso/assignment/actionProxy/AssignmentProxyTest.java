@@ -0,0 +1,294 @@
+package software.amazon.sso.assignment.actionProxy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.sso.assignment.AbstractTestBase;
+import software.amazon.sso.assignment.CallbackContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignment.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignment.TestConstants.TEST_PRINCIPAL_ID_2;
+import static software.amazon.sso.assignment.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignment.TestConstants.TEST_TARGET_ID;
+
+@ExtendWith(MockitoExtension.class)
+public class AssignmentProxyTest extends AbstractTestBase {
+
+    private static final String TEST_NEXT_TOKEN = "nextToken";
+    private static final String TEST_OTHER_PERMISSION_SET_ARN = TEST_PERMISSION_SET_ARN + "-other";
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<SsoAdminClient> proxyClient;
+
+    @Mock
+    SsoAdminClient sso;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sso = mock(SsoAdminClient.class);
+        when(proxyClient.client()).thenReturn(sso);
+        AssignmentListingCache.container().clear();
+    }
+
+    @Test
+    public void checkIfAssignmentAlreadyExist_StopsPagingOnceFound() {
+        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger);
+
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID))
+                        .nextToken(TEST_NEXT_TOKEN)
+                        .build());
+
+        assertThat(assignmentProxy.checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+        assertThat(assignmentProxy.checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+
+        verify(sso, times(1)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void checkIfAssignmentAlreadyExist_ResumesFromIndexedPages() {
+        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger);
+
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        ListAccountAssignmentsRequest listAssignSecondRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .nextToken(TEST_NEXT_TOKEN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID))
+                        .nextToken(TEST_NEXT_TOKEN)
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(listAssignSecondRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID_2))
+                        .build());
+
+        assertThat(assignmentProxy.checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID_2, PrincipalType.USER.toString())).isTrue();
+        assertThat(assignmentProxy.checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+        assertThat(assignmentProxy.checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID, PrincipalType.GROUP.toString())).isFalse();
+
+        verify(sso, times(2)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void markAssignmentCreated_SkipsListing() {
+        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger);
+
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        assignmentProxy.markAssignmentCreated(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID, PrincipalType.USER.toString());
+
+        assertThat(assignmentProxy.checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+        verify(sso, times(0)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+
+        assertThat(assignmentProxy.checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID_2, PrincipalType.USER.toString())).isFalse();
+        verify(sso, times(1)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void checkIfAssignmentAlreadyExist_ResumesFromCallbackContext() {
+        CallbackContext context = new CallbackContext();
+
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        ListAccountAssignmentsRequest listAssignSecondRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .nextToken(TEST_NEXT_TOKEN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID_2))
+                        .nextToken(TEST_NEXT_TOKEN)
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(listAssignSecondRequest, proxyClient.client()::listAccountAssignments))
+                .thenThrow(ThrottlingException.builder().message("Operation throttled.").build())
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID))
+                        .build());
+
+        assertThatThrownBy(() -> new AssignmentProxy(proxy, proxyClient, logger, context)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID, PrincipalType.USER.toString()))
+                .isInstanceOf(ThrottlingException.class);
+        assertThat(context.getAssignmentScanNextToken()).isEqualTo(TEST_NEXT_TOKEN);
+        assertThat(context.getAssignmentScanPages()).isEqualTo(1);
+
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger, context)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+        assertThat(context.getAssignmentScanNextToken()).isNull();
+
+        verify(sso, times(1)).listAccountAssignments(listAssignRequest);
+        verify(sso, times(2)).listAccountAssignments(listAssignSecondRequest);
+    }
+
+    @Test
+    public void checkIfPermissionSetProvisionedToAccount_ListsOncePerAccount() {
+        AssignmentProxy assignmentProxy = new AssignmentProxy(proxy, proxyClient, logger);
+
+        ListPermissionSetsProvisionedToAccountRequest listProvisionedRequest = ListPermissionSetsProvisionedToAccountRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .accountId(TEST_TARGET_ID)
+                .build();
+        ListPermissionSetsProvisionedToAccountRequest listProvisionedSecondRequest = listProvisionedRequest.toBuilder()
+                .nextToken(TEST_NEXT_TOKEN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listProvisionedRequest, proxyClient.client()::listPermissionSetsProvisionedToAccount))
+                .thenReturn(ListPermissionSetsProvisionedToAccountResponse.builder()
+                        .permissionSets(TEST_OTHER_PERMISSION_SET_ARN)
+                        .nextToken(TEST_NEXT_TOKEN)
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(listProvisionedSecondRequest, proxyClient.client()::listPermissionSetsProvisionedToAccount))
+                .thenReturn(ListPermissionSetsProvisionedToAccountResponse.builder().build());
+
+        assertThat(assignmentProxy.checkIfPermissionSetProvisionedToAccount(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN)).isFalse();
+        assertThat(assignmentProxy.checkIfPermissionSetProvisionedToAccount(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_OTHER_PERMISSION_SET_ARN)).isTrue();
+
+        assignmentProxy.markAssignmentCreated(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID, PrincipalType.USER.toString());
+        assertThat(assignmentProxy.checkIfPermissionSetProvisionedToAccount(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN)).isTrue();
+
+        verify(sso, times(2)).listPermissionSetsProvisionedToAccount(any(ListPermissionSetsProvisionedToAccountRequest.class));
+    }
+
+    @Test
+    public void cachedLookups_StopAtHitAndShareListingsScannedToTheEnd() {
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        ListAccountAssignmentsRequest listAssignSecondRequest = listAssignRequest.toBuilder()
+                .nextToken(TEST_NEXT_TOKEN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID))
+                        .nextToken(TEST_NEXT_TOKEN)
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(listAssignSecondRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID_2))
+                        .build());
+
+        // found on the first page, so the second one is not listed and nothing is cached
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger, null, true)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+        verify(sso, times(1)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger, null, true)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID_2, PrincipalType.USER.toString())).isTrue();
+        verify(sso, times(3)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+
+        // that scan reached the last page, so its listing answers later lookups
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger, null, true)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+
+        new AssignmentProxy(proxy, proxyClient, logger).markAssignmentDeleted(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                TEST_PRINCIPAL_ID_2, PrincipalType.USER.toString());
+
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger, null, true)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID_2, PrincipalType.USER.toString())).isFalse();
+        verify(sso, times(3)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    @Test
+    public void cachedLookups_DeleteByAnotherContainer_StaleUntilListingExpires() {
+        ListAccountAssignmentsRequest listAssignRequest = ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(listAssignRequest, proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_PRINCIPAL_ID))
+                        .build(),
+                        ListAccountAssignmentsResponse.builder().build());
+
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger, null, true)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+
+        // deleted through another container, which cannot update this container's listing: a read within
+        // ASSIGNMENT_LISTING_TTL_MILLIS still finds the assignment, while a lookup guarding a write lists again
+
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger, null, true)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isTrue();
+        assertThat(new AssignmentProxy(proxy, proxyClient, logger)
+                .checkIfAssignmentAlreadyExist(TEST_SSO_INSTANCE_ARN, TEST_TARGET_ID, TEST_PERMISSION_SET_ARN,
+                        TEST_PRINCIPAL_ID, PrincipalType.USER.toString())).isFalse();
+        verify(sso, times(2)).listAccountAssignments(any(ListAccountAssignmentsRequest.class));
+    }
+
+    private AccountAssignment assignment(String principalId) {
+        return AccountAssignment.builder()
+                .accountId(TEST_TARGET_ID)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(principalId)
+                .build();
+    }
+}
@@ -0,0 +1,252 @@
+package software.amazon.sso.assignmentbatch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccessDeniedException;
+import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
+import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.awssdk.services.ssoadmin.model.ValidationException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.sso.commons.ApiCallMetrics;
+import software.amazon.sso.commons.WaitScheduler;
+
+import java.lang.management.ManagementFactory;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static software.amazon.sso.assignmentbatch.Constants.MAX_REPORTED_FAILURES;
+import static software.amazon.sso.assignmentbatch.Constants.RETRY_ATTEMPTS_ZERO;
+
+// Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
+
+public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
+
+  protected static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+  private static final String PRIMING_ARN = "arn:aws:sso:::priming";
+  // Runs while the class is initialised, i.e. during Lambda init and before the first invocation is billed
+  private static final long PRIMING_NANOS = prime();
+  private static final AtomicBoolean STARTUP_REPORTED = new AtomicBoolean();
+
+  @Override
+  public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    final AmazonWebServicesClientProxy proxy,
+    final ResourceHandlerRequest<ResourceModel> request,
+    final CallbackContext callbackContext,
+    final Logger logger) {
+    reportStartup(logger);
+    final ApiCallMetrics metrics = new ApiCallMetrics(ResourceModel.TYPE_NAME);
+    try {
+      return runWithinInvocation(
+        proxy,
+        request,
+        callbackContext != null ? callbackContext : new CallbackContext(),
+        proxy.newProxy(timedClientSupplier(logger, metrics)),
+        logger
+      );
+    } finally {
+      metrics.flush(logger);
+    }
+  }
+
+  protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+    final AmazonWebServicesClientProxy proxy,
+    final ResourceHandlerRequest<ResourceModel> request,
+    final CallbackContext callbackContext,
+    final ProxyClient<SsoAdminClient> proxyClient,
+    final Logger logger);
+
+  /**
+   * Runs the handler and, for as long as it asks for a callback short enough to wait out in this invocation, waits
+   * and runs it again with the model and context it returned, as CloudFormation would on the callback. The first
+   * delay the {@link WaitScheduler} hands to a callback goes back to CloudFormation.
+   */
+  private ProgressEvent<ResourceModel, CallbackContext> runWithinInvocation(
+    final AmazonWebServicesClientProxy proxy,
+    final ResourceHandlerRequest<ResourceModel> request,
+    final CallbackContext callbackContext,
+    final ProxyClient<SsoAdminClient> proxyClient,
+    final Logger logger) {
+    final WaitScheduler waitScheduler = WaitScheduler.forInvocation();
+    ProgressEvent<ResourceModel, CallbackContext> progress = handleRequest(proxy, request, callbackContext, proxyClient, logger);
+    while (progress.getStatus() == OperationStatus.IN_PROGRESS
+            && waitScheduler.awaitInProcess(TimeUnit.SECONDS.toMillis(progress.getCallbackDelaySeconds()))) {
+      logger.log(String.format("Waited %d s in process, %d ms of the invocation left.",
+              progress.getCallbackDelaySeconds(), waitScheduler.getRemainingMillis()));
+      if (progress.getResourceModel() != null) {
+        request.setDesiredResourceState(progress.getResourceModel());
+      }
+      progress = handleRequest(proxy, request,
+              progress.getCallbackContext() != null ? progress.getCallbackContext() : callbackContext, proxyClient, logger);
+    }
+    return progress;
+  }
+
+  /**
+   * Hands out the container-wide client instrumented for this invocation, timing the first time an invocation asks
+   * for it.
+   */
+  private Supplier<SsoAdminClient> timedClientSupplier(final Logger logger, final ApiCallMetrics metrics) {
+    final AtomicBoolean measured = new AtomicBoolean();
+    return () -> {
+      if (measured.getAndSet(true)) {
+        return metrics.instrument(ClientBuilder.getClient(), SsoAdminClient.class);
+      }
+      final boolean warm = ClientBuilder.isClientInitialized();
+      final long setupStart = System.nanoTime();
+      final SsoAdminClient client = ClientBuilder.getClient();
+      onClientSetup(logger, warm, System.nanoTime() - setupStart);
+      return metrics.instrument(client, SsoAdminClient.class);
+    };
+  }
+
+  /**
+   * Called once per invocation that uses the client with the time it took to get it ready, logged by default so
+   * that cold and warm containers can be compared.
+   */
+  protected void onClientSetup(final Logger logger, final boolean warm, final long setupNanos) {
+    logger.log(String.format("SSO Admin client setup took %d us on a %s container.",
+            TimeUnit.NANOSECONDS.toMicros(setupNanos), warm ? "warm" : "cold"));
+  }
+
+  /**
+   * Loads and exercises what every invocation needs before it can make its first call: the Jackson serializers of the
+   * model and the callback context, the translators and the SDK request models with their field metadata. Sample
+   * data only, nothing is sent over the network. Priming is best effort; if it fails the first invocation simply
+   * pays for the class loading instead.
+   */
+  private static long prime() {
+    final long start = System.nanoTime();
+    try {
+      final Serializer serializer = new Serializer();
+      final ResourceModel model = ResourceModel.builder()
+              .instanceArn(PRIMING_ARN)
+              .permissionSetArn(PRIMING_ARN)
+              .targetType("AWS_ACCOUNT")
+              .targetIds(Collections.singletonList("000000000000"))
+              .principals(Collections.singletonList(Principal.builder()
+                      .principalType("USER")
+                      .principalId("priming")
+                      .build()))
+              .build();
+      final BatchAssignment assignment = BatchAssignment.fromKey(BatchAssignment.keysOf(model).get(0));
+      roundTrip(serializer, model, new TypeReference<ResourceModel>() {});
+      roundTrip(serializer, new CallbackContext(), new TypeReference<CallbackContext>() {});
+      touch(Translator.translateToCreateRequest(model, assignment));
+      touch(Translator.translateToDeleteRequest(model, assignment));
+      touch(Translator.translateToDescribeCreationStatusRequest(PRIMING_ARN, "priming"));
+      touch(Translator.translateToDescribeDeletionStatusRequest(PRIMING_ARN, "priming"));
+      touch(Translator.translateToListRequest(PRIMING_ARN, "000000000000", PRIMING_ARN, null));
+    } catch (final Exception e) {
+      // best effort, see above
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static <T> void roundTrip(final Serializer serializer, final T value, final TypeReference<T> type) throws Exception {
+    serializer.deserialize(serializer.serialize(value), type);
+  }
+
+  private static void touch(final SdkPojo request) {
+    for (SdkField<?> field : request.sdkFields()) {
+      field.getValueOrDefault(request);
+    }
+  }
+
+  /**
+   * Logs once per container how long after JVM start the first invocation arrived and how much of that went into
+   * priming, so that cold starts can be compared across changes.
+   */
+  private static void reportStartup(final Logger logger) {
+    if (STARTUP_REPORTED.compareAndSet(false, true)) {
+      logger.log(String.format("First invocation of this container %d ms after JVM start, priming took %d ms.",
+              ManagementFactory.getRuntimeMXBean().getUptime(), TimeUnit.NANOSECONDS.toMillis(PRIMING_NANOS)));
+    }
+  }
+
+  protected int getRetryTime(Exception exception) {
+    IntStream possibleNumber;
+    if (exception instanceof ConflictException || exception instanceof ThrottlingException) {
+      possibleNumber =  SECURE_RANDOM.ints(60, 300);
+    } else {
+      possibleNumber =  SECURE_RANDOM.ints(5, 100);
+    }
+    return possibleNumber.findAny().getAsInt();
+  }
+
+  /**
+   * Delay before the next round of a batch, longer when the last round was throttled or conflicted.
+   */
+  protected int getBatchPollTime(boolean throttled) {
+    return throttled ? SECURE_RANDOM.ints(15, 60).findAny().getAsInt() : SECURE_RANDOM.ints(5, 15).findAny().getAsInt();
+  }
+
+  /**
+   * Retries throttling, conflicts and ISE of the listing calls through callbacks, fails on anything else.
+   */
+  protected ProgressEvent<ResourceModel, CallbackContext> handleBatchError(Exception exception,
+                                                                           ResourceModel model,
+                                                                           CallbackContext context) {
+    if (exception instanceof ConflictException || exception instanceof ThrottlingException) {
+      return ProgressEvent.defaultInProgressHandler(context, getRetryTime(exception), model);
+    } else if (exception instanceof InternalServerException) {
+      if (context.getRetryAttempts() == RETRY_ATTEMPTS_ZERO) {
+        return ProgressEvent.defaultFailureHandler(exception, mapExceptionToHandlerCode(exception));
+      }
+      context.decrementRetryAttempts();
+      return ProgressEvent.defaultInProgressHandler(context, getRetryTime(exception), model);
+    }
+    return ProgressEvent.defaultFailureHandler(exception, mapExceptionToHandlerCode(exception));
+  }
+
+  /**
+   * One failure event for the whole batch, naming the first few assignments that failed and why.
+   */
+  protected ProgressEvent<ResourceModel, CallbackContext> batchFailure(Map<String, String> failures, int total, String suffix) {
+    StringBuilder message = new StringBuilder(String.format("%d of %d assignments failed", failures.size(), total));
+    int reported = 0;
+    for (Map.Entry<String, String> failure : failures.entrySet()) {
+      if (reported++ == MAX_REPORTED_FAILURES) {
+        message.append("; ...");
+        break;
+      }
+      message.append(reported == 1 ? ": " : "; ").append(failure.getKey()).append(" - ").append(failure.getValue());
+    }
+    message.append(suffix);
+    return ProgressEvent.defaultFailureHandler(new CfnGeneralServiceException(message.toString()), HandlerErrorCode.GeneralServiceException);
+  }
+
+  protected HandlerErrorCode mapExceptionToHandlerCode(Exception exception) {
+    if (exception instanceof ResourceNotFoundException) {
+      return HandlerErrorCode.NotFound;
+    } else if (exception instanceof AccessDeniedException) {
+      return HandlerErrorCode.AccessDenied;
+    } else if (exception instanceof ValidationException) {
+      return HandlerErrorCode.InvalidRequest;
+    } else if (exception instanceof ConflictException) {
+      return HandlerErrorCode.AlreadyExists;
+    } else if (exception instanceof ThrottlingException) {
+      return HandlerErrorCode.Throttling;
+    } else {
+      return HandlerErrorCode.InternalFailure;
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+package software.amazon.sso.assignmentbatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One (account, principal) pair of a batch. The batch progress is kept in the callback context keyed by
+ * {@link #toKey()}, so the pair round-trips through its string form between invocations.
+ */
+@lombok.Getter
+@lombok.EqualsAndHashCode
+@lombok.AllArgsConstructor
+public class BatchAssignment {
+    private static final String KEY_SEPARATOR = "|";
+
+    private final String targetId;
+    private final String principalType;
+    private final String principalId;
+
+    public String toKey() {
+        return String.join(KEY_SEPARATOR, targetId, principalType, principalId);
+    }
+
+    public static BatchAssignment fromKey(String key) {
+        String[] parts = key.split("\\|", 3);
+        return new BatchAssignment(parts[0], parts[1], parts[2]);
+    }
+
+    /**
+     * Keys of every target and principal pair of the model, in declaration order and without duplicates.
+     */
+    public static List<String> keysOf(ResourceModel model) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (model.getTargetIds() != null && model.getPrincipals() != null) {
+            for (String targetId : model.getTargetIds()) {
+                for (Principal principal : model.getPrincipals()) {
+                    keys.add(new BatchAssignment(targetId, principal.getPrincipalType(), principal.getPrincipalId()).toKey());
+                }
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+}
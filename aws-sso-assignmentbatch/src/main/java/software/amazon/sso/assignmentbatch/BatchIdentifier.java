@@ -0,0 +1,73 @@
+package software.amazon.sso.assignmentbatch;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The BatchId is a digest of the instance, permission set, target type, targets and principals of the batch. It stays
+ * short however large the batch is, and does not change when the targets or principals are listed in another order.
+ * The membership itself is kept in the model, which CloudFormation hands back to read and delete.
+ */
+public class BatchIdentifier {
+    private static final String PREFIX = "batch-";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String PRINCIPAL_SEPARATOR = "/";
+    // 128 bits of the SHA-256 digest, as 32 hex characters
+    private static final int DIGEST_BYTES = 16;
+
+    private BatchIdentifier() {
+    }
+
+    public static String of(ResourceModel model) {
+        List<String> targetIds = new ArrayList<>(model.getTargetIds());
+        Collections.sort(targetIds);
+        List<String> principals = new ArrayList<>();
+        for (Principal principal : model.getPrincipals()) {
+            principals.add(principal.getPrincipalType() + PRINCIPAL_SEPARATOR + principal.getPrincipalId());
+        }
+        Collections.sort(principals);
+        String membership = String.join(FIELD_SEPARATOR,
+                model.getInstanceArn(),
+                model.getPermissionSetArn(),
+                model.getTargetType(),
+                String.join(LIST_SEPARATOR, targetIds),
+                String.join(LIST_SEPARATOR, principals));
+
+        byte[] digest = sha256(membership);
+        StringBuilder batchId = new StringBuilder(PREFIX);
+        for (int i = 0; i < DIGEST_BYTES; i++) {
+            batchId.append(String.format("%02x", digest[i]));
+        }
+        return batchId.toString();
+    }
+
+    /**
+     * The model if it carries the batch membership, or null if it does not. The BatchId cannot be turned back into
+     * the membership, and listing every assignment of the instance to find a batch by its digest is not bounded.
+     */
+    public static ResourceModel resolve(ResourceModel model) {
+        if (model == null || model.getInstanceArn() == null || model.getPermissionSetArn() == null
+                || model.getTargetIds() == null || model.getTargetIds().isEmpty()
+                || model.getPrincipals() == null || model.getPrincipals().isEmpty()) {
+            return null;
+        }
+        if (model.getBatchId() == null) {
+            model.setBatchId(of(model));
+        }
+        return model;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
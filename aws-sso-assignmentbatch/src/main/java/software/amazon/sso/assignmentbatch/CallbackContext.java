@@ -0,0 +1,41 @@
+package software.amazon.sso.assignmentbatch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@lombok.Getter
+@lombok.Setter
+@lombok.ToString
+@lombok.EqualsAndHashCode(callSuper = true)
+public class CallbackContext extends StdCallbackContext {
+
+    private int retryAttempts;
+    private boolean handlerInvoked;
+    private boolean preCheckCompleted;
+    private boolean rollbackStarted;
+    // Batch progress, keyed by BatchAssignment keys
+    private List<String> pendingAssignments = new ArrayList<>();
+    private Map<String, String> inFlightRequests = new LinkedHashMap<>();
+    private List<String> completedAssignments = new ArrayList<>();
+    private Map<String, String> failedAssignments = new LinkedHashMap<>();
+    // When each request in flight was submitted and when the last round polled them, to pace and learn status polls
+    private Map<String, Long> inFlightSince = new LinkedHashMap<>();
+    private long lastStatusPollAt;
+    // How often each assignment was sent back to the queue after a conflict or throttle
+    private Map<String, Integer> requeuedAssignments = new LinkedHashMap<>();
+
+    @JsonIgnore
+    public void decrementRetryAttempts() {
+        retryAttempts--;
+    }
+
+    @JsonIgnore
+    public boolean isBatchFinished() {
+        return pendingAssignments.isEmpty() && inFlightRequests.isEmpty();
+    }
+}
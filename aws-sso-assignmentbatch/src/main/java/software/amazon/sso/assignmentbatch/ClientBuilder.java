@@ -0,0 +1,33 @@
+package software.amazon.sso.assignmentbatch;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.cloudformation.LambdaWrapper;
+
+public class ClientBuilder {
+  // Built by the first invocation of the container and reused by the warm ones, credentials are injected per request
+  private static volatile SsoAdminClient client;
+
+  public static SsoAdminClient getClient() {
+    if (client == null) {
+      synchronized (ClientBuilder.class) {
+        if (client == null) {
+          client = buildClient();
+        }
+      }
+    }
+    return client;
+  }
+
+  public static boolean isClientInitialized() {
+    return client != null;
+  }
+
+  /**
+   * Builds a client that is not shared, which is what every invocation used to pay for.
+   */
+  public static SsoAdminClient buildClient() {
+    return SsoAdminClient.builder()
+            .httpClient(LambdaWrapper.HTTP_CLIENT)
+            .build();
+  }
+}
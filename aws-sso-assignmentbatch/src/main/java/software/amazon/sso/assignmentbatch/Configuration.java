@@ -0,0 +1,8 @@
+package software.amazon.sso.assignmentbatch;
+
+class Configuration extends BaseConfiguration {
+
+    public Configuration() {
+        super("aws-sso-assignmentbatch.json");
+    }
+}
@@ -0,0 +1,14 @@
+package software.amazon.sso.assignmentbatch;
+
+public class Constants {
+    public final static int RETRY_ATTEMPTS = 5;
+    public final static int RETRY_ATTEMPTS_ZERO = 0;
+    public final static int DEFAULT_MAX_CONCURRENCY = 5;
+    public final static int MAX_REPORTED_FAILURES = 10;
+    // Conflicted or throttled submissions of one assignment before it counts as failed
+    public final static int MAX_REQUEUE_ATTEMPTS = 10;
+    public final static String REQUEUE_ATTEMPTS_EXHAUSTED = "Still conflicted or throttled after %d attempts: %s";
+    // First status poll of a workflow until this container has learned how long they take
+    public final static long ASSIGNMENT_STATUS_EXPECTED_MILLIS = 2000;
+    public final static String FAILED_WORKFLOW_REQUEST = "Request %s failed due to: %s";
+}
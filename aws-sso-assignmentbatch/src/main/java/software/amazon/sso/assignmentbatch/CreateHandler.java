@@ -0,0 +1,108 @@
+package software.amazon.sso.assignmentbatch;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.SsoAdminException;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.assignmentbatch.actionProxy.AssignmentBatchProxy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static software.amazon.sso.assignmentbatch.Constants.RETRY_ATTEMPTS;
+
+/**
+ * Creates every target and principal pair of the batch. Each invocation polls the creation requests in flight
+ * and submits pending ones up to MaxConcurrency; if any assignment fails, the ones already created are deleted
+ * again before the batch reports a single failure.
+ */
+public class CreateHandler extends BaseHandlerStd {
+    private Logger logger;
+
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<SsoAdminClient> proxyClient,
+            final Logger logger) {
+
+        this.logger = logger;
+
+        ResourceModel model = request.getDesiredResourceState();
+
+        if (!callbackContext.isHandlerInvoked()) {
+            callbackContext.setHandlerInvoked(true);
+            callbackContext.setRetryAttempts(RETRY_ATTEMPTS);
+            callbackContext.setPendingAssignments(BatchAssignment.keysOf(model));
+            if (model.getBatchId() == null) {
+                model.setBatchId(BatchIdentifier.of(model));
+            }
+        }
+
+        AssignmentBatchProxy batchProxy = new AssignmentBatchProxy(proxy, proxyClient, logger, model.getMaxConcurrency());
+
+        boolean throttled;
+        try {
+            if (!callbackContext.isPreCheckCompleted()) {
+                Set<String> existing = batchProxy.listExistingAssignments(model.getInstanceArn(), model.getPermissionSetArn(), model.getTargetIds());
+                List<String> alreadyAssigned = callbackContext.getPendingAssignments().stream()
+                        .filter(existing::contains)
+                        .collect(Collectors.toList());
+                if (!alreadyAssigned.isEmpty()) {
+                    return ProgressEvent.defaultFailureHandler(new CfnAlreadyExistsException(ResourceModel.TYPE_NAME,
+                            String.format("Assignment %s already exists. Can't process creation.", alreadyAssigned.get(0))), HandlerErrorCode.AlreadyExists);
+                }
+                callbackContext.setPreCheckCompleted(true);
+                logger.log("Assignment batch pre-existence check complete.");
+            }
+
+            throttled = batchProxy.advance(model, callbackContext, callbackContext.isRollbackStarted());
+            if (!callbackContext.isRollbackStarted() && !callbackContext.getFailedAssignments().isEmpty()) {
+                // The batch fails as a whole, so nothing more is created once one assignment has failed
+                callbackContext.getPendingAssignments().clear();
+            }
+            if (shouldRollBack(callbackContext)) {
+                logger.log(String.format("Rolling back %d created assignments after %d failures.",
+                        callbackContext.getCompletedAssignments().size(), callbackContext.getFailedAssignments().size()));
+                callbackContext.setRollbackStarted(true);
+                callbackContext.setPendingAssignments(new ArrayList<>(callbackContext.getCompletedAssignments()));
+                callbackContext.setCompletedAssignments(new ArrayList<>());
+                callbackContext.setRequeuedAssignments(new LinkedHashMap<>());
+                throttled = batchProxy.advance(model, callbackContext, true);
+            }
+        } catch (SsoAdminException e) {
+            return handleBatchError(e, model, callbackContext);
+        }
+
+        if (!callbackContext.isBatchFinished()) {
+            int statusPollSeconds = batchProxy.nextStatusPollSeconds(callbackContext, callbackContext.isRollbackStarted());
+            return ProgressEvent.defaultInProgressHandler(callbackContext,
+                    throttled || statusPollSeconds == 0 ? getBatchPollTime(throttled) : statusPollSeconds, model);
+        }
+
+        int total = BatchAssignment.keysOf(model).size();
+        if (!callbackContext.getFailedAssignments().isEmpty()) {
+            return batchFailure(callbackContext.getFailedAssignments(), total,
+                    String.format(". Rolled back %d created assignments.", callbackContext.getCompletedAssignments().size()));
+        }
+
+        logger.log(String.format("%s [%s] created %d assignments.", ResourceModel.TYPE_NAME, model.getBatchId(), total));
+        // Every assignment was confirmed by its creation status, so there is nothing a read would add
+        return ProgressEvent.defaultSuccessHandler(model);
+    }
+
+    private boolean shouldRollBack(CallbackContext context) {
+        return context.isBatchFinished()
+                && !context.isRollbackStarted()
+                && !context.getFailedAssignments().isEmpty()
+                && !context.getCompletedAssignments().isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package software.amazon.sso.assignmentbatch;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.SsoAdminException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.assignmentbatch.actionProxy.AssignmentBatchProxy;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static software.amazon.sso.assignmentbatch.Constants.RETRY_ATTEMPTS;
+
+/**
+ * Deletes the assignments of the batch that still exist, polling and submitting deletion requests the same
+ * way the create handler does.
+ */
+public class DeleteHandler extends BaseHandlerStd {
+    private Logger logger;
+
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<SsoAdminClient> proxyClient,
+            final Logger logger) {
+
+        this.logger = logger;
+
+        ResourceModel model = BatchIdentifier.resolve(request.getDesiredResourceState());
+        if (model == null) {
+            return ProgressEvent.defaultFailureHandler(new CfnNotFoundException(ResourceModel.TYPE_NAME,
+                    "Assignment batch not exist any more. Can't process deletion."), HandlerErrorCode.NotFound);
+        }
+
+        if (!callbackContext.isHandlerInvoked()) {
+            callbackContext.setHandlerInvoked(true);
+            callbackContext.setRetryAttempts(RETRY_ATTEMPTS);
+        }
+
+        AssignmentBatchProxy batchProxy = new AssignmentBatchProxy(proxy, proxyClient, logger, model.getMaxConcurrency());
+
+        boolean throttled;
+        try {
+            if (!callbackContext.isPreCheckCompleted()) {
+                Set<String> existing = batchProxy.listExistingAssignments(model.getInstanceArn(), model.getPermissionSetArn(), model.getTargetIds());
+                List<String> assigned = BatchAssignment.keysOf(model).stream()
+                        .filter(existing::contains)
+                        .collect(Collectors.toList());
+                if (assigned.isEmpty()) {
+                    return ProgressEvent.defaultFailureHandler(new CfnNotFoundException(ResourceModel.TYPE_NAME,
+                            "Assignment batch not exist any more. Can't process deletion."), HandlerErrorCode.NotFound);
+                }
+                callbackContext.setPendingAssignments(assigned);
+                callbackContext.setPreCheckCompleted(true);
+                logger.log("Assignment batch pre-existence check complete.");
+            }
+
+            throttled = batchProxy.advance(model, callbackContext, true);
+        } catch (SsoAdminException e) {
+            return handleBatchError(e, model, callbackContext);
+        }
+
+        if (!callbackContext.isBatchFinished()) {
+            int statusPollSeconds = batchProxy.nextStatusPollSeconds(callbackContext, true);
+            return ProgressEvent.defaultInProgressHandler(callbackContext,
+                    throttled || statusPollSeconds == 0 ? getBatchPollTime(throttled) : statusPollSeconds, model);
+        }
+
+        if (!callbackContext.getFailedAssignments().isEmpty()) {
+            return batchFailure(callbackContext.getFailedAssignments(), BatchAssignment.keysOf(model).size(), ".");
+        }
+
+        logger.log(String.format("%s [%s] deleted %d assignments.", ResourceModel.TYPE_NAME, model.getBatchId(),
+                callbackContext.getCompletedAssignments().size()));
+        return ProgressEvent.defaultSuccessHandler(null);
+    }
+}
@@ -0,0 +1,109 @@
+package software.amazon.sso.assignmentbatch;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.SsoAdminException;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.assignmentbatch.actionProxy.AssignmentBatchProxy;
+import software.amazon.sso.commons.WaitScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static software.amazon.sso.assignmentbatch.Constants.RETRY_ATTEMPTS;
+import static software.amazon.sso.assignmentbatch.Constants.RETRY_ATTEMPTS_ZERO;
+
+/**
+ * Reads the batch back with one paginated listing per target account. The model reports the targets and
+ * principals that still hold at least one assignment of the batch.
+ */
+public class ReadHandler extends BaseHandlerStd {
+    private static final String THROTTLE_MESSAGE = "Read request got throttled. Please add DependsOn attribute if you have large number of AWS SSO owned resources";
+    private static final String ISE_MESSAGE = "Something went wrong while performing READ call";
+    private static final String NOT_FOUND_MESSAGE = "Assignment batch not exists for given entity.";
+    private Logger logger;
+
+    protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final ProxyClient<SsoAdminClient> proxyClient,
+            final Logger logger) {
+
+        this.logger = logger;
+
+        ResourceModel model = BatchIdentifier.resolve(request.getDesiredResourceState());
+        if (model == null) {
+            return ProgressEvent.defaultFailureHandler(new CfnNotFoundException(ResourceModel.TYPE_NAME, NOT_FOUND_MESSAGE), HandlerErrorCode.NotFound);
+        }
+
+        AssignmentBatchProxy batchProxy = new AssignmentBatchProxy(proxy, proxyClient, logger, model.getMaxConcurrency());
+
+        Set<String> existing = null;
+        int retryThrottlingAttempts = RETRY_ATTEMPTS;
+        int retryISEAttempts = RETRY_ATTEMPTS;
+        while (existing == null && retryISEAttempts > RETRY_ATTEMPTS_ZERO && retryThrottlingAttempts > RETRY_ATTEMPTS_ZERO) {
+            try {
+                existing = batchProxy.listExistingAssignments(model.getInstanceArn(), model.getPermissionSetArn(), model.getTargetIds());
+            } catch (ThrottlingException te) {
+                retryThrottlingAttempts = decrementAndWait(retryThrottlingAttempts);
+            } catch (InternalServerException ise) {
+                retryISEAttempts = decrementAndWait(retryISEAttempts);
+            } catch (SsoAdminException e) {
+                return ProgressEvent.defaultFailureHandler(e, mapExceptionToHandlerCode(e));
+            }
+        }
+        if (retryThrottlingAttempts == RETRY_ATTEMPTS_ZERO) {
+            return ProgressEvent.defaultFailureHandler(ThrottlingException.builder().message(THROTTLE_MESSAGE).build(), HandlerErrorCode.Throttling);
+        } else if (retryISEAttempts == RETRY_ATTEMPTS_ZERO) {
+            return ProgressEvent.defaultFailureHandler(InternalServerException.builder().message(ISE_MESSAGE).build(), HandlerErrorCode.InternalFailure);
+        }
+
+        List<String> targetIds = new ArrayList<>();
+        List<Principal> principals = new ArrayList<>();
+        for (String targetId : model.getTargetIds()) {
+            for (Principal principal : model.getPrincipals()) {
+                if (existing.contains(new BatchAssignment(targetId, principal.getPrincipalType(), principal.getPrincipalId()).toKey())) {
+                    if (!targetIds.contains(targetId)) {
+                        targetIds.add(targetId);
+                    }
+                    if (!principals.contains(principal)) {
+                        principals.add(principal);
+                    }
+                }
+            }
+        }
+        if (targetIds.isEmpty()) {
+            return ProgressEvent.defaultFailureHandler(new CfnNotFoundException(ResourceModel.TYPE_NAME, NOT_FOUND_MESSAGE), HandlerErrorCode.NotFound);
+        }
+
+        logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+        return ProgressEvent.defaultSuccessHandler(ResourceModel.builder()
+                .batchId(model.getBatchId())
+                .instanceArn(model.getInstanceArn())
+                .targetIds(targetIds)
+                .targetType(model.getTargetType())
+                .permissionSetArn(model.getPermissionSetArn())
+                .principals(principals)
+                .maxConcurrency(model.getMaxConcurrency())
+                .build());
+    }
+
+    /**
+     * Decrement context and wait for some time
+     * Should wait between 1 and 5 second in case got throttled.
+     */
+    private int decrementAndWait(int attempts) {
+        int timeToWait = SECURE_RANDOM.ints(1000, 5000).findFirst().getAsInt();
+        // Out of attempts once the wait no longer fits in the invocation, so the read fails instead of timing out
+        return WaitScheduler.forInvocation().awaitIfFits(timeToWait) ? attempts - 1 : RETRY_ATTEMPTS_ZERO;
+    }
+}
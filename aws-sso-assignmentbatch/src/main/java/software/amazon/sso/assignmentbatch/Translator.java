@@ -0,0 +1,73 @@
+package software.amazon.sso.assignmentbatch;
+
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+
+/**
+ * This class is a centralized placeholder for
+ *  - api request construction
+ *  - object translation to/from aws sdk
+ *  - resource model construction for read/list handlers
+ */
+
+public class Translator {
+
+  /**
+   * Request to create one assignment of the batch
+   */
+  public static CreateAccountAssignmentRequest translateToCreateRequest(ResourceModel model, BatchAssignment assignment) {
+    return CreateAccountAssignmentRequest.builder()
+            .instanceArn(model.getInstanceArn())
+            .permissionSetArn(model.getPermissionSetArn())
+            .targetType(model.getTargetType())
+            .targetId(assignment.getTargetId())
+            .principalType(assignment.getPrincipalType())
+            .principalId(assignment.getPrincipalId())
+            .build();
+  }
+
+  /**
+   * Request to delete one assignment of the batch
+   */
+  public static DeleteAccountAssignmentRequest translateToDeleteRequest(ResourceModel model, BatchAssignment assignment) {
+    return DeleteAccountAssignmentRequest.builder()
+            .instanceArn(model.getInstanceArn())
+            .permissionSetArn(model.getPermissionSetArn())
+            .targetType(model.getTargetType())
+            .targetId(assignment.getTargetId())
+            .principalType(assignment.getPrincipalType())
+            .principalId(assignment.getPrincipalId())
+            .build();
+  }
+
+  public static DescribeAccountAssignmentCreationStatusRequest translateToDescribeCreationStatusRequest(String instanceArn, String requestId) {
+    return DescribeAccountAssignmentCreationStatusRequest.builder()
+            .instanceArn(instanceArn)
+            .accountAssignmentCreationRequestId(requestId)
+            .build();
+  }
+
+  public static DescribeAccountAssignmentDeletionStatusRequest translateToDescribeDeletionStatusRequest(String instanceArn, String requestId) {
+    return DescribeAccountAssignmentDeletionStatusRequest.builder()
+            .instanceArn(instanceArn)
+            .accountAssignmentDeletionRequestId(requestId)
+            .build();
+  }
+
+  /**
+   * Request to list the assignments of a permission set in one account
+   * @param nextToken token passed to the aws service list resources request
+   * @return awsRequest the aws service request to list resources within aws account
+   */
+  public static ListAccountAssignmentsRequest translateToListRequest(String instanceArn, String targetId, String permissionSetArn, String nextToken) {
+    return ListAccountAssignmentsRequest.builder()
+            .accountId(targetId)
+            .instanceArn(instanceArn)
+            .permissionSetArn(permissionSetArn)
+            .nextToken(nextToken)
+            .build();
+  }
+}
@@ -0,0 +1,295 @@
+package software.amazon.sso.assignmentbatch.actionProxy;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
+import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.SsoAdminException;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.sso.assignmentbatch.BatchAssignment;
+import software.amazon.sso.assignmentbatch.CallbackContext;
+import software.amazon.sso.assignmentbatch.ResourceModel;
+import software.amazon.sso.commons.StatusPoller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static software.amazon.sso.assignmentbatch.Constants.ASSIGNMENT_STATUS_EXPECTED_MILLIS;
+import static software.amazon.sso.assignmentbatch.Constants.DEFAULT_MAX_CONCURRENCY;
+import static software.amazon.sso.assignmentbatch.Constants.FAILED_WORKFLOW_REQUEST;
+import static software.amazon.sso.assignmentbatch.Constants.MAX_REQUEUE_ATTEMPTS;
+import static software.amazon.sso.assignmentbatch.Constants.REQUEUE_ATTEMPTS_EXHAUSTED;
+import static software.amazon.sso.assignmentbatch.Constants.RETRY_ATTEMPTS_ZERO;
+import static software.amazon.sso.assignmentbatch.Translator.translateToCreateRequest;
+import static software.amazon.sso.assignmentbatch.Translator.translateToDeleteRequest;
+import static software.amazon.sso.assignmentbatch.Translator.translateToDescribeCreationStatusRequest;
+import static software.amazon.sso.assignmentbatch.Translator.translateToDescribeDeletionStatusRequest;
+import static software.amazon.sso.assignmentbatch.Translator.translateToListRequest;
+
+/**
+ * Fans the assignment calls of a batch out over a worker pool. At most {@code maxConcurrency} calls run at once,
+ * and at most {@code maxConcurrency} creation or deletion requests are left in flight between invocations.
+ */
+public class AssignmentBatchProxy {
+
+    private final AmazonWebServicesClientProxy proxy;
+    private final ProxyClient<SsoAdminClient> proxyClient;
+    private final Logger logger;
+    private final int maxConcurrency;
+    private final StatusPoller creationPoller = new StatusPoller("CreateAccountAssignment", ASSIGNMENT_STATUS_EXPECTED_MILLIS);
+    private final StatusPoller deletionPoller = new StatusPoller("DeleteAccountAssignment", ASSIGNMENT_STATUS_EXPECTED_MILLIS);
+
+    public AssignmentBatchProxy(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient, Logger logger, Integer maxConcurrency) {
+        this.proxy = proxy;
+        this.proxyClient = proxyClient;
+        this.logger = logger;
+        this.maxConcurrency = maxConcurrency == null ? DEFAULT_MAX_CONCURRENCY : maxConcurrency;
+    }
+
+    /**
+     * Keys of all assignments of the permission set in the given accounts, listing one account per worker.
+     */
+    public Set<String> listExistingAssignments(String instanceArn, String permissionSetArn, Collection<String> targetIds) {
+        Set<String> existing = new HashSet<>();
+        for (List<String> keys : runBounded(new ArrayList<>(targetIds), targetId -> listAccount(instanceArn, targetId, permissionSetArn)).values()) {
+            existing.addAll(keys);
+        }
+        return existing;
+    }
+
+    /**
+     * Moves the batch one round forward: polls the requests in flight, then submits pending assignments into
+     * the free slots. Retryable submission errors put the assignment back in the queue, a conflicted or throttled one
+     * at most {@code MAX_REQUEUE_ATTEMPTS} times. A status that cannot be described fails the assignment.
+     *
+     * @return whether any call was throttled or conflicted, so the caller can back off further
+     */
+    public boolean advance(ResourceModel model, CallbackContext context, boolean deleting) {
+        pollInFlight(model.getInstanceArn(), context, deleting);
+        return submitPending(model, context, deleting);
+    }
+
+    /**
+     * Seconds until the first request in flight is due its next status poll, or 0 if nothing is in flight.
+     */
+    public int nextStatusPollSeconds(CallbackContext context, boolean deleting) {
+        StatusPoller poller = deleting ? deletionPoller : creationPoller;
+        long delay = Long.MAX_VALUE;
+        for (long since : context.getInFlightSince().values()) {
+            delay = Math.min(delay, poller.nextDelayMillis(since));
+        }
+        return delay == Long.MAX_VALUE ? 0 : StatusPoller.toSeconds(delay);
+    }
+
+    private void pollInFlight(String instanceArn, CallbackContext context, boolean deleting) {
+        Map<String, String> inFlight = context.getInFlightRequests();
+        Map<String, CallResult> polls = runBounded(new ArrayList<>(inFlight.keySet()),
+                key -> describeStatus(instanceArn, inFlight.get(key), deleting));
+        StatusPoller poller = deleting ? deletionPoller : creationPoller;
+        Map<String, Long> inFlightSince = context.getInFlightSince();
+
+        for (Map.Entry<String, CallResult> entry : polls.entrySet()) {
+            String key = entry.getKey();
+            CallResult poll = entry.getValue();
+            if (poll.error != null) {
+                if (poll.error instanceof ThrottlingException || poll.error instanceof InternalServerException) {
+                    // Still in flight, polled again on the next round
+                    continue;
+                }
+                String requestId = inFlight.remove(key);
+                inFlightSince.remove(key);
+                context.getFailedAssignments().put(key, String.format(FAILED_WORKFLOW_REQUEST, requestId, poll.error.getMessage()));
+                if (!deleting) {
+                    // The creation may still go through, so it is rolled back along with the ones that did
+                    context.getCompletedAssignments().add(key);
+                }
+                continue;
+            }
+            AccountAssignmentOperationStatus status = poll.status;
+            if (status == null) {
+                continue;
+            }
+            if (status.status() == StatusValues.SUCCEEDED) {
+                inFlight.remove(key);
+                Long since = inFlightSince.remove(key);
+                if (since != null) {
+                    poller.completed(since, context.getLastStatusPollAt(), logger);
+                }
+                context.getCompletedAssignments().add(key);
+            } else if (status.status() == StatusValues.FAILED) {
+                String requestId = inFlight.remove(key);
+                inFlightSince.remove(key);
+                context.getFailedAssignments().put(key, String.format(FAILED_WORKFLOW_REQUEST, requestId, status.failureReason()));
+            }
+        }
+        context.setLastStatusPollAt(poller.now());
+    }
+
+    private boolean submitPending(ResourceModel model, CallbackContext context, boolean deleting) {
+        List<String> pending = context.getPendingAssignments();
+        int slots = Math.min(maxConcurrency - context.getInFlightRequests().size(), pending.size());
+        if (slots <= 0) {
+            return false;
+        }
+        List<String> submitted = new ArrayList<>(pending.subList(0, slots));
+        pending.subList(0, slots).clear();
+
+        Map<String, CallResult> submissions = runBounded(submitted, key -> submit(model, BatchAssignment.fromKey(key), deleting));
+
+        boolean throttled = false;
+        boolean iseSeen = false;
+        for (Map.Entry<String, CallResult> entry : submissions.entrySet()) {
+            String key = entry.getKey();
+            CallResult submission = entry.getValue();
+            if (submission.status != null) {
+                recordSubmittedStatus(context, key, submission.status);
+            } else if (submission.error instanceof ConflictException || submission.error instanceof ThrottlingException) {
+                throttled = true;
+                int requeued = context.getRequeuedAssignments().merge(key, 1, Integer::sum);
+                if (requeued < MAX_REQUEUE_ATTEMPTS) {
+                    pending.add(key);
+                } else {
+                    context.getFailedAssignments().put(key, String.format(REQUEUE_ATTEMPTS_EXHAUSTED, requeued, submission.error.getMessage()));
+                }
+            } else if (submission.error instanceof InternalServerException && context.getRetryAttempts() > RETRY_ATTEMPTS_ZERO) {
+                iseSeen = true;
+                pending.add(key);
+            } else if (deleting && submission.error instanceof ResourceNotFoundException) {
+                context.getCompletedAssignments().add(key);
+            } else {
+                context.getFailedAssignments().put(key, submission.error.getMessage());
+            }
+        }
+        if (iseSeen) {
+            context.decrementRetryAttempts();
+        }
+        logger.log(String.format("Submitted %d assignment %s requests, %d in flight, %d pending.",
+                submitted.size(), deleting ? "deletion" : "creation", context.getInFlightRequests().size(), pending.size()));
+        return throttled;
+    }
+
+    private void recordSubmittedStatus(CallbackContext context, String key, AccountAssignmentOperationStatus status) {
+        if (status.status() == StatusValues.SUCCEEDED) {
+            context.getCompletedAssignments().add(key);
+        } else if (status.status() == StatusValues.FAILED) {
+            context.getFailedAssignments().put(key, String.format(FAILED_WORKFLOW_REQUEST, status.requestId(), status.failureReason()));
+        } else {
+            context.getInFlightRequests().put(key, status.requestId());
+            context.getInFlightSince().put(key, System.currentTimeMillis());
+        }
+    }
+
+    private List<String> listAccount(String instanceArn, String targetId, String permissionSetArn) {
+        List<String> keys = new ArrayList<>();
+        String nextToken = null;
+        do {
+            ListAccountAssignmentsResponse response = proxy.injectCredentialsAndInvokeV2(translateToListRequest(instanceArn, targetId, permissionSetArn, nextToken),
+                    proxyClient.client()::listAccountAssignments);
+            for (AccountAssignment assignment : response.accountAssignments()) {
+                keys.add(new BatchAssignment(assignment.accountId(), assignment.principalTypeAsString(), assignment.principalId()).toKey());
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null && !nextToken.isEmpty());
+        return keys;
+    }
+
+    private CallResult describeStatus(String instanceArn, String requestId, boolean deleting) {
+        try {
+            if (deleting) {
+                return new CallResult(proxy.injectCredentialsAndInvokeV2(translateToDescribeDeletionStatusRequest(instanceArn, requestId),
+                        proxyClient.client()::describeAccountAssignmentDeletionStatus).accountAssignmentDeletionStatus(), null);
+            }
+            return new CallResult(proxy.injectCredentialsAndInvokeV2(translateToDescribeCreationStatusRequest(instanceArn, requestId),
+                    proxyClient.client()::describeAccountAssignmentCreationStatus).accountAssignmentCreationStatus(), null);
+        } catch (SsoAdminException e) {
+            return new CallResult(null, e);
+        }
+    }
+
+    private CallResult submit(ResourceModel model, BatchAssignment assignment, boolean deleting) {
+        try {
+            if (deleting) {
+                return new CallResult(proxy.injectCredentialsAndInvokeV2(translateToDeleteRequest(model, assignment),
+                        proxyClient.client()::deleteAccountAssignment).accountAssignmentDeletionStatus(), null);
+            }
+            return new CallResult(proxy.injectCredentialsAndInvokeV2(translateToCreateRequest(model, assignment),
+                    proxyClient.client()::createAccountAssignment).accountAssignmentCreationStatus(), null);
+        } catch (SsoAdminException e) {
+            return new CallResult(null, e);
+        }
+    }
+
+    /**
+     * Applies {@code call} to every item on a pool of at most {@code maxConcurrency} threads. Results keep the
+     * order of the items; the first failure is rethrown once all calls have been waited for.
+     */
+    private <T, R> Map<T, R> runBounded(List<T> items, Function<T, R> call) {
+        Map<T, R> results = new LinkedHashMap<>();
+        if (items.isEmpty()) {
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, items.size()));
+        try {
+            Map<T, Future<R>> futures = new LinkedHashMap<>();
+            for (T item : items) {
+                futures.put(item, executor.submit(() -> call.apply(item)));
+            }
+            RuntimeException failure = null;
+            for (Map.Entry<T, Future<R>> entry : futures.entrySet()) {
+                try {
+                    results.put(entry.getKey(), await(entry.getValue()));
+                } catch (RuntimeException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CfnInternalFailureException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CfnInternalFailureException(e);
+        }
+    }
+
+    private static final class CallResult {
+        private final AccountAssignmentOperationStatus status;
+        private final SsoAdminException error;
+
+        private CallResult(AccountAssignmentOperationStatus status, SsoAdminException error) {
+            this.status = status;
+            this.error = error;
+        }
+    }
+}
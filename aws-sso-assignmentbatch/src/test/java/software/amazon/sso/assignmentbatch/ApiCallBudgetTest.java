@@ -0,0 +1,223 @@
+package software.amazon.sso.assignmentbatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.commons.CountingProxyClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_CLIENT_REQUEST_TOKEN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_LOGICAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_REQUEST_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID_2;
+
+/**
+ * Upper bounds on the SSO Admin calls each handler makes over all invocations of a successful operation, for a
+ * batch of one principal in two accounts whose assignments of the permission set fill 1, 10 and 100
+ * ListAccountAssignments pages each.
+ */
+public class ApiCallBudgetTest extends AbstractTestBase {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGE_COUNTS = {1, 10, 100};
+    private static final List<String> TARGET_IDS = Arrays.asList(TEST_TARGET_ID, TEST_TARGET_ID_2);
+    private static final int MAX_INVOCATIONS = 10;
+
+    private AmazonWebServicesClientProxy proxy;
+    private CountingProxyClient proxyClient;
+    private final Map<String, List<AccountAssignment>> assignments = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = new CountingProxyClient(proxy);
+        scriptAssignments();
+    }
+
+    @Test
+    public void create_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, false);
+
+            run(new CreateHandler());
+
+            // pre-existence scan, a create and a status poll per assignment
+            int accounts = TARGET_IDS.size();
+            assertWithinBudget("Create", pages, accounts * pages + 2 * accounts);
+        }
+    }
+
+    @Test
+    public void read_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, true);
+
+            run(new ReadHandler());
+
+            assertWithinBudget("Read", pages, TARGET_IDS.size() * pages);
+        }
+    }
+
+    @Test
+    public void update_StaysWithinBudget() {
+        givenAssignmentPages(1, true);
+
+        run(new UpdateHandler());
+
+        assertWithinBudget("Update", 1, 0);
+    }
+
+    @Test
+    public void delete_StaysWithinBudget() {
+        for (int pages : PAGE_COUNTS) {
+            givenAssignmentPages(pages, true);
+
+            run(new DeleteHandler());
+
+            // pre-existence scan, a delete and a status poll per assignment
+            int accounts = TARGET_IDS.size();
+            assertWithinBudget("Delete", pages, accounts * pages + 2 * accounts);
+        }
+    }
+
+    /**
+     * Invokes the handler again with the context it handed back until it is done, as CloudFormation would.
+     */
+    private void run(final BaseHandlerStd handler) {
+        final ResourceHandlerRequest<ResourceModel> request = request();
+        CallbackContext context = new CallbackContext();
+        ProgressEvent<ResourceModel, CallbackContext> response;
+        int invocations = 0;
+        do {
+            response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+            if (response.getCallbackContext() != null) {
+                context = response.getCallbackContext();
+            }
+        } while (response.getStatus() == OperationStatus.IN_PROGRESS && ++invocations < MAX_INVOCATIONS);
+
+        assertThat(response.getStatus()).as("%s: %s", handler.getClass().getSimpleName(), response.getMessage())
+                .isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    private void assertWithinBudget(final String operation, final int pages, final int budget) {
+        assertThat(proxyClient.totalCalls())
+                .as("%s over %d assignment pages per account made %s", operation, pages, proxyClient.callCounts())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * Fills {@code pages} pages of each account, the last slot taken by the principal of the batch when
+     * {@code assigned} and left free for it otherwise.
+     */
+    private void givenAssignmentPages(final int pages, final boolean assigned) {
+        proxyClient.reset();
+        assignments.clear();
+        for (String targetId : TARGET_IDS) {
+            List<AccountAssignment> account = new ArrayList<>();
+            for (int i = 0; i < pages * PAGE_SIZE - 1; i++) {
+                account.add(assignment(targetId, "other-principal-" + i));
+            }
+            if (assigned) {
+                account.add(assignment(targetId, TEST_PRINCIPAL_ID));
+            }
+            assignments.put(targetId, account);
+        }
+    }
+
+    private static AccountAssignment assignment(final String targetId, final String principalId) {
+        return AccountAssignment.builder()
+                .accountId(targetId)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .principalType(PrincipalType.USER)
+                .principalId(principalId)
+                .build();
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .targetType(TargetType.AWS_ACCOUNT.toString())
+                        .targetIds(new ArrayList<>(TARGET_IDS))
+                        .principals(Collections.singletonList(Principal.builder()
+                                .principalType(PrincipalType.USER.toString())
+                                .principalId(TEST_PRINCIPAL_ID)
+                                .build()))
+                        .build())
+                .logicalResourceIdentifier(TEST_LOGICAL_ID)
+                .clientRequestToken(TEST_CLIENT_REQUEST_TOKEN)
+                .build();
+    }
+
+    private void scriptAssignments() {
+        final AccountAssignmentOperationStatus inProgress = AccountAssignmentOperationStatus.builder()
+                .requestId(TEST_REQUEST_ID)
+                .status(StatusValues.IN_PROGRESS)
+                .build();
+        final AccountAssignmentOperationStatus succeeded = inProgress.toBuilder().status(StatusValues.SUCCEEDED).build();
+
+        proxyClient
+                .on(ListAccountAssignmentsRequest.class, request -> {
+                    List<AccountAssignment> account = assignments.get(request.accountId());
+                    synchronized (account) {
+                        int offset = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+                        int end = Math.min(offset + PAGE_SIZE, account.size());
+                        return ListAccountAssignmentsResponse.builder()
+                                .accountAssignments(new ArrayList<>(account.subList(Math.min(offset, end), end)))
+                                .nextToken(end < account.size() ? String.valueOf(end) : null)
+                                .build();
+                    }
+                })
+                .on(CreateAccountAssignmentRequest.class, request -> {
+                    List<AccountAssignment> account = assignments.get(request.targetId());
+                    synchronized (account) {
+                        account.add(assignment(request.targetId(), request.principalId()));
+                    }
+                    return CreateAccountAssignmentResponse.builder().accountAssignmentCreationStatus(inProgress).build();
+                })
+                .on(DescribeAccountAssignmentCreationStatusRequest.class, request -> DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(succeeded)
+                        .build())
+                .on(DeleteAccountAssignmentRequest.class, request -> {
+                    List<AccountAssignment> account = assignments.get(request.targetId());
+                    synchronized (account) {
+                        account.removeIf(assignment -> assignment.principalId().equals(request.principalId()));
+                    }
+                    return DeleteAccountAssignmentResponse.builder().accountAssignmentDeletionStatus(inProgress).build();
+                })
+                .on(DescribeAccountAssignmentDeletionStatusRequest.class, request -> DescribeAccountAssignmentDeletionStatusResponse.builder()
+                        .accountAssignmentDeletionStatus(succeeded)
+                        .build());
+    }
+}
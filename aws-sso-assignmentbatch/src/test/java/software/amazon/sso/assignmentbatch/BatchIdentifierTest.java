@@ -0,0 +1,64 @@
+package software.amazon.sso.assignmentbatch;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID_2;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID_2;
+
+public class BatchIdentifierTest {
+
+    private static final Principal USER = Principal.builder().principalType(PrincipalType.USER.toString()).principalId(TEST_PRINCIPAL_ID).build();
+    private static final Principal GROUP = Principal.builder().principalType(PrincipalType.GROUP.toString()).principalId(TEST_PRINCIPAL_ID_2).build();
+
+    @Test
+    public void of_IgnoresOrderOfTargetsAndPrincipals() {
+        final String batchId = BatchIdentifier.of(model(Arrays.asList(TEST_TARGET_ID, TEST_TARGET_ID_2), Arrays.asList(USER, GROUP)));
+
+        assertThat(BatchIdentifier.of(model(Arrays.asList(TEST_TARGET_ID_2, TEST_TARGET_ID), Arrays.asList(GROUP, USER))))
+                .isEqualTo(batchId);
+        assertThat(BatchIdentifier.of(model(Arrays.asList(TEST_TARGET_ID), Arrays.asList(USER, GROUP))))
+                .isNotEqualTo(batchId);
+    }
+
+    @Test
+    public void of_StaysShortForLargeBatches() {
+        final List<String> targetIds = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            targetIds.add(String.format("%012d", i));
+        }
+
+        assertThat(BatchIdentifier.of(model(targetIds, Arrays.asList(USER, GROUP))))
+                .startsWith("batch-")
+                .hasSize("batch-".length() + 32);
+    }
+
+    @Test
+    public void resolve_RequiresMembership() {
+        final ResourceModel model = model(Arrays.asList(TEST_TARGET_ID), Arrays.asList(USER));
+
+        assertThat(BatchIdentifier.resolve(model)).isSameAs(model);
+        assertThat(model.getBatchId()).isEqualTo(BatchIdentifier.of(model));
+        assertThat(BatchIdentifier.resolve(ResourceModel.builder().batchId(model.getBatchId()).build())).isNull();
+    }
+
+    private ResourceModel model(List<String> targetIds, List<Principal> principals) {
+        return ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetIds(targetIds)
+                .principals(principals)
+                .build();
+    }
+}
@@ -0,0 +1,330 @@
+package software.amazon.sso.assignmentbatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccessDeniedException;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_CLIENT_REQUEST_TOKEN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_LOGICAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_REQUEST_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID_2;
+
+@ExtendWith(MockitoExtension.class)
+public class CreateHandlerTest extends AbstractTestBase {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<SsoAdminClient> proxyClient;
+
+    @Mock
+    SsoAdminClient sso;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sso = mock(SsoAdminClient.class);
+        proxyClient = MOCK_PROXY(proxy, sso);
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = buildModel(1);
+
+        final ResourceHandlerRequest<ResourceModel> request = buildRequest(model);
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID_2), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID), proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(status(StatusValues.IN_PROGRESS))
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID_2), proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(status(StatusValues.SUCCEEDED))
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .accountAssignmentCreationRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenReturn(DescribeAccountAssignmentCreationStatusResponse.builder()
+                        .accountAssignmentCreationStatus(status(StatusValues.SUCCEEDED))
+                        .build());
+
+        final CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(firstResponse).isNotNull();
+        assertThat(firstResponse.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(context.getInFlightRequests()).hasSize(1);
+        assertThat(context.getPendingAssignments()).hasSize(1);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel().getBatchId()).isEqualTo(BatchIdentifier.of(buildModel(1)));
+        assertThat(response.getResourceModel().getTargetIds()).containsExactly(TEST_TARGET_ID, TEST_TARGET_ID_2);
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_AlreadyExists() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = buildModel(2);
+
+        final ResourceHandlerRequest<ResourceModel> request = buildRequest(model);
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID_2), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().accountAssignments(assignment(TEST_TARGET_ID_2)).build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        verify(sso, never()).createAccountAssignment(any(CreateAccountAssignmentRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Retryable_Throttled() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = buildModel(2);
+
+        final ResourceHandlerRequest<ResourceModel> request = buildRequest(model);
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID), proxyClient.client()::listAccountAssignments))
+                .thenThrow(ThrottlingException.builder().message("Operation throttled.").build());
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID_2), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        final CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(60, 300);
+        assertThat(context.isPreCheckCompleted()).isFalse();
+        verify(sso, never()).createAccountAssignment(any(CreateAccountAssignmentRequest.class));
+    }
+
+    @Test
+    public void handleRequest_PartialFailure_RolledBack() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = buildModel(2);
+
+        final ResourceHandlerRequest<ResourceModel> request = buildRequest(model);
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID_2), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID), proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(status(StatusValues.SUCCEEDED))
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID_2), proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.FAILED)
+                                .requestId(TEST_REQUEST_ID)
+                                .failureReason("Account is suspended.")
+                                .build())
+                        .build());
+
+        DeleteAccountAssignmentRequest rollbackRequest = DeleteAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(rollbackRequest, proxyClient.client()::deleteAccountAssignment))
+                .thenReturn(DeleteAccountAssignmentResponse.builder()
+                        .accountAssignmentDeletionStatus(status(StatusValues.SUCCEEDED))
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+        assertThat(response.getMessage()).contains("1 of 2 assignments failed");
+        assertThat(response.getMessage()).contains("Account is suspended.");
+        assertThat(response.getMessage()).contains("Rolled back 1 created assignments");
+        verify(sso).deleteAccountAssignment(rollbackRequest);
+    }
+
+    @Test
+    public void handleRequest_StatusDescribeFailure_RolledBack() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = buildModel(2);
+
+        final ResourceHandlerRequest<ResourceModel> request = buildRequest(model);
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID_2), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID), proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(status(StatusValues.IN_PROGRESS))
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID_2), proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(status(StatusValues.SUCCEEDED))
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .accountAssignmentCreationRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenThrow(AccessDeniedException.builder().message("Not authorized.").build());
+        when(proxy.injectCredentialsAndInvokeV2(deleteRequest(TEST_TARGET_ID), proxyClient.client()::deleteAccountAssignment))
+                .thenReturn(DeleteAccountAssignmentResponse.builder()
+                        .accountAssignmentDeletionStatus(status(StatusValues.SUCCEEDED))
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(deleteRequest(TEST_TARGET_ID_2), proxyClient.client()::deleteAccountAssignment))
+                .thenReturn(DeleteAccountAssignmentResponse.builder()
+                        .accountAssignmentDeletionStatus(status(StatusValues.SUCCEEDED))
+                        .build());
+
+        final CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(firstResponse.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        // The assignment whose status could not be read is deleted along with the one that was created
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+        assertThat(response.getMessage()).contains("Not authorized.");
+        assertThat(response.getMessage()).contains("Rolled back 2 created assignments");
+        verify(sso).deleteAccountAssignment(deleteRequest(TEST_TARGET_ID));
+        verify(sso).deleteAccountAssignment(deleteRequest(TEST_TARGET_ID_2));
+    }
+
+    private ResourceModel buildModel(int maxConcurrency) {
+        return ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetIds(Arrays.asList(TEST_TARGET_ID, TEST_TARGET_ID_2))
+                .principals(Collections.singletonList(Principal.builder()
+                        .principalType(PrincipalType.USER.toString())
+                        .principalId(TEST_PRINCIPAL_ID)
+                        .build()))
+                .maxConcurrency(maxConcurrency)
+                .build();
+    }
+
+    private ResourceHandlerRequest<ResourceModel> buildRequest(ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .logicalResourceIdentifier(TEST_LOGICAL_ID)
+                .clientRequestToken(TEST_CLIENT_REQUEST_TOKEN)
+                .build();
+    }
+
+    private ListAccountAssignmentsRequest listRequest(String targetId) {
+        return ListAccountAssignmentsRequest.builder()
+                .accountId(targetId)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+    }
+
+    private CreateAccountAssignmentRequest createRequest(String targetId) {
+        return CreateAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(targetId)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+    }
+
+    private DeleteAccountAssignmentRequest deleteRequest(String targetId) {
+        return DeleteAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(targetId)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+    }
+
+    private AccountAssignment assignment(String targetId) {
+        return AccountAssignment.builder()
+                .accountId(targetId)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+    }
+
+    private AccountAssignmentOperationStatus status(StatusValues status) {
+        return AccountAssignmentOperationStatus.builder()
+                .status(status)
+                .requestId(TEST_REQUEST_ID)
+                .build();
+    }
+}
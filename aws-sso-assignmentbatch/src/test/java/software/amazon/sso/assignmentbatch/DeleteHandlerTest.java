@@ -0,0 +1,163 @@
+package software.amazon.sso.assignmentbatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID_2;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_REQUEST_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID;
+
+@ExtendWith(MockitoExtension.class)
+public class DeleteHandlerTest extends AbstractTestBase {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<SsoAdminClient> proxyClient;
+
+    @Mock
+    SsoAdminClient sso;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sso = mock(SsoAdminClient.class);
+        proxyClient = MOCK_PROXY(proxy, sso);
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceModel model = buildModel();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        // Only the first principal is still assigned, the second one is skipped
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(AccountAssignment.builder()
+                                .accountId(TEST_TARGET_ID)
+                                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                                .principalType(PrincipalType.USER.toString())
+                                .principalId(TEST_PRINCIPAL_ID)
+                                .build())
+                        .build());
+
+        DeleteAccountAssignmentRequest deleteRequest = DeleteAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(deleteRequest, proxyClient.client()::deleteAccountAssignment))
+                .thenReturn(DeleteAccountAssignmentResponse.builder()
+                        .accountAssignmentDeletionStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.IN_PROGRESS)
+                                .requestId(TEST_REQUEST_ID)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentDeletionStatusRequest.builder()
+                .accountAssignmentDeletionRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentDeletionStatus))
+                .thenReturn(DescribeAccountAssignmentDeletionStatusResponse.builder()
+                        .accountAssignmentDeletionStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.SUCCEEDED)
+                                .build())
+                        .build());
+
+        final CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> firstResponse = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(firstResponse.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(context.getInFlightRequests()).containsValue(TEST_REQUEST_ID);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isNull();
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_NotFound() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(buildModel())
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        verify(sso, never()).deleteAccountAssignment(any(DeleteAccountAssignmentRequest.class));
+    }
+
+    private ResourceModel buildModel() {
+        return ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetIds(Arrays.asList(TEST_TARGET_ID))
+                .principals(Arrays.asList(
+                        Principal.builder().principalType(PrincipalType.USER.toString()).principalId(TEST_PRINCIPAL_ID).build(),
+                        Principal.builder().principalType(PrincipalType.GROUP.toString()).principalId(TEST_PRINCIPAL_ID_2).build()))
+                .build();
+    }
+
+    private ListAccountAssignmentsRequest listRequest() {
+        return ListAccountAssignmentsRequest.builder()
+                .accountId(TEST_TARGET_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package software.amazon.sso.assignmentbatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID_2;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID_2;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadHandlerTest extends AbstractTestBase {
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<SsoAdminClient> proxyClient;
+
+    @Mock
+    SsoAdminClient sso;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sso = mock(SsoAdminClient.class);
+        proxyClient = MOCK_PROXY(proxy, sso);
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        final ReadHandler handler = new ReadHandler();
+
+        final Principal user = Principal.builder().principalType(PrincipalType.USER.toString()).principalId(TEST_PRINCIPAL_ID).build();
+        final Principal group = Principal.builder().principalType(PrincipalType.GROUP.toString()).principalId(TEST_PRINCIPAL_ID_2).build();
+
+        final ResourceModel model = ResourceModel.builder()
+                .batchId("batch-id")
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetIds(Arrays.asList(TEST_TARGET_ID, TEST_TARGET_ID_2))
+                .principals(Arrays.asList(user, group))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID, null), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_TARGET_ID, user))
+                        .nextToken("nextToken")
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID, "nextToken"), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder()
+                        .accountAssignments(assignment(TEST_TARGET_ID, group))
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID_2, null), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel().getBatchId()).isEqualTo("batch-id");
+        assertThat(response.getResourceModel().getTargetIds()).containsExactly(TEST_TARGET_ID);
+        assertThat(response.getResourceModel().getPrincipals()).containsExactly(user, group);
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_NotFound() {
+        final ReadHandler handler = new ReadHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetIds(Arrays.asList(TEST_TARGET_ID))
+                .principals(Arrays.asList(Principal.builder().principalType(PrincipalType.USER.toString()).principalId(TEST_PRINCIPAL_ID).build()))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(TEST_TARGET_ID, null), proxyClient.client()::listAccountAssignments))
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isNull();
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void handleRequest_BatchIdWithoutMembership_NotFound() {
+        final ReadHandler handler = new ReadHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().batchId("batch-id").build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    private ListAccountAssignmentsRequest listRequest(String targetId, String nextToken) {
+        return ListAccountAssignmentsRequest.builder()
+                .accountId(targetId)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private AccountAssignment assignment(String targetId, Principal principal) {
+        return AccountAssignment.builder()
+                .accountId(targetId)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .principalType(principal.getPrincipalType())
+                .principalId(principal.getPrincipalId())
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package software.amazon.sso.assignmentbatch;
+
+public class TestConstants {
+    public final static String TEST_SSO_INSTANCE_ARN = "arn:aws:sso:::instance/ins-1a5c249c9a03b908";
+    public final static String TEST_PERMISSION_SET_ARN = "arn:aws:sso:::permissionSet/ssoins-1a5c249c9a03b908/ps-d1fc7a84aead19b9";
+    public final static String TEST_TARGET_ID = "089648181234";
+    public final static String TEST_TARGET_ID_2 = "089648185678";
+    public final static String TEST_PRINCIPAL_ID = "test-principal-id";
+    public final static String TEST_PRINCIPAL_ID_2 = "test-principal-id-2";
+    public final static String TEST_REQUEST_ID = "test_request_id";
+    public final static String TEST_REQUEST_ID_2 = "test_request_id_2";
+    public final static String TEST_LOGICAL_ID = "TestAssignmentBatch";
+    public final static String TEST_CLIENT_REQUEST_TOKEN = "test-client-request-token";
+}
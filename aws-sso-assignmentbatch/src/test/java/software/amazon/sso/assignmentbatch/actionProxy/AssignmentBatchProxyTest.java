@@ -0,0 +1,179 @@
+package software.amazon.sso.assignmentbatch.actionProxy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.awssdk.services.ssoadmin.model.ValidationException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.sso.assignmentbatch.AbstractTestBase;
+import software.amazon.sso.assignmentbatch.BatchAssignment;
+import software.amazon.sso.assignmentbatch.CallbackContext;
+import software.amazon.sso.assignmentbatch.Principal;
+import software.amazon.sso.assignmentbatch.ResourceModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.sso.assignmentbatch.Constants.MAX_REQUEUE_ATTEMPTS;
+import static software.amazon.sso.assignmentbatch.Constants.RETRY_ATTEMPTS;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_PRINCIPAL_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_REQUEST_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID;
+import static software.amazon.sso.assignmentbatch.TestConstants.TEST_TARGET_ID_2;
+
+@ExtendWith(MockitoExtension.class)
+public class AssignmentBatchProxyTest extends AbstractTestBase {
+
+    private static final String TARGET_ID_3 = "089648189012";
+    private static final String TARGET_ID_4 = "089648183456";
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private ProxyClient<SsoAdminClient> proxyClient;
+
+    @Mock
+    SsoAdminClient sso;
+
+    private final ResourceModel model = ResourceModel.builder()
+            .instanceArn(TEST_SSO_INSTANCE_ARN)
+            .permissionSetArn(TEST_PERMISSION_SET_ARN)
+            .targetType(TargetType.AWS_ACCOUNT.toString())
+            .targetIds(Arrays.asList(TEST_TARGET_ID, TEST_TARGET_ID_2, TARGET_ID_3, TARGET_ID_4))
+            .principals(Arrays.asList(Principal.builder().principalType(PrincipalType.USER.toString()).principalId(TEST_PRINCIPAL_ID).build()))
+            .build();
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        sso = mock(SsoAdminClient.class);
+        when(proxyClient.client()).thenReturn(sso);
+    }
+
+    @Test
+    public void advance_SortsSubmissionOutcomes() {
+        AssignmentBatchProxy batchProxy = new AssignmentBatchProxy(proxy, proxyClient, logger, 4);
+        CallbackContext context = new CallbackContext();
+        context.setRetryAttempts(RETRY_ATTEMPTS);
+        context.setPendingAssignments(new ArrayList<>(BatchAssignment.keysOf(model)));
+
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID), proxyClient.client()::createAccountAssignment))
+                .thenThrow(ConflictException.builder().message("Conflict operation").build());
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID_2), proxyClient.client()::createAccountAssignment))
+                .thenThrow(InternalServerException.builder().message("ISE.").build());
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TARGET_ID_3), proxyClient.client()::createAccountAssignment))
+                .thenThrow(ValidationException.builder().message("Invalid principal.").build());
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TARGET_ID_4), proxyClient.client()::createAccountAssignment))
+                .thenReturn(CreateAccountAssignmentResponse.builder()
+                        .accountAssignmentCreationStatus(AccountAssignmentOperationStatus.builder()
+                                .status(StatusValues.IN_PROGRESS)
+                                .requestId(TEST_REQUEST_ID)
+                                .build())
+                        .build());
+
+        assertThat(batchProxy.advance(model, context, false)).isTrue();
+
+        assertThat(context.getPendingAssignments()).containsExactly(key(TEST_TARGET_ID), key(TEST_TARGET_ID_2));
+        assertThat(context.getFailedAssignments()).containsOnlyKeys(key(TARGET_ID_3));
+        assertThat(context.getInFlightRequests()).containsEntry(key(TARGET_ID_4), TEST_REQUEST_ID);
+        assertThat(context.getRetryAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
+    }
+
+    @Test
+    public void advance_KeepsThrottledPollsInFlight() {
+        AssignmentBatchProxy batchProxy = new AssignmentBatchProxy(proxy, proxyClient, logger, 1);
+        CallbackContext context = new CallbackContext();
+        context.getInFlightRequests().put(key(TEST_TARGET_ID), TEST_REQUEST_ID);
+        context.getPendingAssignments().add(key(TEST_TARGET_ID_2));
+
+        when(proxy.injectCredentialsAndInvokeV2(DescribeAccountAssignmentCreationStatusRequest.builder()
+                .accountAssignmentCreationRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describeAccountAssignmentCreationStatus))
+                .thenThrow(ThrottlingException.builder().message("Operation throttled.").build());
+
+        assertThat(batchProxy.advance(model, context, false)).isFalse();
+
+        // No free slot, so nothing new is submitted while the request is still in flight
+        assertThat(context.getInFlightRequests()).containsEntry(key(TEST_TARGET_ID), TEST_REQUEST_ID);
+        assertThat(context.getPendingAssignments()).containsExactly(key(TEST_TARGET_ID_2));
+    }
+
+    @Test
+    public void advance_DeleteOfMissingAssignmentCompletes() {
+        AssignmentBatchProxy batchProxy = new AssignmentBatchProxy(proxy, proxyClient, logger, null);
+        CallbackContext context = new CallbackContext();
+        context.getPendingAssignments().add(key(TEST_TARGET_ID));
+
+        DeleteAccountAssignmentRequest deleteRequest = DeleteAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(TEST_TARGET_ID)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(deleteRequest, proxyClient.client()::deleteAccountAssignment))
+                .thenThrow(ResourceNotFoundException.builder().message("Assignment not found.").build());
+
+        batchProxy.advance(model, context, true);
+
+        assertThat(context.getCompletedAssignments()).containsExactly(key(TEST_TARGET_ID));
+        assertThat(context.isBatchFinished()).isTrue();
+    }
+
+    @Test
+    public void advance_FailsAssignmentOnceRequeueBudgetIsSpent() {
+        AssignmentBatchProxy batchProxy = new AssignmentBatchProxy(proxy, proxyClient, logger, 1);
+        CallbackContext context = new CallbackContext();
+        context.getPendingAssignments().add(key(TEST_TARGET_ID));
+        context.getRequeuedAssignments().put(key(TEST_TARGET_ID), MAX_REQUEUE_ATTEMPTS - 1);
+
+        when(proxy.injectCredentialsAndInvokeV2(createRequest(TEST_TARGET_ID), proxyClient.client()::createAccountAssignment))
+                .thenThrow(ConflictException.builder().message("Conflict operation").build());
+
+        assertThat(batchProxy.advance(model, context, false)).isTrue();
+
+        assertThat(context.getPendingAssignments()).isEmpty();
+        assertThat(context.getFailedAssignments()).containsOnlyKeys(key(TEST_TARGET_ID));
+        assertThat(context.isBatchFinished()).isTrue();
+    }
+
+    private String key(String targetId) {
+        return new BatchAssignment(targetId, PrincipalType.USER.toString(), TEST_PRINCIPAL_ID).toKey();
+    }
+
+    private CreateAccountAssignmentRequest createRequest(String targetId) {
+        return CreateAccountAssignmentRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(TargetType.AWS_ACCOUNT.toString())
+                .targetId(targetId)
+                .principalType(PrincipalType.USER.toString())
+                .principalId(TEST_PRINCIPAL_ID)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package software.amazon.sso.assignment.actionProxy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching a principal against a page of existing assignments, by linear scan over the page and through the
+ * {@link AssignmentIndex} the proxy builds from the pages it has read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignmentProxyBenchmark {
+
+    private static final int PAGE_SIZE = 10_000;
+    private static final String TARGET_ID = "012345678901";
+    private static final String PERMISSION_SET_ARN = "arn:aws:sso:::permissionSet/ssoins-1a5c249c9a03b908/ps-a7bc7a84aead19c1";
+    private static final String PRINCIPAL_TYPE = PrincipalType.USER.toString();
+
+    private AssignmentProxy assignmentProxy;
+    private List<AccountAssignment> page;
+    private AssignmentIndex index;
+    private String lastPrincipalId;
+
+    @Setup
+    public void setup() {
+        assignmentProxy = new AssignmentProxy(null, null, null);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(AccountAssignment.builder()
+                    .accountId(TARGET_ID)
+                    .permissionSetArn(PERMISSION_SET_ARN)
+                    .principalType(PRINCIPAL_TYPE)
+                    .principalId("principal-" + i)
+                    .build());
+        }
+        lastPrincipalId = "principal-" + (PAGE_SIZE - 1);
+        index = new AssignmentIndex();
+        index.addPage(page, null);
+    }
+
+    @Benchmark
+    public boolean checkAssignmentExistsInList_LastEntry() {
+        return assignmentProxy.checkAssignmentExistsInList(TARGET_ID, PERMISSION_SET_ARN, lastPrincipalId, PRINCIPAL_TYPE, page);
+    }
+
+    @Benchmark
+    public boolean checkAssignmentExistsInList_Missing() {
+        return assignmentProxy.checkAssignmentExistsInList(TARGET_ID, PERMISSION_SET_ARN, "missing", PRINCIPAL_TYPE, page);
+    }
+
+    @Benchmark
+    public boolean assignmentIndex_LastEntry() {
+        return index.contains(PRINCIPAL_TYPE, lastPrincipalId);
+    }
+}
@@ -0,0 +1,95 @@
+package software.amazon.sso.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.cloudformation.resource.Serializer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson round-trip of each module's callback context through the plugin {@link Serializer}, which is what happens
+ * to the context between every pair of invocations of an IN_PROGRESS handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallbackContextBenchmark {
+
+    // Size of a large AssignmentBatch: 100 accounts x 10 principals
+    private static final int BATCH_SIZE = 1000;
+
+    private final Serializer serializer = new Serializer();
+
+    private software.amazon.sso.permissionset.CallbackContext permissionSetContext;
+    private software.amazon.sso.assignment.CallbackContext assignmentContext;
+    private software.amazon.sso.assignmentbatch.CallbackContext assignmentBatchContext;
+    private software.amazon.sso.instanceaccesscontrolattributeconfiguration.CallbackContext abacContext;
+
+    @Setup
+    public void setup() {
+        permissionSetContext = new software.amazon.sso.permissionset.CallbackContext();
+        permissionSetContext.setHandlerInvoked(true);
+        permissionSetContext.setTagUpdated(true);
+        permissionSetContext.setManagedPolicyUpdated(true);
+        permissionSetContext.setRetryAttempts(5);
+
+        assignmentContext = new software.amazon.sso.assignment.CallbackContext();
+        assignmentContext.setHandlerInvoked(true);
+        assignmentContext.setRetryAttempts(5);
+        assignmentContext.setAssignmentScanKey("arn:aws:sso:::instance/ssoins-1a5c249c9a03b908|012345678901|ps-a7bc7a84aead19c1|USER/principal");
+        assignmentContext.setAssignmentScanNextToken("token");
+        assignmentContext.setAssignmentScanPages(3);
+
+        assignmentBatchContext = new software.amazon.sso.assignmentbatch.CallbackContext();
+        assignmentBatchContext.setPreCheckCompleted(true);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            String key = String.format("%012d|USER|principal-%d", i / 10, i % 10);
+            if (i % 4 == 0) {
+                assignmentBatchContext.getCompletedAssignments().add(key);
+            } else if (i % 4 == 1) {
+                assignmentBatchContext.getInFlightRequests().put(key, "request-" + i);
+            } else {
+                assignmentBatchContext.getPendingAssignments().add(key);
+            }
+        }
+
+        abacContext = new software.amazon.sso.instanceaccesscontrolattributeconfiguration.CallbackContext();
+    }
+
+    @Benchmark
+    public Object permissionSetContext() throws IOException {
+        return roundTrip(permissionSetContext, new TypeReference<software.amazon.sso.permissionset.CallbackContext>() {});
+    }
+
+    @Benchmark
+    public Object assignmentContext() throws IOException {
+        return roundTrip(assignmentContext, new TypeReference<software.amazon.sso.assignment.CallbackContext>() {});
+    }
+
+    @Benchmark
+    public Object assignmentBatchContext() throws IOException {
+        return roundTrip(assignmentBatchContext, new TypeReference<software.amazon.sso.assignmentbatch.CallbackContext>() {});
+    }
+
+    @Benchmark
+    public Object instanceAccessControlAttributeConfigurationContext() throws IOException {
+        return roundTrip(abacContext, new TypeReference<software.amazon.sso.instanceaccesscontrolattributeconfiguration.CallbackContext>() {});
+    }
+
+    private <T> T roundTrip(T context, TypeReference<T> type) throws IOException {
+        return serializer.deserialize(serializer.serialize(context), type);
+    }
+}
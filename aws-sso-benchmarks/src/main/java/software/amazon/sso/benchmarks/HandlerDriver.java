@@ -0,0 +1,85 @@
+package software.amazon.sso.benchmarks;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Plays the part of CloudFormation for a handler: invokes it with a real client proxy over the given clients and
+ * re-invokes it with the returned callback context for as long as it reports IN_PROGRESS.
+ * Callback delays are scaled by {@code callbackDelayScale}, so 0 re-invokes immediately.
+ */
+public class HandlerDriver {
+
+    private static final int MAX_INVOCATIONS = 1000;
+
+    private final AmazonWebServicesClientProxy proxy;
+    private final ProxyClient<SsoAdminClient> proxyClient;
+    private final ProxyClient<SsoAdminAsyncClient> asyncProxyClient;
+    private final LoggerProxy logger;
+    private final double callbackDelayScale;
+
+    public HandlerDriver(SsoAdminClient client, SsoAdminAsyncClient asyncClient, double callbackDelayScale) {
+        this.logger = new LoggerProxy();
+        this.proxy = new AmazonWebServicesClientProxy(logger, new Credentials("accessKey", "secretKey", "token"),
+                () -> Duration.ofMinutes(15).toMillis());
+        this.proxyClient = proxy.newProxy(() -> client);
+        this.asyncProxyClient = asyncClient == null ? null : proxy.newProxy(() -> asyncClient);
+        this.callbackDelayScale = callbackDelayScale;
+    }
+
+    public AmazonWebServicesClientProxy getProxy() {
+        return proxy;
+    }
+
+    public ProxyClient<SsoAdminClient> getProxyClient() {
+        return proxyClient;
+    }
+
+    /**
+     * Null unless an async client was given.
+     */
+    public ProxyClient<SsoAdminAsyncClient> getAsyncProxyClient() {
+        return asyncProxyClient;
+    }
+
+    public LoggerProxy getLogger() {
+        return logger;
+    }
+
+    public <M, C> ProgressEvent<M, C> run(Function<C, ProgressEvent<M, C>> invocation, C callbackContext) {
+        C context = callbackContext;
+        for (int invocations = 0; invocations < MAX_INVOCATIONS; invocations++) {
+            ProgressEvent<M, C> event = invocation.apply(context);
+            if (event.getStatus() != OperationStatus.IN_PROGRESS) {
+                return event;
+            }
+            if (event.getCallbackContext() != null) {
+                context = event.getCallbackContext();
+            }
+            pause(event.getCallbackDelaySeconds());
+        }
+        throw new IllegalStateException("Handler still in progress after " + MAX_INVOCATIONS + " invocations");
+    }
+
+    private void pause(int callbackDelaySeconds) {
+        long millis = (long) (callbackDelaySeconds * 1000L * callbackDelayScale);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
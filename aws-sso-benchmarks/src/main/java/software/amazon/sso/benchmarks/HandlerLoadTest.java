@@ -0,0 +1,175 @@
+package software.amazon.sso.benchmarks;
+
+import software.amazon.awssdk.services.ssoadmin.model.PrincipalType;
+import software.amazon.awssdk.services.ssoadmin.model.TargetType;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.sso.assignment.AssignmentFlows;
+import software.amazon.sso.benchmarks.fake.FakeSettings;
+import software.amazon.sso.benchmarks.fake.InMemorySsoAdminAsyncClient;
+import software.amazon.sso.benchmarks.fake.InMemorySsoAdminClient;
+import software.amazon.sso.instanceaccesscontrolattributeconfiguration.AccessControlAttribute;
+import software.amazon.sso.instanceaccesscontrolattributeconfiguration.AccessControlAttributeFlows;
+import software.amazon.sso.instanceaccesscontrolattributeconfiguration.AccessControlAttributeValue;
+import software.amazon.sso.permissionset.PermissionSetFlows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test of the handler chains against {@link InMemorySsoAdminClient}. Each flow creates and reads a
+ * permission set, creates, reads and deletes its assignments, creates and deletes an ABAC configuration and finally
+ * deletes the permission set. Flows run concurrently against one shared fake service.
+ * <p>
+ * Options, all optional: {@code --flows 100 --concurrency 20 --assignments 5 --latency-ms 20 --page-size 20
+ * --throttle-rate 0.05 --consistency-ms 200 --workflow-ms 500 --callback-scale 0.01 --async}
+ */
+public final class HandlerLoadTest {
+
+    private HandlerLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int flows = Integer.parseInt(options.getOrDefault("flows", "100"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "20"));
+        int assignmentsPerFlow = Integer.parseInt(options.getOrDefault("assignments", "5"));
+        FakeSettings settings = FakeSettings.defaults()
+                .latency(Duration.ofMillis(Long.parseLong(options.getOrDefault("latency-ms", "20"))))
+                .pageSize(Integer.parseInt(options.getOrDefault("page-size", "20")))
+                .throttleRate(Double.parseDouble(options.getOrDefault("throttle-rate", "0")))
+                .consistencyDelay(Duration.ofMillis(Long.parseLong(options.getOrDefault("consistency-ms", "0"))))
+                .workflowDuration(Duration.ofMillis(Long.parseLong(options.getOrDefault("workflow-ms", "200"))));
+        double callbackScale = Double.parseDouble(options.getOrDefault("callback-scale", "0.01"));
+
+        InMemorySsoAdminClient client = new InMemorySsoAdminClient(settings);
+        InMemorySsoAdminAsyncClient asyncClient = options.containsKey("async") ? new InMemorySsoAdminAsyncClient(client, concurrency * 4) : null;
+        HandlerDriver driver = new HandlerDriver(client, asyncClient, callbackScale);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < flows; i++) {
+            final int flow = i;
+            results.add(executor.submit(() -> runFlow(driver, flow, assignmentsPerFlow)));
+        }
+        List<Long> latencies = new ArrayList<>();
+        int failed = 0;
+        for (Future<Long> result : results) {
+            try {
+                latencies.add(result.get());
+            } catch (Exception e) {
+                failed++;
+                System.err.println("Flow failed: " + (e.getCause() == null ? e : e.getCause()).getMessage());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdownNow();
+        if (asyncClient != null) {
+            asyncClient.close();
+        }
+
+        Collections.sort(latencies);
+        System.out.printf("flows=%d failed=%d elapsed=%dms throughput=%.1f flows/s%n", flows, failed,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), flows / (elapsed / 1e9));
+        if (!latencies.isEmpty()) {
+            System.out.printf("flow latency p50=%dms p90=%dms p99=%dms max=%dms%n", percentile(latencies, 50),
+                    percentile(latencies, 90), percentile(latencies, 99), latencies.get(latencies.size() - 1));
+        }
+        System.out.printf("api calls=%d (%.1f per flow)%n", client.totalCalls(), client.totalCalls() / (double) flows);
+        client.callCounts().forEach((operation, count) -> System.out.printf("  %-52s %d%n", operation, count));
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static long runFlow(HandlerDriver driver, int flow, int assignmentsPerFlow) {
+        long start = System.nanoTime();
+        String instanceArn = String.format("arn:aws:sso:::instance/ssoins-%016d", flow);
+
+        software.amazon.sso.permissionset.ResourceModel permissionSet = software.amazon.sso.permissionset.ResourceModel.builder()
+                .instanceArn(instanceArn)
+                .name("LoadTest" + flow)
+                .description("Load test permission set")
+                .sessionDuration("PT4H")
+                .managedPolicies(Arrays.asList("arn:aws:iam::aws:policy/ReadOnlyAccess", "arn:aws:iam::aws:policy/job-function/ViewOnlyAccess"))
+                .inlinePolicy("{\"Version\":\"2012-10-17\",\"Statement\":[{\"Effect\":\"Allow\",\"Action\":\"s3:ListBucket\",\"Resource\":\"*\"}]}")
+                .tags(Collections.singletonList(software.amazon.sso.permissionset.Tag.builder().key("flow").value(String.valueOf(flow)).build()))
+                .build();
+        permissionSet = check("create permission set", PermissionSetFlows.create(driver, permissionSet));
+        check("read permission set", PermissionSetFlows.read(driver, permissionSet));
+
+        List<software.amazon.sso.assignment.ResourceModel> assignments = new ArrayList<>();
+        for (int i = 0; i < assignmentsPerFlow; i++) {
+            software.amazon.sso.assignment.ResourceModel assignment = software.amazon.sso.assignment.ResourceModel.builder()
+                    .instanceArn(instanceArn)
+                    .targetId(String.format("%012d", i))
+                    .targetType(TargetType.AWS_ACCOUNT.toString())
+                    .permissionSetArn(permissionSet.getPermissionSetArn())
+                    .principalType(PrincipalType.GROUP.toString())
+                    .principalId("group-" + flow)
+                    .build();
+            check("create assignment", AssignmentFlows.create(driver, assignment));
+            assignments.add(assignment);
+        }
+        for (software.amazon.sso.assignment.ResourceModel assignment : assignments) {
+            check("read assignment", AssignmentFlows.read(driver, assignment));
+        }
+
+        software.amazon.sso.instanceaccesscontrolattributeconfiguration.ResourceModel abac =
+                software.amazon.sso.instanceaccesscontrolattributeconfiguration.ResourceModel.builder()
+                        .instanceArn(instanceArn)
+                        .accessControlAttributes(Collections.singletonList(AccessControlAttribute.builder()
+                                .key("CostCenter")
+                                .value(AccessControlAttributeValue.builder()
+                                        .source(Collections.singletonList("${path:enterprise.costCenter}"))
+                                        .build())
+                                .build()))
+                        .build();
+        check("create ABAC configuration", AccessControlAttributeFlows.create(driver, abac));
+        check("delete ABAC configuration", AccessControlAttributeFlows.delete(driver, abac));
+
+        for (software.amazon.sso.assignment.ResourceModel assignment : assignments) {
+            check("delete assignment", AssignmentFlows.delete(driver, assignment));
+        }
+        check("delete permission set", PermissionSetFlows.delete(driver, permissionSet));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static <M, C> M check(String step, ProgressEvent<M, C> event) {
+        if (event.getStatus() != OperationStatus.SUCCESS) {
+            throw new IllegalStateException(step + " failed: " + event.getErrorCode() + " " + event.getMessage());
+        }
+        return event.getResourceModel();
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(name, args[++i]);
+            } else {
+                options.put(name, "");
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,124 @@
+package software.amazon.sso.benchmarks.fake;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Behaviour of the in-memory service: how slow, how eventually consistent and how unreliable it is.
+ * The defaults describe an instant, strongly consistent service that never throttles.
+ */
+public class FakeSettings {
+
+    private Duration latency = Duration.ZERO;
+    private int pageSize = 100;
+    private double throttleRate;
+    private Duration consistencyDelay = Duration.ZERO;
+    private Duration workflowDuration = Duration.ZERO;
+    private double workflowFailureRate;
+    private long seed = 42L;
+    private Clock clock = Clock.systemUTC();
+
+    public static FakeSettings defaults() {
+        return new FakeSettings();
+    }
+
+    /**
+     * Added to every call before it is served.
+     */
+    public FakeSettings latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Largest page any list call returns; a smaller MaxResults on the request wins.
+     */
+    public FakeSettings pageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Share of calls, between 0 and 1, rejected with a ThrottlingException.
+     */
+    public FakeSettings throttleRate(double throttleRate) {
+        this.throttleRate = rate(throttleRate);
+        return this;
+    }
+
+    /**
+     * How long a write takes to show up in describe and list calls.
+     */
+    public FakeSettings consistencyDelay(Duration consistencyDelay) {
+        this.consistencyDelay = consistencyDelay;
+        return this;
+    }
+
+    /**
+     * How long assignment and provisioning requests stay IN_PROGRESS.
+     */
+    public FakeSettings workflowDuration(Duration workflowDuration) {
+        this.workflowDuration = workflowDuration;
+        return this;
+    }
+
+    /**
+     * Share of assignment and provisioning requests, between 0 and 1, that end FAILED.
+     */
+    public FakeSettings workflowFailureRate(double workflowFailureRate) {
+        this.workflowFailureRate = rate(workflowFailureRate);
+        return this;
+    }
+
+    public FakeSettings seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public FakeSettings clock(Clock clock) {
+        this.clock = clock;
+        return this;
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public double getThrottleRate() {
+        return throttleRate;
+    }
+
+    public Duration getConsistencyDelay() {
+        return consistencyDelay;
+    }
+
+    public Duration getWorkflowDuration() {
+        return workflowDuration;
+    }
+
+    public double getWorkflowFailureRate() {
+        return workflowFailureRate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    private static double rate(double rate) {
+        if (rate < 0 || rate > 1) {
+            throw new IllegalArgumentException("rates must be between 0 and 1");
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,255 @@
+package software.amazon.sso.benchmarks.fake;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
+import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.CreateInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInlinePolicyFromPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInlinePolicyFromPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeletePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeletePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PutInlinePolicyToPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.PutInlinePolicyToPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.UpdateInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UpdateInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.UpdatePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UpdatePermissionSetResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous view of an {@link InMemorySsoAdminClient}: every call is served by the same in-memory state on a
+ * thread of its own pool, and service exceptions complete the future exceptionally as the SDK client does.
+ */
+public class InMemorySsoAdminAsyncClient implements SsoAdminAsyncClient {
+
+    private final InMemorySsoAdminClient delegate;
+    private final ExecutorService executor;
+
+    public InMemorySsoAdminAsyncClient(InMemorySsoAdminClient delegate, int threads) {
+        this.delegate = delegate;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "in-memory-sso-admin");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public InMemorySsoAdminClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<CreatePermissionSetResponse> createPermissionSet(CreatePermissionSetRequest request) {
+        return async(() -> delegate.createPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<DescribePermissionSetResponse> describePermissionSet(DescribePermissionSetRequest request) {
+        return async(() -> delegate.describePermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdatePermissionSetResponse> updatePermissionSet(UpdatePermissionSetRequest request) {
+        return async(() -> delegate.updatePermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<DeletePermissionSetResponse> deletePermissionSet(DeletePermissionSetRequest request) {
+        return async(() -> delegate.deletePermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<ListPermissionSetsResponse> listPermissionSets(ListPermissionSetsRequest request) {
+        return async(() -> delegate.listPermissionSets(request));
+    }
+
+    @Override
+    public CompletableFuture<ListTagsForResourceResponse> listTagsForResource(ListTagsForResourceRequest request) {
+        return async(() -> delegate.listTagsForResource(request));
+    }
+
+    @Override
+    public CompletableFuture<TagResourceResponse> tagResource(TagResourceRequest request) {
+        return async(() -> delegate.tagResource(request));
+    }
+
+    @Override
+    public CompletableFuture<UntagResourceResponse> untagResource(UntagResourceRequest request) {
+        return async(() -> delegate.untagResource(request));
+    }
+
+    @Override
+    public CompletableFuture<AttachManagedPolicyToPermissionSetResponse> attachManagedPolicyToPermissionSet(AttachManagedPolicyToPermissionSetRequest request) {
+        return async(() -> delegate.attachManagedPolicyToPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<DetachManagedPolicyFromPermissionSetResponse> detachManagedPolicyFromPermissionSet(DetachManagedPolicyFromPermissionSetRequest request) {
+        return async(() -> delegate.detachManagedPolicyFromPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<ListManagedPoliciesInPermissionSetResponse> listManagedPoliciesInPermissionSet(ListManagedPoliciesInPermissionSetRequest request) {
+        return async(() -> delegate.listManagedPoliciesInPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<PutInlinePolicyToPermissionSetResponse> putInlinePolicyToPermissionSet(PutInlinePolicyToPermissionSetRequest request) {
+        return async(() -> delegate.putInlinePolicyToPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<GetInlinePolicyForPermissionSetResponse> getInlinePolicyForPermissionSet(GetInlinePolicyForPermissionSetRequest request) {
+        return async(() -> delegate.getInlinePolicyForPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteInlinePolicyFromPermissionSetResponse> deleteInlinePolicyFromPermissionSet(DeleteInlinePolicyFromPermissionSetRequest request) {
+        return async(() -> delegate.deleteInlinePolicyFromPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<ProvisionPermissionSetResponse> provisionPermissionSet(ProvisionPermissionSetRequest request) {
+        return async(() -> delegate.provisionPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<DescribePermissionSetProvisioningStatusResponse> describePermissionSetProvisioningStatus(DescribePermissionSetProvisioningStatusRequest request) {
+        return async(() -> delegate.describePermissionSetProvisioningStatus(request));
+    }
+
+    @Override
+    public CompletableFuture<ListPermissionSetProvisioningStatusResponse> listPermissionSetProvisioningStatus(ListPermissionSetProvisioningStatusRequest request) {
+        return async(() -> delegate.listPermissionSetProvisioningStatus(request));
+    }
+
+    @Override
+    public CompletableFuture<ListAccountsForProvisionedPermissionSetResponse> listAccountsForProvisionedPermissionSet(ListAccountsForProvisionedPermissionSetRequest request) {
+        return async(() -> delegate.listAccountsForProvisionedPermissionSet(request));
+    }
+
+    @Override
+    public CompletableFuture<ListPermissionSetsProvisionedToAccountResponse> listPermissionSetsProvisionedToAccount(ListPermissionSetsProvisionedToAccountRequest request) {
+        return async(() -> delegate.listPermissionSetsProvisionedToAccount(request));
+    }
+
+    @Override
+    public CompletableFuture<CreateAccountAssignmentResponse> createAccountAssignment(CreateAccountAssignmentRequest request) {
+        return async(() -> delegate.createAccountAssignment(request));
+    }
+
+    @Override
+    public CompletableFuture<DescribeAccountAssignmentCreationStatusResponse> describeAccountAssignmentCreationStatus(DescribeAccountAssignmentCreationStatusRequest request) {
+        return async(() -> delegate.describeAccountAssignmentCreationStatus(request));
+    }
+
+    @Override
+    public CompletableFuture<ListAccountAssignmentCreationStatusResponse> listAccountAssignmentCreationStatus(ListAccountAssignmentCreationStatusRequest request) {
+        return async(() -> delegate.listAccountAssignmentCreationStatus(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteAccountAssignmentResponse> deleteAccountAssignment(DeleteAccountAssignmentRequest request) {
+        return async(() -> delegate.deleteAccountAssignment(request));
+    }
+
+    @Override
+    public CompletableFuture<DescribeAccountAssignmentDeletionStatusResponse> describeAccountAssignmentDeletionStatus(DescribeAccountAssignmentDeletionStatusRequest request) {
+        return async(() -> delegate.describeAccountAssignmentDeletionStatus(request));
+    }
+
+    @Override
+    public CompletableFuture<ListAccountAssignmentDeletionStatusResponse> listAccountAssignmentDeletionStatus(ListAccountAssignmentDeletionStatusRequest request) {
+        return async(() -> delegate.listAccountAssignmentDeletionStatus(request));
+    }
+
+    @Override
+    public CompletableFuture<ListAccountAssignmentsResponse> listAccountAssignments(ListAccountAssignmentsRequest request) {
+        return async(() -> delegate.listAccountAssignments(request));
+    }
+
+    @Override
+    public CompletableFuture<CreateInstanceAccessControlAttributeConfigurationResponse> createInstanceAccessControlAttributeConfiguration(CreateInstanceAccessControlAttributeConfigurationRequest request) {
+        return async(() -> delegate.createInstanceAccessControlAttributeConfiguration(request));
+    }
+
+    @Override
+    public CompletableFuture<DescribeInstanceAccessControlAttributeConfigurationResponse> describeInstanceAccessControlAttributeConfiguration(DescribeInstanceAccessControlAttributeConfigurationRequest request) {
+        return async(() -> delegate.describeInstanceAccessControlAttributeConfiguration(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdateInstanceAccessControlAttributeConfigurationResponse> updateInstanceAccessControlAttributeConfiguration(UpdateInstanceAccessControlAttributeConfigurationRequest request) {
+        return async(() -> delegate.updateInstanceAccessControlAttributeConfiguration(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteInstanceAccessControlAttributeConfigurationResponse> deleteInstanceAccessControlAttributeConfiguration(DeleteInstanceAccessControlAttributeConfigurationRequest request) {
+        return async(() -> delegate.deleteInstanceAccessControlAttributeConfiguration(request));
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+}
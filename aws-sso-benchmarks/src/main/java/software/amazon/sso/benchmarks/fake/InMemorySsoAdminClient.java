@@ -0,0 +1,794 @@
+package software.amazon.sso.benchmarks.fake;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignment;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.AccountAssignmentOperationStatusMetadata;
+import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.AttachedManagedPolicy;
+import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.CreateInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteAccountAssignmentResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInlinePolicyFromPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInlinePolicyFromPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeletePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeletePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeAccountAssignmentDeletionStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.InstanceAccessControlAttributeConfiguration;
+import software.amazon.awssdk.services.ssoadmin.model.InstanceAccessControlAttributeConfigurationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentCreationStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentDeletionStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountsForProvisionedPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsProvisionedToAccountResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.OperationStatusFilter;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSet;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatus;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatusMetadata;
+import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PutInlinePolicyToPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.PutInlinePolicyToPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.Tag;
+import software.amazon.awssdk.services.ssoadmin.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.awssdk.services.ssoadmin.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.UpdateInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UpdateInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.UpdatePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UpdatePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ValidationException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Stateful stand-in for the SSO Admin service, holding permission sets, assignments, the request status workflows
+ * of assignments and provisioning, and ABAC configurations in memory. Only the operations the handlers call are
+ * served; the others keep the interface default and throw UnsupportedOperationException.
+ * <p>
+ * Writes are checked against the current state, while describe and list calls only see a write once
+ * {@link FakeSettings#getConsistencyDelay()} has passed. Assignment and provisioning requests stay IN_PROGRESS for
+ * {@link FakeSettings#getWorkflowDuration()} and the assignment itself only appears once its request has succeeded.
+ * Every call is counted, see {@link #callCounts()}.
+ */
+public class InMemorySsoAdminClient implements SsoAdminClient {
+
+    private static final int MANAGED_POLICIES_LIMIT = 20;
+    private static final int TAGS_LIMIT = 50;
+
+    private final FakeSettings settings;
+    private final Random random;
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+
+    private final Map<String, PermissionSetRecord> permissionSets = new LinkedHashMap<>();
+    private final Map<String, AssignmentRecord> assignments = new TreeMap<>();
+    private final Map<String, Workflow> creationRequests = new LinkedHashMap<>();
+    private final Map<String, Workflow> deletionRequests = new LinkedHashMap<>();
+    private final Map<String, Workflow> provisioningRequests = new LinkedHashMap<>();
+    private final Map<String, AbacRecord> abacConfigurations = new LinkedHashMap<>();
+    private long sequence;
+
+    public InMemorySsoAdminClient() {
+        this(FakeSettings.defaults());
+    }
+
+    public InMemorySsoAdminClient(FakeSettings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    public FakeSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Number of calls served or rejected so far, by operation name.
+     */
+    public Map<String, Long> callCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((operation, count) -> counts.put(operation, count.get()));
+        return counts;
+    }
+
+    public long callCount(String operation) {
+        AtomicLong count = calls.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    public long totalCalls() {
+        return calls.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // Permission sets
+
+    @Override
+    public CreatePermissionSetResponse createPermissionSet(CreatePermissionSetRequest request) {
+        return invoke("CreatePermissionSet", () -> {
+            boolean nameTaken = permissionSets.values().stream()
+                    .anyMatch(record -> record.exists() && record.instanceArn.equals(request.instanceArn())
+                            && record.permissionSet.name().equals(request.name()));
+            if (nameTaken) {
+                throw ConflictException.builder().message("Permission set " + request.name() + " already exists.").build();
+            }
+            String permissionSetArn = String.format("arn:aws:sso:::permissionSet/%s/ps-%016x", instanceId(request.instanceArn()), random.nextLong());
+            PermissionSetRecord record = new PermissionSetRecord(request.instanceArn(), PermissionSet.builder()
+                    .permissionSetArn(permissionSetArn)
+                    .name(request.name())
+                    .description(request.description())
+                    .sessionDuration(request.sessionDuration() == null ? "PT1H" : request.sessionDuration())
+                    .relayState(request.relayState())
+                    .createdDate(now())
+                    .build(), visibleAt());
+            checkTagsLimit(request.tags().size());
+            request.tags().forEach(tag -> record.tags.put(tag.key(), tag.value()));
+            permissionSets.put(permissionSetArn, record);
+            return CreatePermissionSetResponse.builder().permissionSet(record.permissionSet).build();
+        });
+    }
+
+    @Override
+    public DescribePermissionSetResponse describePermissionSet(DescribePermissionSetRequest request) {
+        return invoke("DescribePermissionSet", () -> DescribePermissionSetResponse.builder()
+                .permissionSet(visiblePermissionSet(request.permissionSetArn()).permissionSet)
+                .build());
+    }
+
+    @Override
+    public UpdatePermissionSetResponse updatePermissionSet(UpdatePermissionSetRequest request) {
+        return invoke("UpdatePermissionSet", () -> {
+            PermissionSetRecord record = existingPermissionSet(request.permissionSetArn());
+            PermissionSet.Builder updated = record.permissionSet.toBuilder();
+            if (request.description() != null) {
+                updated.description(request.description());
+            }
+            if (request.sessionDuration() != null) {
+                updated.sessionDuration(request.sessionDuration());
+            }
+            if (request.relayState() != null) {
+                updated.relayState(request.relayState());
+            }
+            record.permissionSet = updated.build();
+            return UpdatePermissionSetResponse.builder().build();
+        });
+    }
+
+    @Override
+    public DeletePermissionSetResponse deletePermissionSet(DeletePermissionSetRequest request) {
+        return invoke("DeletePermissionSet", () -> {
+            existingPermissionSet(request.permissionSetArn()).deletedAt = now().toEpochMilli();
+            return DeletePermissionSetResponse.builder().build();
+        });
+    }
+
+    @Override
+    public ListPermissionSetsResponse listPermissionSets(ListPermissionSetsRequest request) {
+        return invoke("ListPermissionSets", () -> {
+            List<String> arns = permissionSets.values().stream()
+                    .filter(record -> record.instanceArn.equals(request.instanceArn()) && record.isVisible())
+                    .map(record -> record.permissionSet.permissionSetArn())
+                    .collect(Collectors.toList());
+            Page<String> page = page(arns, request.maxResults(), request.nextToken());
+            return ListPermissionSetsResponse.builder().permissionSets(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(ListTagsForResourceRequest request) {
+        return invoke("ListTagsForResource", () -> {
+            List<Tag> tags = visiblePermissionSet(request.resourceArn()).tags.entrySet().stream()
+                    .map(tag -> Tag.builder().key(tag.getKey()).value(tag.getValue()).build())
+                    .collect(Collectors.toList());
+            Page<Tag> page = page(tags, null, request.nextToken());
+            return ListTagsForResourceResponse.builder().tags(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    @Override
+    public TagResourceResponse tagResource(TagResourceRequest request) {
+        return invoke("TagResource", () -> {
+            PermissionSetRecord record = existingPermissionSet(request.resourceArn());
+            Map<String, String> tags = new LinkedHashMap<>(record.tags);
+            request.tags().forEach(tag -> tags.put(tag.key(), tag.value()));
+            checkTagsLimit(tags.size());
+            record.tags = tags;
+            return TagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(UntagResourceRequest request) {
+        return invoke("UntagResource", () -> {
+            PermissionSetRecord record = existingPermissionSet(request.resourceArn());
+            Map<String, String> tags = new LinkedHashMap<>(record.tags);
+            request.tagKeys().forEach(tags::remove);
+            record.tags = tags;
+            return UntagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public AttachManagedPolicyToPermissionSetResponse attachManagedPolicyToPermissionSet(AttachManagedPolicyToPermissionSetRequest request) {
+        return invoke("AttachManagedPolicyToPermissionSet", () -> {
+            PermissionSetRecord record = existingPermissionSet(request.permissionSetArn());
+            if (record.managedPolicies.contains(request.managedPolicyArn())) {
+                throw ConflictException.builder().message("Managed policy " + request.managedPolicyArn() + " is already attached.").build();
+            }
+            if (record.managedPolicies.size() >= MANAGED_POLICIES_LIMIT) {
+                throw ServiceQuotaExceededException.builder().message("Managed policies limit exceeded.").build();
+            }
+            Set<String> policies = new LinkedHashSet<>(record.managedPolicies);
+            policies.add(request.managedPolicyArn());
+            record.managedPolicies = policies;
+            return AttachManagedPolicyToPermissionSetResponse.builder().build();
+        });
+    }
+
+    @Override
+    public DetachManagedPolicyFromPermissionSetResponse detachManagedPolicyFromPermissionSet(DetachManagedPolicyFromPermissionSetRequest request) {
+        return invoke("DetachManagedPolicyFromPermissionSet", () -> {
+            PermissionSetRecord record = existingPermissionSet(request.permissionSetArn());
+            if (!record.managedPolicies.contains(request.managedPolicyArn())) {
+                throw ResourceNotFoundException.builder().message("Managed policy " + request.managedPolicyArn() + " is not attached.").build();
+            }
+            Set<String> policies = new LinkedHashSet<>(record.managedPolicies);
+            policies.remove(request.managedPolicyArn());
+            record.managedPolicies = policies;
+            return DetachManagedPolicyFromPermissionSetResponse.builder().build();
+        });
+    }
+
+    @Override
+    public ListManagedPoliciesInPermissionSetResponse listManagedPoliciesInPermissionSet(ListManagedPoliciesInPermissionSetRequest request) {
+        return invoke("ListManagedPoliciesInPermissionSet", () -> {
+            List<AttachedManagedPolicy> policies = visiblePermissionSet(request.permissionSetArn()).managedPolicies.stream()
+                    .map(arn -> AttachedManagedPolicy.builder().arn(arn).name(arn.substring(arn.lastIndexOf('/') + 1)).build())
+                    .collect(Collectors.toList());
+            Page<AttachedManagedPolicy> page = page(policies, request.maxResults(), request.nextToken());
+            return ListManagedPoliciesInPermissionSetResponse.builder().attachedManagedPolicies(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    @Override
+    public PutInlinePolicyToPermissionSetResponse putInlinePolicyToPermissionSet(PutInlinePolicyToPermissionSetRequest request) {
+        return invoke("PutInlinePolicyToPermissionSet", () -> {
+            existingPermissionSet(request.permissionSetArn()).inlinePolicy = request.inlinePolicy();
+            return PutInlinePolicyToPermissionSetResponse.builder().build();
+        });
+    }
+
+    @Override
+    public GetInlinePolicyForPermissionSetResponse getInlinePolicyForPermissionSet(GetInlinePolicyForPermissionSetRequest request) {
+        return invoke("GetInlinePolicyForPermissionSet", () -> GetInlinePolicyForPermissionSetResponse.builder()
+                .inlinePolicy(visiblePermissionSet(request.permissionSetArn()).inlinePolicy)
+                .build());
+    }
+
+    @Override
+    public DeleteInlinePolicyFromPermissionSetResponse deleteInlinePolicyFromPermissionSet(DeleteInlinePolicyFromPermissionSetRequest request) {
+        return invoke("DeleteInlinePolicyFromPermissionSet", () -> {
+            existingPermissionSet(request.permissionSetArn()).inlinePolicy = null;
+            return DeleteInlinePolicyFromPermissionSetResponse.builder().build();
+        });
+    }
+
+    // Provisioning
+
+    @Override
+    public ProvisionPermissionSetResponse provisionPermissionSet(ProvisionPermissionSetRequest request) {
+        return invoke("ProvisionPermissionSet", () -> {
+            existingPermissionSet(request.permissionSetArn());
+            Workflow workflow = startWorkflow(provisioningRequests);
+            workflow.permissionSetArn = request.permissionSetArn();
+            workflow.targetId = request.targetId();
+            return ProvisionPermissionSetResponse.builder().permissionSetProvisioningStatus(provisioningStatus(workflow)).build();
+        });
+    }
+
+    @Override
+    public DescribePermissionSetProvisioningStatusResponse describePermissionSetProvisioningStatus(DescribePermissionSetProvisioningStatusRequest request) {
+        return invoke("DescribePermissionSetProvisioningStatus", () -> DescribePermissionSetProvisioningStatusResponse.builder()
+                .permissionSetProvisioningStatus(provisioningStatus(workflow(provisioningRequests, request.provisionPermissionSetRequestId())))
+                .build());
+    }
+
+    @Override
+    public ListPermissionSetProvisioningStatusResponse listPermissionSetProvisioningStatus(ListPermissionSetProvisioningStatusRequest request) {
+        return invoke("ListPermissionSetProvisioningStatus", () -> {
+            List<PermissionSetProvisioningStatusMetadata> statuses = filterWorkflows(provisioningRequests, request.filter()).stream()
+                    .map(workflow -> PermissionSetProvisioningStatusMetadata.builder()
+                            .requestId(workflow.requestId)
+                            .status(workflow.status(now()))
+                            .createdDate(workflow.createdDate)
+                            .build())
+                    .collect(Collectors.toList());
+            Page<PermissionSetProvisioningStatusMetadata> page = page(statuses, request.maxResults(), request.nextToken());
+            return ListPermissionSetProvisioningStatusResponse.builder().permissionSetsProvisioningStatus(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    @Override
+    public ListAccountsForProvisionedPermissionSetResponse listAccountsForProvisionedPermissionSet(ListAccountsForProvisionedPermissionSetRequest request) {
+        return invoke("ListAccountsForProvisionedPermissionSet", () -> {
+            List<String> accountIds = visibleAssignments(record -> record.instanceArn.equals(request.instanceArn())
+                    && record.assignment.permissionSetArn().equals(request.permissionSetArn())).stream()
+                    .map(AccountAssignment::accountId)
+                    .distinct()
+                    .collect(Collectors.toList());
+            Page<String> page = page(accountIds, request.maxResults(), request.nextToken());
+            return ListAccountsForProvisionedPermissionSetResponse.builder().accountIds(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    @Override
+    public ListPermissionSetsProvisionedToAccountResponse listPermissionSetsProvisionedToAccount(ListPermissionSetsProvisionedToAccountRequest request) {
+        return invoke("ListPermissionSetsProvisionedToAccount", () -> {
+            List<String> permissionSetArns = visibleAssignments(record -> record.instanceArn.equals(request.instanceArn())
+                    && record.assignment.accountId().equals(request.accountId())).stream()
+                    .map(AccountAssignment::permissionSetArn)
+                    .distinct()
+                    .collect(Collectors.toList());
+            Page<String> page = page(permissionSetArns, request.maxResults(), request.nextToken());
+            return ListPermissionSetsProvisionedToAccountResponse.builder().permissionSets(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    // Assignments
+
+    @Override
+    public CreateAccountAssignmentResponse createAccountAssignment(CreateAccountAssignmentRequest request) {
+        return invoke("CreateAccountAssignment", () -> {
+            existingPermissionSet(request.permissionSetArn());
+            AccountAssignment assignment = AccountAssignment.builder()
+                    .accountId(request.targetId())
+                    .permissionSetArn(request.permissionSetArn())
+                    .principalType(request.principalTypeAsString())
+                    .principalId(request.principalId())
+                    .build();
+            Workflow workflow = startWorkflow(creationRequests);
+            workflow.assignment = assignment;
+            workflow.targetType = request.targetTypeAsString();
+            if (!workflow.failed) {
+                String key = assignmentKey(request.instanceArn(), assignment);
+                AssignmentRecord existing = assignments.get(key);
+                if (existing == null || !existing.exists()) {
+                    assignments.put(key, new AssignmentRecord(request.instanceArn(), assignment,
+                            workflow.completedAt + settings.getConsistencyDelay().toMillis()));
+                }
+            }
+            return CreateAccountAssignmentResponse.builder().accountAssignmentCreationStatus(assignmentStatus(workflow)).build();
+        });
+    }
+
+    @Override
+    public DescribeAccountAssignmentCreationStatusResponse describeAccountAssignmentCreationStatus(DescribeAccountAssignmentCreationStatusRequest request) {
+        return invoke("DescribeAccountAssignmentCreationStatus", () -> DescribeAccountAssignmentCreationStatusResponse.builder()
+                .accountAssignmentCreationStatus(assignmentStatus(workflow(creationRequests, request.accountAssignmentCreationRequestId())))
+                .build());
+    }
+
+    @Override
+    public ListAccountAssignmentCreationStatusResponse listAccountAssignmentCreationStatus(ListAccountAssignmentCreationStatusRequest request) {
+        return invoke("ListAccountAssignmentCreationStatus", () -> {
+            Page<AccountAssignmentOperationStatusMetadata> page = page(assignmentStatuses(creationRequests, request.filter()), request.maxResults(), request.nextToken());
+            return ListAccountAssignmentCreationStatusResponse.builder().accountAssignmentsCreationStatus(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    @Override
+    public DeleteAccountAssignmentResponse deleteAccountAssignment(DeleteAccountAssignmentRequest request) {
+        return invoke("DeleteAccountAssignment", () -> {
+            AccountAssignment assignment = AccountAssignment.builder()
+                    .accountId(request.targetId())
+                    .permissionSetArn(request.permissionSetArn())
+                    .principalType(request.principalTypeAsString())
+                    .principalId(request.principalId())
+                    .build();
+            AssignmentRecord record = assignments.get(assignmentKey(request.instanceArn(), assignment));
+            if (record == null || !record.exists()) {
+                throw ResourceNotFoundException.builder().message("Account assignment does not exist.").build();
+            }
+            Workflow workflow = startWorkflow(deletionRequests);
+            workflow.assignment = assignment;
+            workflow.targetType = request.targetTypeAsString();
+            if (!workflow.failed) {
+                record.deletedAt = workflow.completedAt;
+            }
+            return DeleteAccountAssignmentResponse.builder().accountAssignmentDeletionStatus(assignmentStatus(workflow)).build();
+        });
+    }
+
+    @Override
+    public DescribeAccountAssignmentDeletionStatusResponse describeAccountAssignmentDeletionStatus(DescribeAccountAssignmentDeletionStatusRequest request) {
+        return invoke("DescribeAccountAssignmentDeletionStatus", () -> DescribeAccountAssignmentDeletionStatusResponse.builder()
+                .accountAssignmentDeletionStatus(assignmentStatus(workflow(deletionRequests, request.accountAssignmentDeletionRequestId())))
+                .build());
+    }
+
+    @Override
+    public ListAccountAssignmentDeletionStatusResponse listAccountAssignmentDeletionStatus(ListAccountAssignmentDeletionStatusRequest request) {
+        return invoke("ListAccountAssignmentDeletionStatus", () -> {
+            Page<AccountAssignmentOperationStatusMetadata> page = page(assignmentStatuses(deletionRequests, request.filter()), request.maxResults(), request.nextToken());
+            return ListAccountAssignmentDeletionStatusResponse.builder().accountAssignmentsDeletionStatus(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    @Override
+    public ListAccountAssignmentsResponse listAccountAssignments(ListAccountAssignmentsRequest request) {
+        return invoke("ListAccountAssignments", () -> {
+            List<AccountAssignment> matching = visibleAssignments(record -> record.instanceArn.equals(request.instanceArn())
+                    && record.assignment.accountId().equals(request.accountId())
+                    && record.assignment.permissionSetArn().equals(request.permissionSetArn()));
+            Page<AccountAssignment> page = page(matching, request.maxResults(), request.nextToken());
+            return ListAccountAssignmentsResponse.builder().accountAssignments(page.items).nextToken(page.nextToken).build();
+        });
+    }
+
+    // ABAC
+
+    @Override
+    public CreateInstanceAccessControlAttributeConfigurationResponse createInstanceAccessControlAttributeConfiguration(CreateInstanceAccessControlAttributeConfigurationRequest request) {
+        return invoke("CreateInstanceAccessControlAttributeConfiguration", () -> {
+            AbacRecord existing = abacConfigurations.get(request.instanceArn());
+            if (existing != null && existing.exists()) {
+                throw ConflictException.builder().message("Access control attribute configuration already exists.").build();
+            }
+            abacConfigurations.put(request.instanceArn(), new AbacRecord(request.instanceAccessControlAttributeConfiguration(), visibleAt()));
+            return CreateInstanceAccessControlAttributeConfigurationResponse.builder().build();
+        });
+    }
+
+    @Override
+    public DescribeInstanceAccessControlAttributeConfigurationResponse describeInstanceAccessControlAttributeConfiguration(DescribeInstanceAccessControlAttributeConfigurationRequest request) {
+        return invoke("DescribeInstanceAccessControlAttributeConfiguration", () -> {
+            AbacRecord record = abacConfigurations.get(request.instanceArn());
+            if (record == null || !record.isVisible()) {
+                throw ResourceNotFoundException.builder().message("Access control attribute configuration does not exist.").build();
+            }
+            return DescribeInstanceAccessControlAttributeConfigurationResponse.builder()
+                    .status(InstanceAccessControlAttributeConfigurationStatus.ENABLED)
+                    .instanceAccessControlAttributeConfiguration(record.configuration)
+                    .build();
+        });
+    }
+
+    @Override
+    public UpdateInstanceAccessControlAttributeConfigurationResponse updateInstanceAccessControlAttributeConfiguration(UpdateInstanceAccessControlAttributeConfigurationRequest request) {
+        return invoke("UpdateInstanceAccessControlAttributeConfiguration", () -> {
+            existingAbac(request.instanceArn()).configuration = request.instanceAccessControlAttributeConfiguration();
+            return UpdateInstanceAccessControlAttributeConfigurationResponse.builder().build();
+        });
+    }
+
+    @Override
+    public DeleteInstanceAccessControlAttributeConfigurationResponse deleteInstanceAccessControlAttributeConfiguration(DeleteInstanceAccessControlAttributeConfigurationRequest request) {
+        return invoke("DeleteInstanceAccessControlAttributeConfiguration", () -> {
+            existingAbac(request.instanceArn()).deletedAt = now().toEpochMilli();
+            return DeleteInstanceAccessControlAttributeConfigurationResponse.builder().build();
+        });
+    }
+
+    /**
+     * Counts the call, waits out the configured latency, throttles a share of the calls and serves the rest one at
+     * a time against the in-memory state.
+     */
+    private <T> T invoke(String operation, Supplier<T> call) {
+        calls.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+        long latency = settings.getLatency().toMillis();
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        synchronized (this) {
+            if (settings.getThrottleRate() > 0 && random.nextDouble() < settings.getThrottleRate()) {
+                throw ThrottlingException.builder().message("Rate exceeded").build();
+            }
+            return call.get();
+        }
+    }
+
+    private PermissionSetRecord existingPermissionSet(String permissionSetArn) {
+        PermissionSetRecord record = permissionSets.get(permissionSetArn);
+        if (record == null || !record.exists()) {
+            throw ResourceNotFoundException.builder().message("Permission set " + permissionSetArn + " does not exist.").build();
+        }
+        return record;
+    }
+
+    private PermissionSetRecord visiblePermissionSet(String permissionSetArn) {
+        PermissionSetRecord record = permissionSets.get(permissionSetArn);
+        if (record == null || !record.isVisible()) {
+            throw ResourceNotFoundException.builder().message("Permission set " + permissionSetArn + " does not exist.").build();
+        }
+        return record;
+    }
+
+    private AbacRecord existingAbac(String instanceArn) {
+        AbacRecord record = abacConfigurations.get(instanceArn);
+        if (record == null || !record.exists()) {
+            throw ResourceNotFoundException.builder().message("Access control attribute configuration does not exist.").build();
+        }
+        return record;
+    }
+
+    private List<AccountAssignment> visibleAssignments(Predicate<AssignmentRecord> filter) {
+        return assignments.values().stream()
+                .filter(record -> record.isVisible() && filter.test(record))
+                .map(record -> record.assignment)
+                .collect(Collectors.toList());
+    }
+
+    private void checkTagsLimit(int tags) {
+        if (tags > TAGS_LIMIT) {
+            throw ServiceQuotaExceededException.builder().message("Tags limit exceeded.").build();
+        }
+    }
+
+    private Workflow startWorkflow(Map<String, Workflow> requests) {
+        Workflow workflow = new Workflow(String.format("%08x-0000-0000-0000-%012x", random.nextInt(), ++sequence), now(),
+                now().toEpochMilli() + settings.getWorkflowDuration().toMillis(),
+                settings.getWorkflowFailureRate() > 0 && random.nextDouble() < settings.getWorkflowFailureRate());
+        requests.put(workflow.requestId, workflow);
+        return workflow;
+    }
+
+    private Workflow workflow(Map<String, Workflow> requests, String requestId) {
+        Workflow workflow = requests.get(requestId);
+        if (workflow == null) {
+            throw ResourceNotFoundException.builder().message("Request " + requestId + " does not exist.").build();
+        }
+        return workflow;
+    }
+
+    private List<Workflow> filterWorkflows(Map<String, Workflow> requests, OperationStatusFilter filter) {
+        Instant now = now();
+        return requests.values().stream()
+                .filter(workflow -> filter == null || filter.status() == null || filter.status() == workflow.status(now))
+                .collect(Collectors.toList());
+    }
+
+    private List<AccountAssignmentOperationStatusMetadata> assignmentStatuses(Map<String, Workflow> requests, OperationStatusFilter filter) {
+        return filterWorkflows(requests, filter).stream()
+                .map(workflow -> AccountAssignmentOperationStatusMetadata.builder()
+                        .requestId(workflow.requestId)
+                        .status(workflow.status(now()))
+                        .createdDate(workflow.createdDate)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private AccountAssignmentOperationStatus assignmentStatus(Workflow workflow) {
+        StatusValues status = workflow.status(now());
+        return AccountAssignmentOperationStatus.builder()
+                .requestId(workflow.requestId)
+                .status(status)
+                .failureReason(status == StatusValues.FAILED ? "Request failed." : null)
+                .targetId(workflow.assignment.accountId())
+                .targetType(workflow.targetType)
+                .permissionSetArn(workflow.assignment.permissionSetArn())
+                .principalType(workflow.assignment.principalTypeAsString())
+                .principalId(workflow.assignment.principalId())
+                .createdDate(workflow.createdDate)
+                .build();
+    }
+
+    private PermissionSetProvisioningStatus provisioningStatus(Workflow workflow) {
+        StatusValues status = workflow.status(now());
+        return PermissionSetProvisioningStatus.builder()
+                .requestId(workflow.requestId)
+                .status(status)
+                .failureReason(status == StatusValues.FAILED ? "Request failed." : null)
+                .accountId(workflow.targetId)
+                .permissionSetArn(workflow.permissionSetArn)
+                .createdDate(workflow.createdDate)
+                .build();
+    }
+
+    /**
+     * Page of {@code items} starting at the offset carried in {@code nextToken}.
+     */
+    private <T> Page<T> page(List<T> items, Integer maxResults, String nextToken) {
+        int size = maxResults == null ? settings.getPageSize() : Math.min(maxResults, settings.getPageSize());
+        int from;
+        try {
+            from = nextToken == null || nextToken.isEmpty() ? 0 : Integer.parseInt(nextToken);
+        } catch (NumberFormatException e) {
+            throw ValidationException.builder().message("Invalid next token.").build();
+        }
+        if (from >= items.size()) {
+            return new Page<>(Collections.emptyList(), null);
+        }
+        int to = Math.min(items.size(), from + size);
+        return new Page<>(new ArrayList<>(items.subList(from, to)), to < items.size() ? String.valueOf(to) : null);
+    }
+
+    private Instant now() {
+        return settings.getClock().instant();
+    }
+
+    private long visibleAt() {
+        return now().toEpochMilli() + settings.getConsistencyDelay().toMillis();
+    }
+
+    private boolean isVisible(long visibleAt, long deletedAt) {
+        long now = now().toEpochMilli();
+        return now >= visibleAt && (deletedAt < 0 || now < deletedAt + settings.getConsistencyDelay().toMillis());
+    }
+
+    private static String instanceId(String instanceArn) {
+        return instanceArn == null ? "" : instanceArn.substring(instanceArn.lastIndexOf('/') + 1);
+    }
+
+    private static String assignmentKey(String instanceArn, AccountAssignment assignment) {
+        return String.join("|", instanceArn, assignment.accountId(), assignment.permissionSetArn(),
+                assignment.principalTypeAsString(), assignment.principalId());
+    }
+
+    private static final class Page<T> {
+        private final List<T> items;
+        private final String nextToken;
+
+        private Page(List<T> items, String nextToken) {
+            this.items = items;
+            this.nextToken = nextToken;
+        }
+    }
+
+    private final class PermissionSetRecord {
+        private final String instanceArn;
+        private final long visibleAt;
+        private PermissionSet permissionSet;
+        private Map<String, String> tags = new LinkedHashMap<>();
+        private Set<String> managedPolicies = new LinkedHashSet<>();
+        private String inlinePolicy;
+        private long deletedAt = -1;
+
+        private PermissionSetRecord(String instanceArn, PermissionSet permissionSet, long visibleAt) {
+            this.instanceArn = instanceArn;
+            this.permissionSet = permissionSet;
+            this.visibleAt = visibleAt;
+        }
+
+        private boolean exists() {
+            return deletedAt < 0;
+        }
+
+        private boolean isVisible() {
+            return InMemorySsoAdminClient.this.isVisible(visibleAt, deletedAt);
+        }
+    }
+
+    private final class AssignmentRecord {
+        private final String instanceArn;
+        private final AccountAssignment assignment;
+        private final long visibleAt;
+        private long deletedAt = -1;
+
+        private AssignmentRecord(String instanceArn, AccountAssignment assignment, long visibleAt) {
+            this.instanceArn = instanceArn;
+            this.assignment = assignment;
+            this.visibleAt = visibleAt;
+        }
+
+        private boolean exists() {
+            return deletedAt < 0;
+        }
+
+        private boolean isVisible() {
+            return InMemorySsoAdminClient.this.isVisible(visibleAt, deletedAt);
+        }
+    }
+
+    private final class AbacRecord {
+        private final long visibleAt;
+        private InstanceAccessControlAttributeConfiguration configuration;
+        private long deletedAt = -1;
+
+        private AbacRecord(InstanceAccessControlAttributeConfiguration configuration, long visibleAt) {
+            this.configuration = configuration;
+            this.visibleAt = visibleAt;
+        }
+
+        private boolean exists() {
+            return deletedAt < 0;
+        }
+
+        private boolean isVisible() {
+            return InMemorySsoAdminClient.this.isVisible(visibleAt, deletedAt);
+        }
+    }
+
+    /**
+     * Asynchronous request of the service, IN_PROGRESS until {@code completedAt}.
+     */
+    private static final class Workflow {
+        private final String requestId;
+        private final Instant createdDate;
+        private final long completedAt;
+        private final boolean failed;
+        private AccountAssignment assignment;
+        private String targetType;
+        private String permissionSetArn;
+        private String targetId;
+
+        private Workflow(String requestId, Instant createdDate, long completedAt, boolean failed) {
+            this.requestId = requestId;
+            this.createdDate = createdDate;
+            this.completedAt = completedAt;
+            this.failed = failed;
+        }
+
+        private StatusValues status(Instant now) {
+            if (now.toEpochMilli() < completedAt) {
+                return StatusValues.IN_PROGRESS;
+            }
+            return failed ? StatusValues.FAILED : StatusValues.SUCCEEDED;
+        }
+    }
+}
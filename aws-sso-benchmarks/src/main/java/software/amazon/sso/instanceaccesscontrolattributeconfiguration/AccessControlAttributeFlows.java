@@ -0,0 +1,37 @@
+package software.amazon.sso.instanceaccesscontrolattributeconfiguration;
+
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.benchmarks.HandlerDriver;
+
+import static software.amazon.sso.instanceaccesscontrolattributeconfiguration.BaseHandlerStd.RETRY_ATTEMPTS_MAX;
+
+/**
+ * ABAC configuration handlers run to completion through a {@link HandlerDriver}. Lives in the handlers' package to
+ * reach their protected entry point that takes the client.
+ */
+public final class AccessControlAttributeFlows {
+
+    private AccessControlAttributeFlows() {
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> create(HandlerDriver driver, ResourceModel model) {
+        return run(driver, new CreateHandler(), model);
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> read(HandlerDriver driver, ResourceModel model) {
+        return run(driver, new ReadHandler(), model);
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> delete(HandlerDriver driver, ResourceModel model) {
+        return run(driver, new DeleteHandler(), model);
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> run(HandlerDriver driver, BaseHandlerStd handler, ResourceModel model) {
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        return driver.run(context -> handler.handleRequest(driver.getProxy(), request, context, driver.getProxyClient(), driver.getLogger()),
+                new CallbackContext(RETRY_ATTEMPTS_MAX));
+    }
+}
@@ -0,0 +1,58 @@
+package software.amazon.sso.instanceaccesscontrolattributeconfiguration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparison of the desired and the described configuration that Create and Update run while stabilizing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslatorBenchmark {
+
+    private static final int ATTRIBUTE_COUNT = 50;
+
+    private ResourceModel desired;
+    private ResourceModel described;
+
+    @Setup
+    public void setup() {
+        List<AccessControlAttribute> attributes = new ArrayList<>();
+        for (int i = 0; i < ATTRIBUTE_COUNT; i++) {
+            attributes.add(AccessControlAttribute.builder()
+                    .key("attribute" + i)
+                    .value(AccessControlAttributeValue.builder()
+                            .source(Arrays.asList("${path:enterprise.attribute" + i + "}", "${path:name.attribute" + i + "}"))
+                            .build())
+                    .build());
+        }
+        List<AccessControlAttribute> reversed = new ArrayList<>(attributes);
+        Collections.reverse(reversed);
+
+        desired = ResourceModel.builder().accessControlAttributes(attributes).build();
+        described = ResourceModel.builder().accessControlAttributes(reversed).build();
+    }
+
+    @Benchmark
+    public boolean accessControlAttributeConfigsIsEquals() {
+        return Translator.accessControlAttributeConfigsIsEquals(desired, described);
+    }
+}
@@ -0,0 +1,45 @@
+package software.amazon.sso.permissionset;
+
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.benchmarks.HandlerDriver;
+
+/**
+ * Permission set handlers run to completion through a {@link HandlerDriver}. Lives in the handlers' package to reach
+ * their protected entry point that takes the client.
+ */
+public final class PermissionSetFlows {
+
+    private PermissionSetFlows() {
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> create(HandlerDriver driver, ResourceModel model) {
+        return run(driver, new CreateHandler(), request(model, null));
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> read(HandlerDriver driver, ResourceModel model) {
+        return run(driver, new ReadHandler(), request(model, null));
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> update(HandlerDriver driver, ResourceModel previous, ResourceModel desired) {
+        return run(driver, new UpdateHandler(), request(desired, previous));
+    }
+
+    public static ProgressEvent<ResourceModel, CallbackContext> delete(HandlerDriver driver, ResourceModel model) {
+        return run(driver, new DeleteHandler(), request(model, null));
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> run(HandlerDriver driver, BaseHandlerStd handler,
+                                                                     ResourceHandlerRequest<ResourceModel> request) {
+        handler.asyncProxyClient = driver.getAsyncProxyClient();
+        return driver.run(context -> handler.handleRequest(driver.getProxy(), request, context, driver.getProxyClient(), driver.getLogger()),
+                new CallbackContext());
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(ResourceModel desired, ResourceModel previous) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desired)
+                .previousResourceState(previous)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package software.amazon.sso.permissionset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translations the permission set handlers run on every invocation. Lives in the translator's package since the
+ * methods are package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslatorBenchmark {
+
+    private static final int TAG_COUNT = 50;
+
+    private Map<String, Object> inlinePolicy;
+    private List<Tag> modelTags;
+    private List<software.amazon.awssdk.services.ssoadmin.model.Tag> ssoTags;
+
+    @Setup
+    public void setup() {
+        List<Object> statements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> statement = new HashMap<>();
+            statement.put("Sid", "Statement" + i);
+            statement.put("Effect", "Allow");
+            statement.put("Action", Collections.singletonList("s3:GetObject"));
+            statement.put("Resource", "arn:aws:s3:::bucket-" + i + "/*");
+            statements.add(statement);
+        }
+        inlinePolicy = new HashMap<>();
+        inlinePolicy.put("Version", "2012-10-17");
+        inlinePolicy.put("Statement", statements);
+
+        modelTags = new ArrayList<>();
+        ssoTags = new ArrayList<>();
+        for (int i = 0; i < TAG_COUNT; i++) {
+            modelTags.add(Tag.builder().key("key" + i).value("value" + i).build());
+            ssoTags.add(software.amazon.awssdk.services.ssoadmin.model.Tag.builder().key("key" + i).value("value" + i).build());
+        }
+    }
+
+    @Benchmark
+    public String processInlinePolicy() {
+        return Translator.processInlinePolicy(inlinePolicy);
+    }
+
+    @Benchmark
+    public List<software.amazon.awssdk.services.ssoadmin.model.Tag> convertToSSOTag() {
+        return Translator.ConvertToSSOTag(modelTags);
+    }
+
+    @Benchmark
+    public List<Tag> convertToModelTag() {
+        return Translator.ConvertToModelTag(ssoTags);
+    }
+}
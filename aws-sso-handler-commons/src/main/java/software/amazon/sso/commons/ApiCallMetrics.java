@@ -0,0 +1,172 @@
+package software.amazon.sso.commons;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.sso.commons.ApiCallMetrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every SSO Admin call of one invocation: operation, latency, outcome, pages listed and whether the same
+ * request had been sent before. The handler gets a client wrapped by {@link #instrument}, synchronous or asynchronous,
+ * and {@link #flush} writes one CloudWatch Embedded Metric Format line per operation through the handler logger once
+ * the invocation is done.
+ */
+public class ApiCallMetrics {
+
+    static final String NAMESPACE = "SSO/CloudFormationHandlers";
+    // EMF accepts at most 100 values per metric in one line
+    private static final int MAX_LATENCY_VALUES = 100;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String resourceType;
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final Map<Object, Object> instrumented = new IdentityHashMap<>();
+
+    /**
+     * @param resourceType CloudFormation type the calls are made for, the ResourceType dimension of every metric
+     */
+    public ApiCallMetrics(final String resourceType) {
+        this.resourceType = resourceType;
+    }
+
+    /**
+     * Client of {@code type} that records every call it passes on to {@code client}. Asynchronous calls are recorded
+     * when their future completes.
+     */
+    public synchronized <T> T instrument(final T client, final Class<T> type) {
+        return type.cast(instrumented.computeIfAbsent(client, delegate -> Proxy.newProxyInstance(type.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> invoke(delegate, method, args))));
+    }
+
+    /**
+     * Writes the calls recorded so far and starts over.
+     */
+    public void flush(final Logger logger) {
+        final Map<String, OperationMetrics> recorded = new TreeMap<>(operations);
+        operations.clear();
+        attempts.clear();
+        for (Map.Entry<String, OperationMetrics> operation : recorded.entrySet()) {
+            try {
+                logger.log(OBJECT_MAPPER.writeValueAsString(operation.getValue().toEmf(resourceType, operation.getKey())));
+            } catch (JsonProcessingException e) {
+                logger.log(String.format("Could not write metrics of %s: %s", operation.getKey(), e.getMessage()));
+            }
+        }
+    }
+
+    private Object invoke(final Object client, final Method method, final Object[] args) throws Throwable {
+        if (args == null || args.length != 1 || !(args[0] instanceof SdkRequest)) {
+            return invokeDirect(client, method, args);
+        }
+        final String operation = Character.toUpperCase(method.getName().charAt(0)) + method.getName().substring(1);
+        final boolean retry = attempts.merge(operation + args[0], 1, Integer::sum) > 1;
+        final long start = System.nanoTime();
+        final Object result;
+        try {
+            result = invokeDirect(client, method, args);
+        } catch (Throwable e) {
+            record(operation, start, retry, e);
+            throw e;
+        }
+        if (result instanceof CompletableFuture) {
+            return ((CompletableFuture<?>) result).whenComplete((response, error) -> record(operation, start, retry, error));
+        }
+        record(operation, start, retry, null);
+        return result;
+    }
+
+    private void record(final String operation, final long start, final boolean retry, final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        operations.computeIfAbsent(operation, key -> new OperationMetrics())
+                .add(System.nanoTime() - start, retry, cause, operation.startsWith("List"));
+    }
+
+    private static Object invokeDirect(final Object client, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(client, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class OperationMetrics {
+        private int calls;
+        private int throttles;
+        private int errors;
+        private int retries;
+        private int pages;
+        private final List<Double> latencies = new ArrayList<>();
+
+        private synchronized void add(final long latencyNanos, final boolean retry, final Throwable error, final boolean paged) {
+            calls++;
+            if (latencies.size() < MAX_LATENCY_VALUES) {
+                latencies.add(TimeUnit.NANOSECONDS.toMicros(latencyNanos) / 1000.0);
+            }
+            if (retry) {
+                retries++;
+            }
+            if (error instanceof ThrottlingException) {
+                throttles++;
+            } else if (error != null) {
+                errors++;
+            } else if (paged) {
+                pages++;
+            }
+        }
+
+        private synchronized Map<String, Object> toEmf(final String resourceType, final String operation) {
+            final List<Map<String, String>> metrics = new ArrayList<>();
+            for (String count : Arrays.asList("Calls", "Throttles", "Errors", "Retries", "Pages")) {
+                metrics.add(metric(count, "Count"));
+            }
+            metrics.add(metric("Latency", "Milliseconds"));
+
+            final Map<String, Object> directive = new LinkedHashMap<>();
+            directive.put("Namespace", NAMESPACE);
+            directive.put("Dimensions", Collections.singletonList(Arrays.asList("ResourceType", "Operation")));
+            directive.put("Metrics", metrics);
+
+            final Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("Timestamp", System.currentTimeMillis());
+            metadata.put("CloudWatchMetrics", Collections.singletonList(directive));
+
+            final Map<String, Object> line = new LinkedHashMap<>();
+            line.put("_aws", metadata);
+            line.put("ResourceType", resourceType);
+            line.put("Operation", operation);
+            line.put("Calls", calls);
+            line.put("Throttles", throttles);
+            line.put("Errors", errors);
+            line.put("Retries", retries);
+            line.put("Pages", pages);
+            line.put("Latency", new ArrayList<>(latencies));
+            return line;
+        }
+
+        private static Map<String, String> metric(final String name, final String unit) {
+            final Map<String, String> metric = new LinkedHashMap<>();
+            metric.put("Name", name);
+            metric.put("Unit", unit);
+            return metric;
+        }
+    }
+}
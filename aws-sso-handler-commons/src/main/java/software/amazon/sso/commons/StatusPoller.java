@@ -0,0 +1,150 @@
+package software.amazon.sso.commons;
+
+import software.amazon.cloudformation.proxy.Delay;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Paces the status polls of an asynchronous SSO workflow, such as an account assignment creation or a permission set
+ * provisioning. The first poll waits until the workflow has run about as long as the operation usually takes, later
+ * polls back off exponentially up to a cap. How long the operation usually takes is learned from the workflows that
+ * completed in this container, for as long as the container stays warm.
+ */
+public class StatusPoller {
+
+    // Gaps between polls once the expected time has passed
+    static final long MIN_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    static final long BACKOFF_CAP_MILLIS = TimeUnit.SECONDS.toMillis(20);
+    // A workflow running longer than this counts as stuck, and the proxy stops waiting for it
+    static final long TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(2);
+    // Learned durations are used from MIN_SAMPLES workflows on, and only the latest MAX_SAMPLES are kept
+    static final int MIN_SAMPLES = 5;
+    static final int MAX_SAMPLES = 200;
+
+    private static final Map<String, Samples> OBSERVED = new ConcurrentHashMap<>();
+
+    private final String operation;
+    private final long defaultExpectedMillis;
+    private final LongSupplier clock;
+
+    public StatusPoller(final String operation, final long defaultExpectedMillis) {
+        this(operation, defaultExpectedMillis, System::currentTimeMillis);
+    }
+
+    public StatusPoller(final String operation, final long defaultExpectedMillis, final LongSupplier clock) {
+        this.operation = operation;
+        this.defaultExpectedMillis = defaultExpectedMillis;
+        this.clock = clock;
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Median duration of the operation in this container, or the default until enough workflows have completed.
+     */
+    public long getExpectedMillis() {
+        final Samples samples = OBSERVED.get(operation);
+        return samples != null && samples.size() >= MIN_SAMPLES ? samples.percentile(50) : defaultExpectedMillis;
+    }
+
+    /**
+     * Whether a workflow started at {@code startedAt} has run long enough to be worth polling.
+     */
+    public boolean isDue(final long startedAt) {
+        return now() - startedAt >= getExpectedMillis();
+    }
+
+    /**
+     * Wait before the next poll of a workflow started at {@code startedAt}. Until the workflow is expected to be done,
+     * that is the time left to then. After that it is as long as the workflow has been overdue, kept between
+     * {@link #MIN_DELAY_MILLIS} and {@link #BACKOFF_CAP_MILLIS}, so the gaps double from poll to poll.
+     */
+    public long nextDelayMillis(final long startedAt) {
+        final long elapsed = now() - startedAt;
+        final long expected = getExpectedMillis();
+        if (elapsed < expected) {
+            return Math.max(expected - elapsed, MIN_DELAY_MILLIS);
+        }
+        return Math.min(Math.max(elapsed - expected, MIN_DELAY_MILLIS), BACKOFF_CAP_MILLIS);
+    }
+
+    /**
+     * Backoff for the stabilization loop of the proxy, which waits in whole seconds. It reads the start of the
+     * workflow when asked, since the workflow starts after the backoff is set up. It returns zero, which makes the
+     * proxy give up, once the workflow has run into {@link #TIMEOUT_MILLIS}.
+     */
+    public Delay delay(final LongSupplier startedAt) {
+        return attempt -> {
+            final long started = startedAt.getAsLong();
+            if (started <= 0) {
+                return Duration.ofMillis(MIN_DELAY_MILLIS);
+            }
+            if (now() - started > TIMEOUT_MILLIS) {
+                return Duration.ZERO;
+            }
+            return Duration.ofSeconds(toSeconds(nextDelayMillis(started)));
+        };
+    }
+
+    /**
+     * Learns from a workflow that has just been seen to complete. It finished at some point after it was last seen
+     * running, or after it started if it never was, so the middle of that interval is taken as its end. Taking the
+     * poll that saw it done instead would only ever push the expected duration up. Logs the observed percentiles.
+     */
+    public void completed(final long startedAt, final long lastSeenRunningAt, final Logger logger) {
+        if (startedAt <= 0) {
+            return;
+        }
+        final long now = now();
+        final long duration = (Math.max(startedAt, lastSeenRunningAt) + now) / 2 - startedAt;
+        final Samples samples = OBSERVED.computeIfAbsent(operation, key -> new Samples());
+        samples.add(duration);
+        logger.log(String.format("%s completed after about %d ms, observed in this container: %s",
+                operation, duration, samples.report()));
+    }
+
+    /**
+     * Callback delay in whole seconds, rounded up so that no poll is made before it is due.
+     */
+    public static int toSeconds(final long millis) {
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(millis + 999));
+    }
+
+    /**
+     * The latest durations of one operation, oldest overwritten first.
+     */
+    private static final class Samples {
+        private final long[] durations = new long[MAX_SAMPLES];
+        private int count;
+        private int next;
+
+        synchronized void add(final long duration) {
+            durations[next] = duration;
+            next = (next + 1) % MAX_SAMPLES;
+            count = Math.min(count + 1, MAX_SAMPLES);
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        synchronized long percentile(final int percent) {
+            final long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            return sorted[Math.max((int) Math.ceil(percent / 100.0 * count) - 1, 0)];
+        }
+
+        synchronized String report() {
+            return String.format("p50 %d ms, p90 %d ms, p99 %d ms over %d workflows",
+                    percentile(50), percentile(90), percentile(99), count);
+        }
+    }
+}
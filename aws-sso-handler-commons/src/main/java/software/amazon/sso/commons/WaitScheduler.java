@@ -0,0 +1,108 @@
+package software.amazon.sso.commons;
+
+import com.amazonaws.services.lambda.runtime.Context;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides where a handler waits. A short wait that fits in the time the invocation has left is spent in process, so
+ * the operation carries on without a round trip through CloudFormation. Anything longer is handed to CloudFormation
+ * as a callback delay, so that an invocation never runs into its timeout while it waits.
+ *
+ * <p>The time left is the one Lambda reports for the invocation, registered by the handler wrapper through
+ * {@link #startInvocation}. Without it, as for handlers invoked directly, no wait is spent in process.
+ */
+public class WaitScheduler {
+
+    // Kept free after a wait for the calls that follow it and for returning the progress event
+    static final long RESERVE_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    // Longer waits would idle away more of the invocation than the callback round trip costs
+    static final long MAX_IN_PROCESS_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    // A Lambda container serves one invocation at a time
+    private static volatile LongSupplier invocationRemainingMillis;
+
+    private final LongSupplier remainingMillis;
+
+    /**
+     * @param remainingMillis time left in the invocation, or null if it is not known
+     */
+    public WaitScheduler(final LongSupplier remainingMillis) {
+        this.remainingMillis = remainingMillis;
+    }
+
+    /**
+     * Registers the Lambda context of the invocation that starts now, for the schedulers handed out until
+     * {@link #endInvocation}.
+     */
+    public static void startInvocation(final Context context) {
+        invocationRemainingMillis = context::getRemainingTimeInMillis;
+    }
+
+    public static void endInvocation() {
+        invocationRemainingMillis = null;
+    }
+
+    /**
+     * Scheduler for the current invocation.
+     */
+    public static WaitScheduler forInvocation() {
+        return new WaitScheduler(invocationRemainingMillis);
+    }
+
+    public boolean isDeadlineKnown() {
+        return remainingMillis != null;
+    }
+
+    /**
+     * Time left in the invocation, or -1 if it is not known.
+     */
+    public long getRemainingMillis() {
+        return remainingMillis != null ? remainingMillis.getAsLong() : -1;
+    }
+
+    /**
+     * Whether a wait of {@code waitMillis} still leaves the invocation its reserve. Any wait does if the time left is
+     * not known.
+     */
+    public boolean fits(final long waitMillis) {
+        return remainingMillis == null || waitMillis + RESERVE_MILLIS <= remainingMillis.getAsLong();
+    }
+
+    /**
+     * Whether a wait of {@code waitMillis} should be spent in this invocation rather than in a callback.
+     */
+    public boolean isInProcess(final long waitMillis) {
+        return isDeadlineKnown() && waitMillis <= MAX_IN_PROCESS_WAIT_MILLIS && fits(waitMillis);
+    }
+
+    /**
+     * Sleeps for {@code waitMillis} if the wait should be spent in this invocation.
+     *
+     * @return whether it was; if not, the caller hands the wait to a callback
+     */
+    public boolean awaitInProcess(final long waitMillis) {
+        return isInProcess(waitMillis) && sleep(waitMillis);
+    }
+
+    /**
+     * Sleeps for {@code waitMillis} if the wait fits in this invocation, for handlers that cannot hand a wait to a
+     * callback, such as a standalone read.
+     *
+     * @return whether it did; if not, the caller gives up instead of running into the invocation timeout
+     */
+    public boolean awaitIfFits(final long waitMillis) {
+        return fits(waitMillis) && sleep(waitMillis);
+    }
+
+    private static boolean sleep(final long waitMillis) {
+        try {
+            Thread.sleep(waitMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
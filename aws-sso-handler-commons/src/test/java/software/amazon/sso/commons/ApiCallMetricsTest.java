@@ -0,0 +1,144 @@
+package software.amazon.sso.commons;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListAccountAssignmentsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ApiCallMetricsTest {
+
+    private static final String RESOURCE_TYPE = "AWS::SSO::Assignment";
+    private static final String INSTANCE_ARN = "arn:aws:sso:::instance/ssoins-1111111111111111";
+    private static final String PERMISSION_SET_ARN = "arn:aws:sso:::permissionSet/ssoins-1111111111111111/ps-2222222222222222";
+
+    @Test
+    public void flush_WritesOneEmfLinePerOperation() throws Exception {
+        final SsoAdminClient sso = mock(SsoAdminClient.class);
+        final Logger logger = mock(Logger.class);
+        final ListAccountAssignmentsRequest request = ListAccountAssignmentsRequest.builder().accountId("012345678901").build();
+        when(sso.listAccountAssignments(request))
+                .thenThrow(ThrottlingException.builder().message("Rate exceeded").build())
+                .thenReturn(ListAccountAssignmentsResponse.builder().build());
+
+        final ApiCallMetrics metrics = new ApiCallMetrics(RESOURCE_TYPE);
+        final SsoAdminClient client = metrics.instrument(sso, SsoAdminClient.class);
+        assertThat(metrics.instrument(sso, SsoAdminClient.class)).isSameAs(client);
+        assertThatThrownBy(() -> client.listAccountAssignments(request)).isInstanceOf(ThrottlingException.class);
+        client.listAccountAssignments(request);
+        metrics.flush(logger);
+
+        final JsonNode line = onlyLine(logger);
+        assertThat(line.get("_aws").get("CloudWatchMetrics").get(0).get("Namespace").asText()).isEqualTo(ApiCallMetrics.NAMESPACE);
+        assertThat(line.get("ResourceType").asText()).isEqualTo(RESOURCE_TYPE);
+        assertThat(line.get("Operation").asText()).isEqualTo("ListAccountAssignments");
+        assertThat(line.get("Calls").asInt()).isEqualTo(2);
+        assertThat(line.get("Throttles").asInt()).isEqualTo(1);
+        assertThat(line.get("Retries").asInt()).isEqualTo(1);
+        assertThat(line.get("Pages").asInt()).isEqualTo(1);
+        assertThat(line.get("Latency")).hasSize(2);
+    }
+
+    @Test
+    public void flush_CountsFailedCallsAsErrors() throws Exception {
+        final SsoAdminClient sso = mock(SsoAdminClient.class);
+        final Logger logger = mock(Logger.class);
+        final DescribeInstanceAccessControlAttributeConfigurationRequest request = DescribeInstanceAccessControlAttributeConfigurationRequest.builder()
+                .instanceArn(INSTANCE_ARN)
+                .build();
+        when(sso.describeInstanceAccessControlAttributeConfiguration(request))
+                .thenReturn(DescribeInstanceAccessControlAttributeConfigurationResponse.builder().build())
+                .thenThrow(ResourceNotFoundException.builder().message("Not found").build());
+
+        final ApiCallMetrics metrics = new ApiCallMetrics(RESOURCE_TYPE);
+        final SsoAdminClient client = metrics.instrument(sso, SsoAdminClient.class);
+        client.describeInstanceAccessControlAttributeConfiguration(request);
+        assertThatThrownBy(() -> client.describeInstanceAccessControlAttributeConfiguration(request))
+                .isInstanceOf(ResourceNotFoundException.class);
+        metrics.flush(logger);
+
+        final JsonNode line = onlyLine(logger);
+        assertThat(line.get("Operation").asText()).isEqualTo("DescribeInstanceAccessControlAttributeConfiguration");
+        assertThat(line.get("Calls").asInt()).isEqualTo(2);
+        assertThat(line.get("Errors").asInt()).isEqualTo(1);
+        assertThat(line.get("Throttles").asInt()).isEqualTo(0);
+        // not a listing, so no page is counted
+        assertThat(line.get("Pages").asInt()).isEqualTo(0);
+    }
+
+    @Test
+    public void flush_RecordsAsyncCallsWhenTheirFutureCompletes() throws Exception {
+        final SsoAdminAsyncClient ssoAsync = mock(SsoAdminAsyncClient.class);
+        final Logger logger = mock(Logger.class);
+        final ListManagedPoliciesInPermissionSetRequest request = ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(INSTANCE_ARN)
+                .permissionSetArn(PERMISSION_SET_ARN)
+                .build();
+        final CompletableFuture<ListManagedPoliciesInPermissionSetResponse> throttled = new CompletableFuture<>();
+        final CompletableFuture<ListManagedPoliciesInPermissionSetResponse> listed = new CompletableFuture<>();
+        when(ssoAsync.listManagedPoliciesInPermissionSet(request)).thenReturn(throttled, listed);
+
+        final ApiCallMetrics metrics = new ApiCallMetrics(RESOURCE_TYPE);
+        final SsoAdminAsyncClient client = metrics.instrument(ssoAsync, SsoAdminAsyncClient.class);
+        final CompletableFuture<ListManagedPoliciesInPermissionSetResponse> first = client.listManagedPoliciesInPermissionSet(request)
+                .thenApply(response -> response);
+        final CompletableFuture<ListManagedPoliciesInPermissionSetResponse> second = client.listManagedPoliciesInPermissionSet(request);
+
+        // nothing is recorded while the calls are in flight
+        metrics.flush(logger);
+        verifyZeroInteractions(logger);
+
+        throttled.completeExceptionally(ThrottlingException.builder().message("Rate exceeded").build());
+        listed.complete(ListManagedPoliciesInPermissionSetResponse.builder().build());
+        assertThatThrownBy(first::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(ThrottlingException.class);
+        second.join();
+        metrics.flush(logger);
+
+        final JsonNode line = onlyLine(logger);
+        assertThat(line.get("Operation").asText()).isEqualTo("ListManagedPoliciesInPermissionSet");
+        assertThat(line.get("Calls").asInt()).isEqualTo(2);
+        assertThat(line.get("Throttles").asInt()).isEqualTo(1);
+        assertThat(line.get("Errors").asInt()).isEqualTo(0);
+        assertThat(line.get("Retries").asInt()).isEqualTo(1);
+        assertThat(line.get("Pages").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    public void flush_NothingRecorded_WritesNothing() {
+        final Logger logger = mock(Logger.class);
+
+        new ApiCallMetrics(RESOURCE_TYPE).flush(logger);
+
+        verifyZeroInteractions(logger);
+    }
+
+    private static JsonNode onlyLine(final Logger logger) throws Exception {
+        final ArgumentCaptor<String> lines = ArgumentCaptor.forClass(String.class);
+        verify(logger, times(1)).log(lines.capture());
+        return new ObjectMapper().readTree(lines.getValue());
+    }
+}
@@ -0,0 +1,127 @@
+package software.amazon.sso.commons;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.sso.commons.CountingProxyClient;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * ProxyClient over a scripted SsoAdminClient that counts the calls made per operation, for the API call budget tests
+ * of the handler modules. Each operation a test expects gets a responder through {@link #on}; any other call fails the
+ * test.
+ */
+public class CountingProxyClient implements ProxyClient<SsoAdminClient> {
+
+    private final AmazonWebServicesClientProxy proxy;
+    private final SsoAdminClient client;
+    private final Map<Class<?>, Function<AwsRequest, ?>> responders = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    public CountingProxyClient(final AmazonWebServicesClientProxy proxy) {
+        this.proxy = proxy;
+        this.client = (SsoAdminClient) Proxy.newProxyInstance(SsoAdminClient.class.getClassLoader(),
+                new Class<?>[]{SsoAdminClient.class}, (target, method, args) -> respond(target, method, args));
+    }
+
+    /**
+     * Answers every request of {@code requestType} with {@code responder}. Responders may throw to script errors.
+     */
+    public <RequestT extends AwsRequest> CountingProxyClient on(final Class<RequestT> requestType,
+                                                                final Function<RequestT, ? extends AwsResponse> responder) {
+        responders.put(requestType, request -> responder.apply(requestType.cast(request)));
+        return this;
+    }
+
+    public int totalCalls() {
+        return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    public Map<String, Integer> callCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        calls.forEach((operation, count) -> counts.put(operation, count.get()));
+        return counts;
+    }
+
+    public void reset() {
+        calls.clear();
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(RequestT request, Function<RequestT, ResponseT> requestFunction) {
+        return proxy.injectCredentialsAndInvokeV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+    CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT
+    injectCredentialsAndInvokeIterableV2(RequestT request, Function<RequestT, IterableT> requestFunction) {
+        return proxy.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+    injectCredentialsAndInvokeV2InputStream(RequestT requestT, Function<RequestT, ResponseInputStream<ResponseT>> function) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+    injectCredentialsAndInvokeV2Bytes(RequestT requestT, Function<RequestT, ResponseBytes<ResponseT>> function) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SsoAdminClient client() {
+        return client;
+    }
+
+    private Object respond(final Object target, final Method method, final Object[] args) {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return target == args[0];
+                case "hashCode":
+                    return System.identityHashCode(target);
+                default:
+                    return "CountingSsoAdminClient" + callCounts();
+            }
+        }
+        if (args == null || args.length != 1 || !(args[0] instanceof AwsRequest)) {
+            if ("serviceName".equals(method.getName())) {
+                return SsoAdminClient.SERVICE_NAME;
+            } else if ("close".equals(method.getName())) {
+                return null;
+            }
+            throw new AssertionError("Unexpected call to " + method.getName());
+        }
+        String operation = Character.toUpperCase(method.getName().charAt(0)) + method.getName().substring(1);
+        calls.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+        Function<AwsRequest, ?> responder = responders.get(args[0].getClass());
+        if (responder == null) {
+            throw new AssertionError("No response scripted for " + operation);
+        }
+        return responder.apply((AwsRequest) args[0]);
+    }
+}
@@ -0,0 +1,100 @@
+package software.amazon.sso.commons;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Delay;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class StatusPollerTest {
+
+    private static final long DEFAULT_EXPECTED_MILLIS = 4000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    public void firstPoll_WaitsForExpectedCompletion() {
+        final StatusPoller poller = new StatusPoller("FirstPoll", DEFAULT_EXPECTED_MILLIS, clock::get);
+        final long startedAt = clock.get();
+
+        assertThat(poller.isDue(startedAt)).isFalse();
+        assertThat(poller.nextDelayMillis(startedAt)).isEqualTo(DEFAULT_EXPECTED_MILLIS);
+
+        clock.addAndGet(DEFAULT_EXPECTED_MILLIS);
+        assertThat(poller.isDue(startedAt)).isTrue();
+    }
+
+    @Test
+    public void laterPolls_BackOffExponentiallyUpToCap() {
+        final StatusPoller poller = new StatusPoller("Backoff", DEFAULT_EXPECTED_MILLIS, clock::get);
+        final long startedAt = clock.get();
+        clock.addAndGet(DEFAULT_EXPECTED_MILLIS);
+
+        long previous = 0;
+        for (int poll = 0; poll < 10; poll++) {
+            long delay = poller.nextDelayMillis(startedAt);
+            assertThat(delay).isBetween(StatusPoller.MIN_DELAY_MILLIS, StatusPoller.BACKOFF_CAP_MILLIS);
+            assertThat(delay).isGreaterThanOrEqualTo(previous);
+            previous = delay;
+            clock.addAndGet(delay);
+        }
+        assertThat(previous).isEqualTo(StatusPoller.BACKOFF_CAP_MILLIS);
+    }
+
+    @Test
+    public void expectedTime_LearnedFromCompletedWorkflows() {
+        final StatusPoller poller = new StatusPoller("Learned", DEFAULT_EXPECTED_MILLIS, clock::get);
+
+        for (int i = 0; i < StatusPoller.MIN_SAMPLES; i++) {
+            long startedAt = clock.get();
+            clock.addAndGet(1000);
+            long seenRunningAt = clock.get();
+            clock.addAndGet(1000);
+            poller.completed(startedAt, seenRunningAt, mock(Logger.class));
+        }
+
+        // done between the poll that saw it running after 1 s and the one that saw it done after 2 s
+        assertThat(poller.getExpectedMillis()).isEqualTo(1500);
+    }
+
+    @Test
+    public void delay_BeforeWorkflowStarted_WaitsMinimum() {
+        final StatusPoller poller = new StatusPoller("NotStarted", DEFAULT_EXPECTED_MILLIS, clock::get);
+        final AtomicLong startedAt = new AtomicLong();
+        final Delay delay = poller.delay(startedAt::get);
+
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofMillis(StatusPoller.MIN_DELAY_MILLIS));
+
+        // the workflow is started after the backoff was set up
+        startedAt.set(clock.get());
+        assertThat(delay.nextDelay(2)).isEqualTo(Duration.ofSeconds(4));
+    }
+
+    @Test
+    public void delay_RoundsUpToWholeSeconds() {
+        final StatusPoller poller = new StatusPoller("Rounding", DEFAULT_EXPECTED_MILLIS, clock::get);
+        final long startedAt = clock.get();
+        final Delay delay = poller.delay(() -> startedAt);
+
+        clock.addAndGet(DEFAULT_EXPECTED_MILLIS + StatusPoller.MIN_DELAY_MILLIS + 1);
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(StatusPoller.toSeconds(0)).isEqualTo(1);
+        assertThat(StatusPoller.toSeconds(1000)).isEqualTo(1);
+    }
+
+    @Test
+    public void delay_GivesUpAfterTimeout() {
+        final StatusPoller poller = new StatusPoller("Timeout", DEFAULT_EXPECTED_MILLIS, clock::get);
+        final long startedAt = clock.get();
+        final Delay delay = poller.delay(() -> startedAt);
+
+        assertThat(delay.nextDelay(1)).isEqualTo(Duration.ofSeconds(4));
+
+        clock.addAndGet(StatusPoller.TIMEOUT_MILLIS + 1);
+        assertThat(delay.nextDelay(2)).isEqualTo(Duration.ZERO);
+    }
+}
@@ -0,0 +1,71 @@
+package software.amazon.sso.commons;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WaitSchedulerTest {
+
+    private static final long INVOCATION_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    @AfterEach
+    public void tearDown() {
+        WaitScheduler.endInvocation();
+    }
+
+    @Test
+    public void shortWait_WithTimeLeft_WaitsInProcess() {
+        final WaitScheduler scheduler = new WaitScheduler(() -> INVOCATION_MILLIS);
+
+        assertThat(scheduler.isInProcess(0)).isTrue();
+        assertThat(scheduler.isInProcess(WaitScheduler.MAX_IN_PROCESS_WAIT_MILLIS)).isTrue();
+        assertThat(scheduler.awaitInProcess(1)).isTrue();
+    }
+
+    @Test
+    public void longWait_GoesToCallback() {
+        final WaitScheduler scheduler = new WaitScheduler(() -> INVOCATION_MILLIS);
+
+        assertThat(scheduler.isInProcess(WaitScheduler.MAX_IN_PROCESS_WAIT_MILLIS + 1)).isFalse();
+        assertThat(scheduler.awaitInProcess(300_000)).isFalse();
+        // still fits for a handler that has no callback to hand it to
+        assertThat(scheduler.fits(WaitScheduler.MAX_IN_PROCESS_WAIT_MILLIS + 1)).isTrue();
+    }
+
+    @Test
+    public void waitPastDeadline_GoesToCallback() {
+        final WaitScheduler scheduler = new WaitScheduler(() -> WaitScheduler.RESERVE_MILLIS + 500);
+
+        assertThat(scheduler.isInProcess(500)).isTrue();
+        assertThat(scheduler.isInProcess(1000)).isFalse();
+        assertThat(scheduler.awaitInProcess(1000)).isFalse();
+        assertThat(scheduler.awaitIfFits(1000)).isFalse();
+    }
+
+    @Test
+    public void unknownDeadline_NeverWaitsInProcess() {
+        final WaitScheduler scheduler = WaitScheduler.forInvocation();
+
+        assertThat(scheduler.isDeadlineKnown()).isFalse();
+        assertThat(scheduler.isInProcess(0)).isFalse();
+        assertThat(scheduler.fits(TimeUnit.HOURS.toMillis(1))).isTrue();
+    }
+
+    @Test
+    public void forInvocation_ReadsTimeLeftFromLambdaContext() {
+        final Context context = mock(Context.class);
+        when(context.getRemainingTimeInMillis()).thenReturn(30_000, 5_000);
+        WaitScheduler.startInvocation(context);
+
+        final WaitScheduler scheduler = WaitScheduler.forInvocation();
+
+        assertThat(scheduler.getRemainingMillis()).isEqualTo(30_000);
+        assertThat(scheduler.isInProcess(1000)).isFalse();
+    }
+}
@@ -1,18 +1,29 @@
 package software.amazon.sso.instanceaccesscontrolattributeconfiguration;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
-import software.amazon.cloudformation.LambdaWrapper;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.sso.commons.ApiCallMetrics;
+import software.amazon.sso.commons.WaitScheduler;
 
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 /**
@@ -24,19 +35,30 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
   public final static int RETRY_ATTEMPTS_MAX = 5;
   protected static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
+  private static final String PRIMING_ARN = "arn:aws:sso:::priming";
+  // Runs while the class is initialised, i.e. during Lambda init and before the first invocation is billed
+  private static final long PRIMING_NANOS = prime();
+  private static final AtomicBoolean STARTUP_REPORTED = new AtomicBoolean();
+
   @Override
   public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
           final AmazonWebServicesClientProxy proxy,
           final ResourceHandlerRequest<ResourceModel> request,
           final CallbackContext callbackContext,
           final Logger logger) {
-    return handleRequest(
-            proxy,
-            request,
-            callbackContext != null ? callbackContext : new CallbackContext(RETRY_ATTEMPTS_MAX),
-            proxy.newProxy(()-> getClient()),
-            logger
-    );
+    reportStartup(logger);
+    final ApiCallMetrics metrics = new ApiCallMetrics(ResourceModel.TYPE_NAME);
+    try {
+      return runWithinInvocation(
+              proxy,
+              request,
+              callbackContext != null ? callbackContext : new CallbackContext(RETRY_ATTEMPTS_MAX),
+              proxy.newProxy(timedClientSupplier(logger, metrics)),
+              logger
+      );
+    } finally {
+      metrics.flush(logger);
+    }
   }
 
   protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -46,10 +68,109 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
           final ProxyClient<SsoAdminClient> proxyClient,
           final Logger logger);
 
-  private static SsoAdminClient getClient() {
-    return SsoAdminClient.builder()
-            .httpClient(LambdaWrapper.HTTP_CLIENT)
-            .build();
+  /**
+   * Runs the handler and, for as long as it asks for a callback short enough to wait out in this invocation, waits
+   * and runs it again with the model and context it returned, as CloudFormation would on the callback. The first
+   * delay the {@link WaitScheduler} hands to a callback goes back to CloudFormation.
+   */
+  private ProgressEvent<ResourceModel, CallbackContext> runWithinInvocation(
+          final AmazonWebServicesClientProxy proxy,
+          final ResourceHandlerRequest<ResourceModel> request,
+          final CallbackContext callbackContext,
+          final ProxyClient<SsoAdminClient> proxyClient,
+          final Logger logger) {
+    final WaitScheduler waitScheduler = WaitScheduler.forInvocation();
+    ProgressEvent<ResourceModel, CallbackContext> progress = handleRequest(proxy, request, callbackContext, proxyClient, logger);
+    while (progress.getStatus() == OperationStatus.IN_PROGRESS
+            && waitScheduler.awaitInProcess(TimeUnit.SECONDS.toMillis(progress.getCallbackDelaySeconds()))) {
+      logger.log(String.format("Waited %d s in process, %d ms of the invocation left.",
+              progress.getCallbackDelaySeconds(), waitScheduler.getRemainingMillis()));
+      if (progress.getResourceModel() != null) {
+        request.setDesiredResourceState(progress.getResourceModel());
+      }
+      progress = handleRequest(proxy, request,
+              progress.getCallbackContext() != null ? progress.getCallbackContext() : callbackContext, proxyClient, logger);
+    }
+    return progress;
+  }
+
+  /**
+   * Hands out the container-wide client instrumented for this invocation, timing the first time an invocation asks
+   * for it.
+   */
+  private Supplier<SsoAdminClient> timedClientSupplier(final Logger logger, final ApiCallMetrics metrics) {
+    final AtomicBoolean measured = new AtomicBoolean();
+    return () -> {
+      if (measured.getAndSet(true)) {
+        return metrics.instrument(ClientBuilder.getClient(), SsoAdminClient.class);
+      }
+      final boolean warm = ClientBuilder.isClientInitialized();
+      final long setupStart = System.nanoTime();
+      final SsoAdminClient client = ClientBuilder.getClient();
+      onClientSetup(logger, warm, System.nanoTime() - setupStart);
+      return metrics.instrument(client, SsoAdminClient.class);
+    };
+  }
+
+  /**
+   * Called once per invocation that uses the client with the time it took to get it ready, logged by default so
+   * that cold and warm containers can be compared.
+   */
+  protected void onClientSetup(final Logger logger, final boolean warm, final long setupNanos) {
+    logger.log(String.format("SSO Admin client setup took %d us on a %s container.",
+            TimeUnit.NANOSECONDS.toMicros(setupNanos), warm ? "warm" : "cold"));
+  }
+
+  /**
+   * Loads and exercises what every invocation needs before it can make its first call: the Jackson serializers of the
+   * model and the callback context, the translators and the SDK request models with their field metadata. Sample
+   * data only, nothing is sent over the network. Priming is best effort; if it fails the first invocation simply
+   * pays for the class loading instead.
+   */
+  private static long prime() {
+    final long start = System.nanoTime();
+    try {
+      final Serializer serializer = new Serializer();
+      final ResourceModel model = ResourceModel.builder()
+              .instanceArn(PRIMING_ARN)
+              .accessControlAttributes(Collections.singletonList(AccessControlAttribute.builder()
+                      .key("priming")
+                      .value(AccessControlAttributeValue.builder()
+                              .source(Collections.singletonList("${path:name.givenName}"))
+                              .build())
+                      .build()))
+              .build();
+      roundTrip(serializer, model, new TypeReference<ResourceModel>() {});
+      roundTrip(serializer, new CallbackContext(RETRY_ATTEMPTS_MAX), new TypeReference<CallbackContext>() {});
+      touch(Translator.translateToCreateRequest(model));
+      touch(Translator.translateToDescribeRequest(model));
+      touch(Translator.translateToUpdateRequest(model));
+      touch(Translator.translateToDeleteRequest(model));
+    } catch (final Exception e) {
+      // best effort, see above
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static <T> void roundTrip(final Serializer serializer, final T value, final TypeReference<T> type) throws Exception {
+    serializer.deserialize(serializer.serialize(value), type);
+  }
+
+  private static void touch(final SdkPojo request) {
+    for (SdkField<?> field : request.sdkFields()) {
+      field.getValueOrDefault(request);
+    }
+  }
+
+  /**
+   * Logs once per container how long after JVM start the first invocation arrived and how much of that went into
+   * priming, so that cold starts can be compared across changes.
+   */
+  private static void reportStartup(final Logger logger) {
+    if (STARTUP_REPORTED.compareAndSet(false, true)) {
+      logger.log(String.format("First invocation of this container %d ms after JVM start, priming took %d ms.",
+              ManagementFactory.getRuntimeMXBean().getUptime(), TimeUnit.NANOSECONDS.toMillis(PRIMING_NANOS)));
+    }
   }
 
   protected int getRetryTime(Exception exception) {
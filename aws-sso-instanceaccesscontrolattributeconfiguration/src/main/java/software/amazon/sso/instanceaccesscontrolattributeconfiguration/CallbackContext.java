@@ -13,9 +13,13 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 public class CallbackContext extends StdCallbackContext {
     public final static int RETRY_ATTEMPTS = 5;
     private int retryAttempts;
+    private int readThrottlingAttempts;
+    private int readIseAttempts;
 
     public CallbackContext(int retryAttempts) {
         this.retryAttempts = retryAttempts;
+        this.readThrottlingAttempts = RETRY_ATTEMPTS;
+        this.readIseAttempts = RETRY_ATTEMPTS;
     }
 
     public CallbackContext() {
@@ -26,4 +30,14 @@ public class CallbackContext extends StdCallbackContext {
     public void decrementRetryAttempts() {
         retryAttempts--;
     }
+
+    @JsonIgnore
+    public void decrementReadThrottlingAttempts() {
+        readThrottlingAttempts--;
+    }
+
+    @JsonIgnore
+    public void decrementReadIseAttempts() {
+        readIseAttempts--;
+    }
 }
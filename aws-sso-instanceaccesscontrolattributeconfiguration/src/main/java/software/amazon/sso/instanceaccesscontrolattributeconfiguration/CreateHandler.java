@@ -89,6 +89,6 @@ public class CreateHandler extends BaseHandlerStd {
                                     }
                                 })
                                 .progress()
-                ).then(progress -> new ReadHandler().handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
+                ).then(progress -> new ReadHandler(true).handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 }
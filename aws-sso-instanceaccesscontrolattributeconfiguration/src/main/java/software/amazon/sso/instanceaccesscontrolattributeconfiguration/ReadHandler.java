@@ -14,6 +14,7 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.commons.WaitScheduler;
 
 import java.security.SecureRandom;
 
@@ -27,6 +28,20 @@ public class ReadHandler extends BaseHandlerStd {
     private static final String ISE_MESSAGE = "Something went wrong while performing READ call";
     private static final int MAX_RETRY = 5;
     private Logger logger;
+    private final boolean callbackRetry;
+
+    public ReadHandler() {
+        this(false);
+    }
+
+    /**
+     * With {@code callbackRetry} set, throttling and ISE are retried by returning IN_PROGRESS with the attempts
+     * left tracked in the callback context instead of sleeping. Only reads chained from Create or Update may do
+     * this; a standalone read has to complete within a single invocation.
+     */
+    ReadHandler(boolean callbackRetry) {
+        this.callbackRetry = callbackRetry;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -40,6 +55,12 @@ public class ReadHandler extends BaseHandlerStd {
         return proxy.initiate("sso::describeInstanceAccessControlAttributeConfiguration", proxyClient, request.getDesiredResourceState(), callbackContext)
                 .translateToServiceRequest(Translator::translateToDescribeRequest)
                 .makeServiceCall((describeRequest, client) -> {
+                    if (callbackRetry) {
+                        DescribeInstanceAccessControlAttributeConfigurationResponse response = proxy.injectCredentialsAndInvokeV2(describeRequest,
+                                client.client()::describeInstanceAccessControlAttributeConfiguration);
+                        logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+                        return response;
+                    }
                     DescribeInstanceAccessControlAttributeConfigurationResponse response = null;
                     int throttlingReadAttempts = MAX_RETRY;
                     int iseReadAttempts = MAX_RETRY;
@@ -72,6 +93,18 @@ public class ReadHandler extends BaseHandlerStd {
                         return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.AccessDenied);
                     } else if (exception instanceof ValidationException) {
                         return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
+                    } else if (callbackRetry && exception instanceof ThrottlingException) {
+                        context.decrementReadThrottlingAttempts();
+                        if (context.getReadThrottlingAttempts() == RETRY_ATTEMPTS_ZERO) {
+                            return ProgressEvent.defaultFailureHandler(ThrottlingException.builder().message(THROTTLE_MESSAGE).build(), HandlerErrorCode.Throttling);
+                        }
+                        return ProgressEvent.defaultInProgressHandler(context, getReadRetryDelay(), model);
+                    } else if (callbackRetry && exception instanceof InternalServerException) {
+                        context.decrementReadIseAttempts();
+                        if (context.getReadIseAttempts() == RETRY_ATTEMPTS_ZERO) {
+                            return ProgressEvent.defaultFailureHandler(InternalServerException.builder().message(ISE_MESSAGE).build(), HandlerErrorCode.InternalFailure);
+                        }
+                        return ProgressEvent.defaultInProgressHandler(context, getReadRetryDelay(), model);
                     } else if (exception instanceof ThrottlingException) {
                         return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.Throttling);
                     } else {
@@ -84,17 +117,20 @@ public class ReadHandler extends BaseHandlerStd {
                 });
     }
 
+    /**
+     * Callback delay matching the in-process wait, between 1 and 5 seconds.
+     */
+    private int getReadRetryDelay() {
+        return SECURE_RANDOM.ints(1, 5).findFirst().getAsInt();
+    }
+
     /**
      * Decrement context and wait for some time
      * Should wait between 1 and 5 second in case got throttled.
      */
     private int decrementAndWait(int attempts) {
         int timeToWait = SECURE_RANDOM.ints(1000, 5000).findFirst().getAsInt();
-        try {
-            Thread.sleep(timeToWait);
-        } catch (InterruptedException e) {
-            // Ignore if fail sleep
-        }
-        return attempts - 1;
+        // Out of attempts once the wait no longer fits in the invocation, so the read fails instead of timing out
+        return WaitScheduler.forInvocation().awaitIfFits(timeToWait) ? attempts - 1 : RETRY_ATTEMPTS_ZERO;
     }
 }
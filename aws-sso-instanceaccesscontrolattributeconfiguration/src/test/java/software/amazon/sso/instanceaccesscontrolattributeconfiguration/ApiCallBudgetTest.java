@@ -0,0 +1,117 @@
+package software.amazon.sso.instanceaccesscontrolattributeconfiguration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssoadmin.model.CreateInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreateInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribeInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.awssdk.services.ssoadmin.model.InstanceAccessControlAttributeConfigurationStatus;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.UpdateInstanceAccessControlAttributeConfigurationRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UpdateInstanceAccessControlAttributeConfigurationResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.commons.CountingProxyClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upper bounds on the SSO Admin calls each handler makes for a successful operation.
+ */
+public class ApiCallBudgetTest extends AbstractTestBase {
+
+    private AmazonWebServicesClientProxy proxy;
+    private CountingProxyClient proxyClient;
+    private boolean enabled;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = new CountingProxyClient(proxy);
+        proxyClient
+                .on(CreateInstanceAccessControlAttributeConfigurationRequest.class, request -> {
+                    enabled = true;
+                    return CreateInstanceAccessControlAttributeConfigurationResponse.builder().build();
+                })
+                .on(UpdateInstanceAccessControlAttributeConfigurationRequest.class, request ->
+                        UpdateInstanceAccessControlAttributeConfigurationResponse.builder().build())
+                .on(DeleteInstanceAccessControlAttributeConfigurationRequest.class, request -> {
+                    enabled = false;
+                    return DeleteInstanceAccessControlAttributeConfigurationResponse.builder().build();
+                })
+                .on(DescribeInstanceAccessControlAttributeConfigurationRequest.class, request -> {
+                    if (!enabled) {
+                        throw ResourceNotFoundException.builder().message("Not found").build();
+                    }
+                    return DescribeInstanceAccessControlAttributeConfigurationResponse.builder()
+                            .instanceAccessControlAttributeConfiguration(ssoAccessControlAttributeConfiguration)
+                            .status(InstanceAccessControlAttributeConfigurationStatus.ENABLED)
+                            .build();
+                });
+    }
+
+    @Test
+    public void create_StaysWithinBudget() {
+        enabled = false;
+
+        run(new CreateHandler());
+
+        // create, one stabilization describe, the chained read
+        assertWithinBudget("Create", 3);
+    }
+
+    @Test
+    public void read_StaysWithinBudget() {
+        enabled = true;
+
+        run(new ReadHandler());
+
+        assertWithinBudget("Read", 1);
+    }
+
+    @Test
+    public void update_StaysWithinBudget() {
+        enabled = true;
+
+        run(new UpdateHandler());
+
+        // update, one stabilization describe, the chained read
+        assertWithinBudget("Update", 3);
+    }
+
+    @Test
+    public void delete_StaysWithinBudget() {
+        enabled = true;
+
+        run(new DeleteHandler());
+
+        // delete, one describe confirming it is gone
+        assertWithinBudget("Delete", 2);
+    }
+
+    private void run(final BaseHandlerStd handler) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .accessControlAttributes(expectedModel.getAccessControlAttributes())
+                        .instanceArn(SSO_INSTANCE_ARN)
+                        .build())
+                .build();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(response.getStatus()).as("%s: %s", handler.getClass().getSimpleName(), response.getMessage())
+                .isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    private void assertWithinBudget(final String operation, final int budget) {
+        assertThat(proxyClient.totalCalls())
+                .as("%s made %s", operation, proxyClient.callCounts())
+                .isLessThanOrEqualTo(budget);
+    }
+}
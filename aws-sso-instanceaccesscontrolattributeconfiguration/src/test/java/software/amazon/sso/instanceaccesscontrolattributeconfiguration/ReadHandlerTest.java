@@ -287,6 +287,60 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_chained_ThrottlingException_retried_in_callback() {
+
+        final ReadHandler handler = new ReadHandler(true);
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceAccessControlAttributeConfiguration(cfAccessControlAttributeConfiguration)
+                .instanceArn(SSO_INSTANCE_ARN)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(describeRequest, proxyClient.client()::describeInstanceAccessControlAttributeConfiguration))
+                .thenThrow(ThrottlingException.builder().build());
+
+        final CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(1, 5);
+        assertThat(response.getResourceModel()).isEqualTo(model);
+        assertThat(context.getReadThrottlingAttempts()).isEqualTo(CallbackContext.RETRY_ATTEMPTS - 1);
+    }
+
+    @Test
+    public void handleRequest_chained_InternalServerException_attempts_exhausted() {
+
+        final ReadHandler handler = new ReadHandler(true);
+
+        final ResourceModel model = ResourceModel.builder()
+                .instanceAccessControlAttributeConfiguration(cfAccessControlAttributeConfiguration)
+                .instanceArn(SSO_INSTANCE_ARN)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(describeRequest, proxyClient.client()::describeInstanceAccessControlAttributeConfiguration))
+                .thenThrow(InternalServerException.builder().build());
+
+        final CallbackContext context = new CallbackContext();
+        context.setReadIseAttempts(1);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InternalFailure);
+    }
+
     @Test
     public void handleRequest_unexpected_exception_then_CfnInternalFailureException() {
 
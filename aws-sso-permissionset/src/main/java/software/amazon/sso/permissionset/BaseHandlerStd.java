@@ -1,5 +1,9 @@
 package software.amazon.sso.permissionset;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AccessDeniedException;
 import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
@@ -10,11 +14,22 @@ import software.amazon.awssdk.services.ssoadmin.model.ValidationException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.sso.commons.ApiCallMetrics;
+import software.amazon.sso.commons.WaitScheduler;
 
+import java.lang.management.ManagementFactory;
 import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
@@ -23,19 +38,34 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
   protected static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
+  private static final String PRIMING_ARN = "arn:aws:sso:::priming";
+  // Runs while the class is initialised, i.e. during Lambda init and before the first invocation is billed
+  private static final long PRIMING_NANOS = prime();
+  private static final AtomicBoolean STARTUP_REPORTED = new AtomicBoolean();
+
+  // Only set on the Lambda entry point; handlers invoked directly keep to the synchronous client
+  protected ProxyClient<SsoAdminAsyncClient> asyncProxyClient;
+
   @Override
   public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
     final AmazonWebServicesClientProxy proxy,
     final ResourceHandlerRequest<ResourceModel> request,
     final CallbackContext callbackContext,
     final Logger logger) {
-    return handleRequest(
-      proxy,
-      request,
-      callbackContext != null ? callbackContext : new CallbackContext(),
-      proxy.newProxy(ClientBuilder::getClient),
-      logger
-    );
+    reportStartup(logger);
+    final ApiCallMetrics metrics = new ApiCallMetrics(ResourceModel.TYPE_NAME);
+    asyncProxyClient = proxy.newProxy(() -> metrics.instrument(ClientBuilder.getAsyncClient(), SsoAdminAsyncClient.class));
+    try {
+      return runWithinInvocation(
+        proxy,
+        request,
+        callbackContext != null ? callbackContext : new CallbackContext(),
+        proxy.newProxy(timedClientSupplier(logger, metrics)),
+        logger
+      );
+    } finally {
+      metrics.flush(logger);
+    }
   }
 
   protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -45,6 +75,118 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
           final ProxyClient<SsoAdminClient> client,
           final Logger logger);
 
+  /**
+   * Runs the handler and, for as long as it asks for a callback short enough to wait out in this invocation, waits
+   * and runs it again with the model and context it returned, as CloudFormation would on the callback. The first
+   * delay the {@link WaitScheduler} hands to a callback goes back to CloudFormation.
+   */
+  private ProgressEvent<ResourceModel, CallbackContext> runWithinInvocation(
+    final AmazonWebServicesClientProxy proxy,
+    final ResourceHandlerRequest<ResourceModel> request,
+    final CallbackContext callbackContext,
+    final ProxyClient<SsoAdminClient> proxyClient,
+    final Logger logger) {
+    final WaitScheduler waitScheduler = WaitScheduler.forInvocation();
+    ProgressEvent<ResourceModel, CallbackContext> progress = handleRequest(proxy, request, callbackContext, proxyClient, logger);
+    while (progress.getStatus() == OperationStatus.IN_PROGRESS
+            && waitScheduler.awaitInProcess(TimeUnit.SECONDS.toMillis(progress.getCallbackDelaySeconds()))) {
+      logger.log(String.format("Waited %d s in process, %d ms of the invocation left.",
+              progress.getCallbackDelaySeconds(), waitScheduler.getRemainingMillis()));
+      if (progress.getResourceModel() != null) {
+        request.setDesiredResourceState(progress.getResourceModel());
+      }
+      progress = handleRequest(proxy, request,
+              progress.getCallbackContext() != null ? progress.getCallbackContext() : callbackContext, proxyClient, logger);
+    }
+    return progress;
+  }
+
+  /**
+   * Hands out the container-wide client instrumented for this invocation, timing the first time an invocation asks
+   * for it.
+   */
+  private Supplier<SsoAdminClient> timedClientSupplier(final Logger logger, final ApiCallMetrics metrics) {
+    final AtomicBoolean measured = new AtomicBoolean();
+    return () -> {
+      if (measured.getAndSet(true)) {
+        return metrics.instrument(ClientBuilder.getClient(), SsoAdminClient.class);
+      }
+      final boolean warm = ClientBuilder.isClientInitialized();
+      final long setupStart = System.nanoTime();
+      final SsoAdminClient client = ClientBuilder.getClient();
+      onClientSetup(logger, warm, System.nanoTime() - setupStart);
+      return metrics.instrument(client, SsoAdminClient.class);
+    };
+  }
+
+  /**
+   * Called once per invocation that uses the client with the time it took to get it ready, logged by default so
+   * that cold and warm containers can be compared.
+   */
+  protected void onClientSetup(final Logger logger, final boolean warm, final long setupNanos) {
+    logger.log(String.format("SSO Admin client setup took %d us on a %s container.",
+            TimeUnit.NANOSECONDS.toMicros(setupNanos), warm ? "warm" : "cold"));
+  }
+
+  /**
+   * Loads and exercises what every invocation needs before it can make its first call: the Jackson serializers of the
+   * model and the callback context, the translators and the SDK request models with their field metadata. Sample
+   * data only, nothing is sent over the network. Priming is best effort; if it fails the first invocation simply
+   * pays for the class loading instead.
+   */
+  private static long prime() {
+    final long start = System.nanoTime();
+    try {
+      final Serializer serializer = new Serializer();
+      final Map<String, Object> policy = new HashMap<>();
+      policy.put("Version", "2012-10-17");
+      policy.put("Statement", Collections.emptyList());
+      final ResourceModel model = ResourceModel.builder()
+              .instanceArn(PRIMING_ARN)
+              .permissionSetArn(PRIMING_ARN)
+              .name("priming")
+              .description("priming")
+              .sessionDuration("PT1H")
+              .managedPolicies(Collections.singletonList("arn:aws:iam::aws:policy/ReadOnlyAccess"))
+              .inlinePolicy(policy)
+              .tags(Collections.singletonList(Tag.builder().key("key").value("value").build()))
+              .build();
+      roundTrip(serializer, model, new TypeReference<ResourceModel>() {});
+      roundTrip(serializer, new CallbackContext(), new TypeReference<CallbackContext>() {});
+      Translator.processInlinePolicy(policy);
+      touch(Translator.translateToCreateRequest(model));
+      touch(Translator.translateToReadRequest(model));
+      touch(Translator.translateToUpdateRequest(model));
+      touch(Translator.translateToDeleteRequest(model));
+      touch(Translator.translateToProvsionPermissionSetRequest(model));
+      touch(Translator.translateToListRequest(PRIMING_ARN, null));
+    } catch (final Exception e) {
+      // best effort, see above
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static <T> void roundTrip(final Serializer serializer, final T value, final TypeReference<T> type) throws Exception {
+    serializer.deserialize(serializer.serialize(value), type);
+  }
+
+  private static void touch(final SdkPojo request) {
+    for (SdkField<?> field : request.sdkFields()) {
+      field.getValueOrDefault(request);
+    }
+  }
+
+  /**
+   * Logs once per container how long after JVM start the first invocation arrived and how much of that went into
+   * priming, so that cold starts can be compared across changes.
+   */
+  private static void reportStartup(final Logger logger) {
+    if (STARTUP_REPORTED.compareAndSet(false, true)) {
+      logger.log(String.format("First invocation of this container %d ms after JVM start, priming took %d ms.",
+              ManagementFactory.getRuntimeMXBean().getUptime(), TimeUnit.NANOSECONDS.toMillis(PRIMING_NANOS)));
+    }
+  }
+
   protected int getRetryTime(Exception exception) {
     IntStream possibleNumber;
     if (exception instanceof ThrottlingException) {
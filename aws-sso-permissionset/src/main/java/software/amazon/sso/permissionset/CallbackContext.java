@@ -3,6 +3,9 @@ package software.amazon.sso.permissionset;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @lombok.Getter
 @lombok.Setter
 @lombok.ToString
@@ -11,16 +14,63 @@ public class CallbackContext extends StdCallbackContext {
     private boolean tagUpdated;
     private boolean managedPolicyUpdated;
     private boolean inlinePolicyUpdated;
+    // Managed policy changes planned by the first attempt of the managed policy step and the policies done so far,
+    // so a retry makes only the calls left without listing and diffing again
+    private List<String> managedPoliciesToDetach;
+    private List<String> managedPoliciesToAttach;
+    private List<String> completedManagedPolicyArns = new ArrayList<>();
+    // Whether that plan assumed a freshly created permission set with nothing attached instead of listing, and whether
+    // any of its calls has been made since, in which case a retry can no longer assume so
+    private boolean managedPolicyPlanAssumedEmpty;
+    private boolean managedPolicyPlanStarted;
+    // Whether the managed policy step attached or detached anything, which then has to be provisioned even if the
+    // template left the managed policies as they were
+    private boolean managedPoliciesChanged;
     private int retryAttempts;
     private boolean handlerInvoked;
+    private boolean readHandlerInvoked;
+    private int readThrottlingAttempts;
+    private int readIseAttempts;
+    // Provisioning this update waits on: the one it issued or adopted, and one of another caller that is in the way
+    private String provisioningRequestId;
+    private String blockingProvisioningRequestId;
+    private int provisioningPolls;
+    private long changesAppliedAt;
+    // When that provisioning started and when it was last seen running, to pace and learn status polls
+    private long statusPollStartedAt;
+    private long statusPollSeenRunningAt;
 
     @JsonIgnore
     public void decrementRetryAttempts() {
         retryAttempts--;
     }
 
+    @JsonIgnore
+    public void decrementReadThrottlingAttempts() {
+        readThrottlingAttempts--;
+    }
+
+    @JsonIgnore
+    public void decrementReadIseAttempts() {
+        readIseAttempts--;
+    }
+
     @JsonIgnore
     public void resetRetryAttempts(int retryAttempts) {
         this.retryAttempts = retryAttempts;
     }
+
+    @JsonIgnore
+    public boolean isManagedPolicyChangePlanned() {
+        return managedPoliciesToDetach != null && managedPoliciesToAttach != null;
+    }
+
+    @JsonIgnore
+    public void clearManagedPolicyChanges() {
+        managedPoliciesToDetach = null;
+        managedPoliciesToAttach = null;
+        completedManagedPolicyArns.clear();
+        managedPolicyPlanAssumedEmpty = false;
+        managedPolicyPlanStarted = false;
+    }
 }
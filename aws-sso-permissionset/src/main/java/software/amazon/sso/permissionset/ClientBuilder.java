@@ -1,12 +1,47 @@
 package software.amazon.sso.permissionset;
 
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.cloudformation.LambdaWrapper;
 
 public class ClientBuilder {
+  // Built by the first invocation of the container and reused by the warm ones, credentials are injected per request
+  private static volatile SsoAdminClient client;
+  // The async client owns its own event loop, so it is kept for the life of the container as well
+  private static volatile SsoAdminAsyncClient asyncClient;
+
   public static SsoAdminClient getClient() {
-      return SsoAdminClient.builder()
-              .httpClient(LambdaWrapper.HTTP_CLIENT)
-              .build();
+    if (client == null) {
+      synchronized (ClientBuilder.class) {
+        if (client == null) {
+          client = buildClient();
+        }
+      }
+    }
+    return client;
+  }
+
+  public static SsoAdminAsyncClient getAsyncClient() {
+    if (asyncClient == null) {
+      synchronized (ClientBuilder.class) {
+        if (asyncClient == null) {
+          asyncClient = SsoAdminAsyncClient.builder().build();
+        }
+      }
+    }
+    return asyncClient;
+  }
+
+  public static boolean isClientInitialized() {
+    return client != null;
+  }
+
+  /**
+   * Builds a client that is not shared, which is what every invocation used to pay for.
+   */
+  public static SsoAdminClient buildClient() {
+    return SsoAdminClient.builder()
+            .httpClient(LambdaWrapper.HTTP_CLIENT)
+            .build();
   }
 }
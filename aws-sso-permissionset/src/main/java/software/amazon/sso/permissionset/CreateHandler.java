@@ -31,7 +31,7 @@ public class CreateHandler extends BaseHandlerStd {
         final Logger logger) {
 
         this.logger = logger;
-        ManagedPolicyAttachmentProxy managedPolicyAttachmentProxy = new ManagedPolicyAttachmentProxy(proxy, proxyClient);
+        ManagedPolicyAttachmentProxy managedPolicyAttachmentProxy = new ManagedPolicyAttachmentProxy(proxy, proxyClient, asyncProxyClient);
         InlinePolicyProxy inlinePolicyProxy = new InlinePolicyProxy(proxy, proxyClient);
 
         logger.log("Starting PermissionSet creation process.");
@@ -59,7 +59,7 @@ public class CreateHandler extends BaseHandlerStd {
                         })
                         .done((createPermissionSetRequest, createPermissionSetResponse, proxyInvocation, model, context) -> {
                             if (!StringUtils.isNullOrEmpty(createPermissionSetResponse.permissionSet().permissionSetArn())) {
-                                model.setPermissionSetArn(createPermissionSetResponse.permissionSet().permissionSetArn());
+                                Translator.mergeCreatedPermissionSet(model, createPermissionSetResponse.permissionSet());
                                 logger.log(String.format("%s successfully created.", ResourceModel.TYPE_NAME));
                                 //Reset the retry attempts for next action
                                 context.resetRetryAttempts(RETRY_ATTEMPTS);
@@ -74,9 +74,10 @@ public class CreateHandler extends BaseHandlerStd {
 
                     if (!callbackContext.isManagedPolicyUpdated()) {
                         try {
-                            managedPolicyAttachmentProxy.updateManagedPolicyAttachment(model.getInstanceArn(),
+                            managedPolicyAttachmentProxy.attachManagedPoliciesToNewPermissionSet(model.getInstanceArn(),
                                     model.getPermissionSetArn(),
-                                    model.getManagedPolicies());
+                                    model.getManagedPolicies(),
+                                    callbackContext);
                         } catch (ThrottlingException | InternalServerException | ConflictException e) {
                             if (callbackContext.getRetryAttempts() == RETRY_ATTEMPTS_ZERO) {
                                 return ProgressEvent.defaultFailureHandler(e, mapExceptionToHandlerCode(e));
@@ -87,6 +88,7 @@ public class CreateHandler extends BaseHandlerStd {
                             return ProgressEvent.defaultFailureHandler(e2, HandlerErrorCode.InvalidRequest);
                         }
                         callbackContext.setManagedPolicyUpdated(true);
+                        callbackContext.clearManagedPolicyChanges();
                         //Reset the retry attempts for next action
                         callbackContext.resetRetryAttempts(RETRY_ATTEMPTS);
                     }
@@ -118,6 +120,7 @@ public class CreateHandler extends BaseHandlerStd {
                     logger.log("Inline policy added successfully.");
                     return progress;
                 })
-                .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+                //The create call returned the permission set and the rest was just written by this handler, so nothing is read back
+                .then(progress -> ProgressEvent.defaultSuccessHandler(Translator.translateFromWrittenModel(progress.getResourceModel())));
     }
 }
@@ -0,0 +1,27 @@
+package software.amazon.sso.permissionset;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import software.amazon.cloudformation.exceptions.TerminalException;
+import software.amazon.sso.commons.WaitScheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Lambda entry point. Wraps the generated HandlerWrapper to hand the time the invocation has left, as Lambda reports
+ * it, to the {@link WaitScheduler} the handlers consult before waiting in process.
+ */
+public class DeadlineHandlerWrapper extends HandlerWrapper {
+
+    @Override
+    public void handleRequest(final InputStream inputStream, final OutputStream outputStream, final Context context)
+            throws IOException, TerminalException {
+        WaitScheduler.startInvocation(context);
+        try {
+            super.handleRequest(inputStream, outputStream, context);
+        } finally {
+            WaitScheduler.endInvocation();
+        }
+    }
+}
@@ -1,15 +1,41 @@
 package software.amazon.sso.permissionset;
 
+import com.amazonaws.util.StringUtils;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.SsoAdminException;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
+import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.permissionset.actionProxy.InlinePolicyProxy;
+import software.amazon.sso.permissionset.actionProxy.ManagedPolicyAttachmentProxy;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static software.amazon.sso.permissionset.utils.Constants.LIST_HYDRATION_PARALLELISM;
+import static software.amazon.sso.permissionset.utils.Constants.LIST_HYDRATION_RETRY_MAX_MILLIS;
+import static software.amazon.sso.permissionset.utils.Constants.LIST_HYDRATION_RETRY_MIN_MILLIS;
+import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS;
+import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS_ZERO;
+import static software.amazon.sso.permissionset.utils.TagsUtil.getResourceTags;
 
 public class ListHandler extends BaseHandlerStd {
 
@@ -21,12 +47,131 @@ public class ListHandler extends BaseHandlerStd {
             final ProxyClient<SsoAdminClient> proxyClient,
             final Logger logger) {
 
+        final ResourceModel desired = request.getDesiredResourceState();
+        if (desired == null || StringUtils.isNullOrEmpty(desired.getInstanceArn())) {
+            return ProgressEvent.defaultFailureHandler(new CfnInvalidRequestException("InstanceArn is required to list permission sets."),
+                    HandlerErrorCode.InvalidRequest);
+        }
+        final String instanceArn = desired.getInstanceArn();
+
         final List<ResourceModel> models = new ArrayList<>();
-        models.add(request.getDesiredResourceState());
+        final String nextToken;
+        try {
+            ListPermissionSetsResponse response = proxy.injectCredentialsAndInvokeV2(
+                    Translator.translateToListRequest(instanceArn, request.getNextToken()),
+                    proxyClient.client()::listPermissionSets);
+            nextToken = response.nextToken();
+            if (response.permissionSets() != null) {
+                for (ResourceModel model : hydrate(response.permissionSets(), instanceArn, proxy, proxyClient).values()) {
+                    if (model != null) {
+                        models.add(model);
+                    }
+                }
+            }
+        } catch (SsoAdminException e) {
+            return ProgressEvent.defaultFailureHandler(e, mapExceptionToHandlerCode(e));
+        }
 
+        logger.log(String.format("%s listed %d permission sets of instance %s.", ResourceModel.TYPE_NAME, models.size(), instanceArn));
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(models)
+                .nextToken(nextToken)
                 .status(OperationStatus.SUCCESS)
                 .build();
     }
+
+    /**
+     * Reads every permission set of a page on a pool of at most {@code LIST_HYDRATION_PARALLELISM} threads so that
+     * a page of hundreds of permission sets is not read one call after another. Results keep the order of the page;
+     * a permission set deleted since it was listed maps to null and the first other failure is rethrown. A permission
+     * set whose read is throttled or hits an internal error is read again, so one busy call does not fail the page.
+     */
+    private Map<String, ResourceModel> hydrate(final List<String> permissionSetArns,
+                                               final String instanceArn,
+                                               final AmazonWebServicesClientProxy proxy,
+                                               final ProxyClient<SsoAdminClient> proxyClient) {
+        Map<String, ResourceModel> models = new LinkedHashMap<>();
+        if (permissionSetArns.isEmpty()) {
+            return models;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(LIST_HYDRATION_PARALLELISM, permissionSetArns.size()));
+        try {
+            Map<String, Future<ResourceModel>> futures = new LinkedHashMap<>();
+            for (String permissionSetArn : permissionSetArns) {
+                futures.put(permissionSetArn, executor.submit(() -> readPermissionSetWithRetry(instanceArn, permissionSetArn, proxy, proxyClient)));
+            }
+            RuntimeException failure = null;
+            for (Map.Entry<String, Future<ResourceModel>> entry : futures.entrySet()) {
+                try {
+                    models.put(entry.getKey(), await(entry.getValue()));
+                } catch (RuntimeException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return models;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResourceModel readPermissionSetWithRetry(final String instanceArn,
+                                                     final String permissionSetArn,
+                                                     final AmazonWebServicesClientProxy proxy,
+                                                     final ProxyClient<SsoAdminClient> proxyClient) {
+        int attempts = RETRY_ATTEMPTS;
+        while (true) {
+            try {
+                return readPermissionSet(instanceArn, permissionSetArn, proxy, proxyClient);
+            } catch (ThrottlingException | InternalServerException e) {
+                if (--attempts == RETRY_ATTEMPTS_ZERO) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(SECURE_RANDOM.ints(LIST_HYDRATION_RETRY_MIN_MILLIS, LIST_HYDRATION_RETRY_MAX_MILLIS).findFirst().getAsInt());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new CfnInternalFailureException(ie);
+                }
+            }
+        }
+    }
+
+    private ResourceModel readPermissionSet(final String instanceArn,
+                                            final String permissionSetArn,
+                                            final AmazonWebServicesClientProxy proxy,
+                                            final ProxyClient<SsoAdminClient> proxyClient) {
+        try {
+            DescribePermissionSetResponse response = proxy.injectCredentialsAndInvokeV2(DescribePermissionSetRequest.builder()
+                    .instanceArn(instanceArn)
+                    .permissionSetArn(permissionSetArn)
+                    .build(), proxyClient.client()::describePermissionSet);
+            List<Tag> tags = Translator.ConvertToModelTag(getResourceTags(instanceArn, permissionSetArn, proxy, proxyClient));
+
+            ResourceModel model = Translator.translateFromReadResponse(response, instanceArn, tags);
+            model.setManagedPolicies(new ManagedPolicyAttachmentProxy(proxy, proxyClient)
+                    .getAttachedManagedPolicies(instanceArn, permissionSetArn));
+            model.setInlinePolicy(new InlinePolicyProxy(proxy, proxyClient)
+                    .getInlinePolicyForPermissionSet(instanceArn, permissionSetArn));
+            return model;
+        } catch (ResourceNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CfnInternalFailureException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CfnInternalFailureException(e);
+        }
+    }
 }
@@ -1,9 +1,17 @@
 package software.amazon.sso.permissionset;
 
+import com.amazonaws.util.StringUtils;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AccessDeniedException;
+import software.amazon.awssdk.services.ssoadmin.model.AttachedManagedPolicy;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
 import software.amazon.awssdk.services.ssoadmin.model.ValidationException;
@@ -13,10 +21,14 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.commons.WaitScheduler;
 import software.amazon.sso.permissionset.actionProxy.InlinePolicyProxy;
 import software.amazon.sso.permissionset.actionProxy.ManagedPolicyAttachmentProxy;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS_ZERO;
@@ -27,6 +39,32 @@ public class ReadHandler extends BaseHandlerStd {
     private static final String ISE_MESSAGE = "Something went wrong while performing READ call";
     private Logger logger;
     private List<Tag> tags;
+    private List<String> managedPolicies;
+    private String inlinePolicy;
+    private boolean policiesRead;
+    private final boolean callbackRetry;
+
+    public ReadHandler() {
+        this(false);
+    }
+
+    /**
+     * With {@code callbackRetry} set, throttling and ISE are retried by returning IN_PROGRESS with the attempts
+     * left tracked in the callback context instead of sleeping in the handler. Only reads chained from Create or
+     * Update may do this; a standalone read has to complete within a single invocation.
+     */
+    ReadHandler(boolean callbackRetry) {
+        this(callbackRetry, null);
+    }
+
+    /**
+     * With an {@code asyncProxyClient} the describe, tag, managed policy and inline policy lookups are issued
+     * concurrently, so a read takes about as long as the slowest of them.
+     */
+    ReadHandler(boolean callbackRetry, ProxyClient<SsoAdminAsyncClient> asyncProxyClient) {
+        this.callbackRetry = callbackRetry;
+        this.asyncProxyClient = asyncProxyClient;
+    }
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
             final AmazonWebServicesClientProxy proxy,
@@ -43,24 +81,29 @@ public class ReadHandler extends BaseHandlerStd {
         ResourceModel model = request.getDesiredResourceState();
 
         tags = model.getTags();
+        policiesRead = false;
+
+        if (callbackRetry && !callbackContext.isReadHandlerInvoked()) {
+            callbackContext.setReadHandlerInvoked(true);
+            callbackContext.setReadThrottlingAttempts(RETRY_ATTEMPTS);
+            callbackContext.setReadIseAttempts(RETRY_ATTEMPTS);
+        }
 
         return ProgressEvent.progress(model, callbackContext)
                 .then(progress -> proxy.initiate("AWS-SSO-PermissionSet::Read", proxyClient, model, callbackContext)
                         .translateToServiceRequest(Translator::translateToReadRequest)
                         .makeServiceCall((readRequest, client) -> {
+                            if (callbackRetry) {
+                                DescribePermissionSetResponse response = readPermissionSet(readRequest, proxy, client);
+                                logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+                                return response;
+                            }
                             DescribePermissionSetResponse response = null;
                             int iseRetryAttempts = Integer.valueOf(RETRY_ATTEMPTS);
                             int throttlingReadAttempts = Integer.valueOf(RETRY_ATTEMPTS);
                             while (iseRetryAttempts > RETRY_ATTEMPTS_ZERO && throttlingReadAttempts > RETRY_ATTEMPTS_ZERO) {
                                 try {
-                                    response = proxy.injectCredentialsAndInvokeV2(readRequest, client.client()::describePermissionSet);
-                                    if (tags == null || tags.isEmpty()) {
-                                        tags = Translator.ConvertToModelTag(getResourceTags(readRequest.instanceArn(),
-                                                model.getPermissionSetArn(),
-                                                proxy,
-                                                proxyClient));
-                                    }
-
+                                    response = readPermissionSet(readRequest, proxy, client);
                                     logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
                                     break;
                                 } catch (ThrottlingException te) {
@@ -86,6 +129,8 @@ public class ReadHandler extends BaseHandlerStd {
                                 return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.AccessDenied);
                             } else if (exception instanceof ValidationException) {
                                 return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
+                            } else if (callbackRetry && (exception instanceof ThrottlingException || exception instanceof InternalServerException)) {
+                                return retryInCallback(exception, context, resourceModel);
                             } else if (exception instanceof ThrottlingException) {
                                 return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.Throttling);
                             } else {
@@ -100,6 +145,22 @@ public class ReadHandler extends BaseHandlerStd {
                 )
                 .then(progress -> {
                     ResourceModel outputModel = progress.getResourceModel();
+                    if (policiesRead) {
+                        outputModel.setManagedPolicies(managedPolicies);
+                        outputModel.setInlinePolicy(inlinePolicy);
+                        return ProgressEvent.defaultSuccessHandler(outputModel);
+                    }
+                    if (callbackRetry) {
+                        try {
+                            outputModel.setManagedPolicies(managedPolicyAttachmentProxy.getAttachedManagedPolicies(outputModel.getInstanceArn(),
+                                    outputModel.getPermissionSetArn()));
+                            outputModel.setInlinePolicy(inlinePolicyProxy.getInlinePolicyForPermissionSet(outputModel.getInstanceArn(),
+                                    outputModel.getPermissionSetArn()));
+                        } catch (ThrottlingException | InternalServerException e) {
+                            return retryInCallback(e, progress.getCallbackContext(), model);
+                        }
+                        return ProgressEvent.defaultSuccessHandler(outputModel);
+                    }
                     int iseRetryAttempts = Integer.valueOf(RETRY_ATTEMPTS);
                     int throttlingReadAttempts = Integer.valueOf(RETRY_ATTEMPTS);
                     while (iseRetryAttempts > RETRY_ATTEMPTS_ZERO && throttlingReadAttempts > RETRY_ATTEMPTS_ZERO) {
@@ -128,17 +189,129 @@ public class ReadHandler extends BaseHandlerStd {
                 });
     }
 
+    /**
+     * Describes the permission set and reads its tags unless the model already carries them. Through the async client
+     * the managed and inline policies are read alongside, so the policy step after the describe has nothing left to do.
+     */
+    private DescribePermissionSetResponse readPermissionSet(final DescribePermissionSetRequest readRequest,
+                                                            final AmazonWebServicesClientProxy proxy,
+                                                            final ProxyClient<SsoAdminClient> proxyClient) {
+        final String instanceArn = readRequest.instanceArn();
+        final String permissionSetArn = readRequest.permissionSetArn();
+        final boolean readTags = tags == null || tags.isEmpty();
+
+        if (asyncProxyClient == null) {
+            DescribePermissionSetResponse response = proxy.injectCredentialsAndInvokeV2(readRequest, proxyClient.client()::describePermissionSet);
+            if (readTags) {
+                tags = Translator.ConvertToModelTag(getResourceTags(instanceArn, permissionSetArn, proxy, proxyClient));
+            }
+            return response;
+        }
+
+        CompletableFuture<DescribePermissionSetResponse> describeFuture =
+                asyncProxyClient.injectCredentialsAndInvokeV2Async(readRequest, asyncProxyClient.client()::describePermissionSet);
+        CompletableFuture<List<software.amazon.awssdk.services.ssoadmin.model.Tag>> tagsFuture = readTags
+                ? listTagsAsync(instanceArn, permissionSetArn, null, new ArrayList<>())
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<List<String>> managedPoliciesFuture = listManagedPoliciesAsync(instanceArn, permissionSetArn, null, new ArrayList<>());
+        CompletableFuture<GetInlinePolicyForPermissionSetResponse> inlinePolicyFuture = asyncProxyClient.injectCredentialsAndInvokeV2Async(
+                GetInlinePolicyForPermissionSetRequest.builder()
+                        .instanceArn(instanceArn)
+                        .permissionSetArn(permissionSetArn)
+                        .build(),
+                asyncProxyClient.client()::getInlinePolicyForPermissionSet);
+
+        DescribePermissionSetResponse response = join(describeFuture);
+        if (readTags) {
+            tags = Translator.ConvertToModelTag(join(tagsFuture));
+        }
+        managedPolicies = join(managedPoliciesFuture);
+        inlinePolicy = join(inlinePolicyFuture).inlinePolicy();
+        policiesRead = true;
+        return response;
+    }
+
+    private CompletableFuture<List<software.amazon.awssdk.services.ssoadmin.model.Tag>> listTagsAsync(
+            final String instanceArn, final String permissionSetArn, final String nextToken,
+            final List<software.amazon.awssdk.services.ssoadmin.model.Tag> readTags) {
+        return asyncProxyClient.injectCredentialsAndInvokeV2Async(ListTagsForResourceRequest.builder()
+                        .instanceArn(instanceArn)
+                        .resourceArn(permissionSetArn)
+                        .nextToken(nextToken)
+                        .build(), asyncProxyClient.client()::listTagsForResource)
+                .thenCompose(result -> {
+                    if (result.tags() != null) {
+                        readTags.addAll(result.tags());
+                    }
+                    return StringUtils.isNullOrEmpty(result.nextToken())
+                            ? CompletableFuture.completedFuture(readTags)
+                            : listTagsAsync(instanceArn, permissionSetArn, result.nextToken(), readTags);
+                });
+    }
+
+    private CompletableFuture<List<String>> listManagedPoliciesAsync(final String instanceArn, final String permissionSetArn,
+                                                                     final String nextToken, final List<String> readPolicies) {
+        return asyncProxyClient.injectCredentialsAndInvokeV2Async(ListManagedPoliciesInPermissionSetRequest.builder()
+                        .instanceArn(instanceArn)
+                        .permissionSetArn(permissionSetArn)
+                        .nextToken(nextToken)
+                        .build(), asyncProxyClient.client()::listManagedPoliciesInPermissionSet)
+                .thenCompose(result -> {
+                    if (result.attachedManagedPolicies() != null) {
+                        for (AttachedManagedPolicy attachedManagedPolicy : result.attachedManagedPolicies()) {
+                            readPolicies.add(attachedManagedPolicy.arn());
+                        }
+                    }
+                    return StringUtils.isNullOrEmpty(result.nextToken())
+                            ? CompletableFuture.completedFuture(readPolicies)
+                            : listManagedPoliciesAsync(instanceArn, permissionSetArn, result.nextToken(), readPolicies);
+                });
+    }
+
+    /**
+     * Waits for an async call and rethrows the service exception it failed with, so the retry handling above sees
+     * the same exceptions as on the synchronous path.
+     */
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Spends one of the read attempts left in the context and asks to be called back after 1 to 5 seconds,
+     * failing once the attempts for that kind of error are used up.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> retryInCallback(final Exception exception,
+                                                                        final CallbackContext context,
+                                                                        final ResourceModel model) {
+        if (exception instanceof ThrottlingException) {
+            context.decrementReadThrottlingAttempts();
+            if (context.getReadThrottlingAttempts() == RETRY_ATTEMPTS_ZERO) {
+                return ProgressEvent.defaultFailureHandler(ThrottlingException.builder().message(THROTTLE_MESSAGE).build(), HandlerErrorCode.Throttling);
+            }
+        } else {
+            context.decrementReadIseAttempts();
+            if (context.getReadIseAttempts() == RETRY_ATTEMPTS_ZERO) {
+                return ProgressEvent.defaultFailureHandler(InternalServerException.builder().message(ISE_MESSAGE).build(), HandlerErrorCode.InternalFailure);
+            }
+        }
+        logger.log(String.format("%s read will be retried in a callback: %s", ResourceModel.TYPE_NAME, exception.getMessage()));
+        return ProgressEvent.defaultInProgressHandler(context, SECURE_RANDOM.ints(1, 5).findFirst().getAsInt(), model);
+    }
+
     /**
      * Decrement context and wait for some time
      * Should wait between 1 and 5 second in case got throttled.
      */
     private int decrementAndWait(int attempts) {
         int timeToWait = SECURE_RANDOM.ints(1000, 5000).findFirst().getAsInt();
-        try {
-            Thread.sleep(timeToWait);
-        } catch (InterruptedException e) {
-            // Ignore if fail sleep
-        }
-        return attempts - 1;
+        // Out of attempts once the wait no longer fits in the invocation, so the read fails instead of timing out
+        return WaitScheduler.forInvocation().awaitIfFits(timeToWait) ? attempts - 1 : RETRY_ATTEMPTS_ZERO;
     }
 }
@@ -6,6 +6,7 @@ import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetRequest
 import software.amazon.awssdk.services.ssoadmin.model.DeletePermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsRequest;
 import software.amazon.awssdk.services.ssoadmin.model.PermissionSet;
 import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ProvisionTargetType;
@@ -22,6 +23,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static software.amazon.sso.permissionset.utils.Constants.LIST_PAGE_SIZE;
+
 /**
  * This class is a centralized placeholder for
  *  - api request construction
@@ -83,6 +86,62 @@ public class Translator {
     return returnedModel;
   }
 
+  /**
+   * Copies what the create call returned for the permission set onto {@code model}, so that values the service filled
+   * in or normalized, such as the default session duration, are the ones reported.
+   */
+  static void mergeCreatedPermissionSet(final ResourceModel model, final PermissionSet created) {
+    model.setPermissionSetArn(created.permissionSetArn());
+    if (created.name() != null) {
+      model.setName(created.name());
+    }
+    if (created.description() != null) {
+      model.setDescription(created.description());
+    }
+    if (created.relayState() != null) {
+      model.setRelayStateType(created.relayState());
+    }
+    if (created.sessionDuration() != null) {
+      model.setSessionDuration(created.sessionDuration());
+    }
+  }
+
+  /**
+   * The model Read would return right after Create wrote {@code written}, without reading it back. The permission
+   * set attributes are those the create call returned and the policies and tags are what the handler just wrote.
+   */
+  static ResourceModel translateFromWrittenModel(final ResourceModel written) {
+    String inlinePolicy = processInlinePolicy(written.getInlinePolicy());
+    ResourceModel returnedModel = ResourceModel.builder()
+            .permissionSetArn(written.getPermissionSetArn())
+            .description(written.getDescription())
+            .name(written.getName())
+            .relayStateType(written.getRelayStateType())
+            .sessionDuration(written.getSessionDuration())
+            .instanceArn(written.getInstanceArn())
+            .managedPolicies(written.getManagedPolicies() == null ? new ArrayList<>() : new ArrayList<>(written.getManagedPolicies()))
+            .inlinePolicy(inlinePolicy == null || inlinePolicy.isEmpty() ? null : inlinePolicy)
+            .build();
+    if (written.getTags() != null && written.getTags().size() > 0) {
+      returnedModel.setTags(written.getTags());
+    }
+    return returnedModel;
+  }
+
+  /**
+   * Request to list resources
+   * @param instanceArn the sso instance to list permission sets of
+   * @param nextToken token passed to the aws service list resources request
+   * @return awsRequest the aws service request to list resources within aws account
+   */
+  static ListPermissionSetsRequest translateToListRequest(final String instanceArn, final String nextToken) {
+    return ListPermissionSetsRequest.builder()
+            .instanceArn(instanceArn)
+            .maxResults(LIST_PAGE_SIZE)
+            .nextToken(nextToken)
+            .build();
+  }
+
   /**
    * Request to delete a resource
    * @param model resource model
@@ -6,6 +6,8 @@ import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatus;
+import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
 import software.amazon.awssdk.services.ssoadmin.model.Tag;
@@ -19,16 +21,23 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.commons.StatusPoller;
 import software.amazon.sso.permissionset.actionProxy.InlinePolicyProxy;
 import software.amazon.sso.permissionset.actionProxy.ManagedPolicyAttachmentProxy;
+import software.amazon.sso.permissionset.actionProxy.ProvisioningProxy;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static software.amazon.sso.permissionset.Translator.processInlinePolicy;
 import static software.amazon.sso.permissionset.utils.Constants.FAILED_WORKFLOW_REQUEST;
+import static software.amazon.sso.permissionset.utils.Constants.PROVISIONING_ADOPTION_SKEW_MILLIS;
+import static software.amazon.sso.permissionset.utils.Constants.PROVISIONING_POLLS_MAX;
+import static software.amazon.sso.permissionset.utils.Constants.PROVISIONING_POLL_DELAY_SECONDS;
+import static software.amazon.sso.permissionset.utils.Constants.PROVISIONING_STATUS_EXPECTED_MILLIS;
 import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS;
 import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS_ZERO;
 import static software.amazon.sso.permissionset.utils.TagsUtil.getResourceTags;
@@ -45,17 +54,22 @@ public class UpdateHandler extends BaseHandlerStd {
 
         this.logger = logger;
 
+        ResourceModel model = request.getDesiredResourceState();
+        UpdatePlan plan = UpdatePlan.plan(request.getPreviousResourceState(), model);
+
         if (!callbackContext.isHandlerInvoked()) {
             callbackContext.setHandlerInvoked(true);
             callbackContext.setRetryAttempts(RETRY_ATTEMPTS);
+            logger.log(String.format("%s update planned calls: %s", ResourceModel.TYPE_NAME, plan.plannedCalls()));
         }
 
-        ResourceModel model = request.getDesiredResourceState();
-        ManagedPolicyAttachmentProxy managedPolicyAttachmentProxy = new ManagedPolicyAttachmentProxy(proxy, proxyClient);
+        ManagedPolicyAttachmentProxy managedPolicyAttachmentProxy = new ManagedPolicyAttachmentProxy(proxy, proxyClient, asyncProxyClient);
         InlinePolicyProxy inlinePolicyProxy = new InlinePolicyProxy(proxy, proxyClient);
+        ProvisioningProxy provisioningProxy = new ProvisioningProxy(proxy, proxyClient);
+        StatusPoller statusPoller = new StatusPoller("ProvisionPermissionSet", PROVISIONING_STATUS_EXPECTED_MILLIS);
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progress -> proxy.initiate("sso::update-permissionset", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                .then(progress -> !plan.isUpdatePermissionSet() ? progress : proxy.initiate("sso::update-permissionset", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
                         .translateToServiceRequest(Translator::translateToUpdateRequest)
                         .makeServiceCall((updateRequest, client) -> {
                             UpdatePermissionSetResponse response = proxy.injectCredentialsAndInvokeV2(updateRequest, client.client()::updatePermissionSet);
@@ -102,7 +116,8 @@ public class UpdateHandler extends BaseHandlerStd {
                         try {
                             managedPolicyAttachmentProxy.updateManagedPolicyAttachment(model.getInstanceArn(),
                                     model.getPermissionSetArn(),
-                                    model.getManagedPolicies());
+                                    model.getManagedPolicies(),
+                                    callbackContext);
                         } catch (ThrottlingException | InternalServerException | ConflictException e) {
                             if (callbackContext.getRetryAttempts() == RETRY_ATTEMPTS_ZERO) {
                                 return ProgressEvent.defaultFailureHandler(e, mapExceptionToHandlerCode(e));
@@ -115,12 +130,15 @@ public class UpdateHandler extends BaseHandlerStd {
                         //Reset attempts for next action
                         callbackContext.resetRetryAttempts(RETRY_ATTEMPTS);
                         callbackContext.setManagedPolicyUpdated(true);
+                        callbackContext.setManagedPoliciesChanged(!callbackContext.getManagedPoliciesToAttach().isEmpty()
+                                || !callbackContext.getManagedPoliciesToDetach().isEmpty());
+                        callbackContext.clearManagedPolicyChanges();
                     }
                     logger.log(String.format("%s managed policies have been successfully updated.", ResourceModel.TYPE_NAME));
                     return progress;
                 })
                 .then(progress -> {
-                    if (!callbackContext.isInlinePolicyUpdated()) {
+                    if (!callbackContext.isInlinePolicyUpdated() && plan.isUpdateInlinePolicy()) {
                         try {
                             String inlinePolicy = processInlinePolicy(model.getInlinePolicy());
                             if (inlinePolicy != null && !inlinePolicy.isEmpty()) {
@@ -144,10 +162,29 @@ public class UpdateHandler extends BaseHandlerStd {
                     logger.log(String.format("%s inline policy has successfully been updated.", ResourceModel.TYPE_NAME));
                     return progress;
                 })
-                .then(progress -> proxy.initiate("sso::provision-permissionset", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                .then(progress -> !isProvisionNeeded(plan, callbackContext) ? progress : awaitInFlightProvisioning(provisioningProxy, progress))
+                .then(progress -> !isProvisionNeeded(plan, callbackContext) ? progress : proxy.initiate("sso::provision-permissionset", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
                         .translateToServiceRequest(Translator::translateToProvsionPermissionSetRequest)
-                        .makeServiceCall((provisionRequest, client) -> proxy.injectCredentialsAndInvokeV2(provisionRequest, proxyClient.client()::provisionPermissionSet))
+                        .backoffDelay(statusPoller.delay(callbackContext::getStatusPollStartedAt))
+                        .makeServiceCall((provisionRequest, client) -> {
+                            if (callbackContext.getProvisioningRequestId() != null) {
+                                //Stabilize on the provisioning adopted or issued before instead of issuing another one
+                                return ProvisionPermissionSetResponse.builder()
+                                        .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder()
+                                                .requestId(callbackContext.getProvisioningRequestId())
+                                                .status(StatusValues.IN_PROGRESS)
+                                                .build())
+                                        .build();
+                            }
+                            ProvisionPermissionSetResponse response = proxy.injectCredentialsAndInvokeV2(provisionRequest, proxyClient.client()::provisionPermissionSet);
+                            callbackContext.setProvisioningRequestId(response.permissionSetProvisioningStatus().requestId());
+                            callbackContext.setStatusPollStartedAt(statusPoller.now());
+                            return response;
+                        })
                         .stabilize((provisionRequest, provisionResult, client, progressModel, context) -> {
+                            if (!statusPoller.isDue(context.getStatusPollStartedAt())) {
+                                return false;
+                            }
                             logger.log("Stabilizing the provision status.");
                             String statusTrackId = provisionResult.permissionSetProvisioningStatus().requestId();
                             DescribePermissionSetProvisioningStatusRequest statusRequest = DescribePermissionSetProvisioningStatusRequest.builder()
@@ -158,6 +195,7 @@ public class UpdateHandler extends BaseHandlerStd {
                                     = proxy.injectCredentialsAndInvokeV2(statusRequest, client.client()::describePermissionSetProvisioningStatus);
                             if (statusResult.permissionSetProvisioningStatus().status().equals(StatusValues.SUCCEEDED)) {
                                 logger.log(String.format("%s [%s] has been stabilized.", ResourceModel.TYPE_NAME, model.getPrimaryIdentifier()));
+                                statusPoller.completed(context.getStatusPollStartedAt(), context.getStatusPollSeenRunningAt(), logger);
                                 //Reset the retry attempts for read handler
                                 callbackContext.resetRetryAttempts(RETRY_ATTEMPTS);
                                 return true;
@@ -165,11 +203,14 @@ public class UpdateHandler extends BaseHandlerStd {
                                 String failedReason = statusResult.permissionSetProvisioningStatus().failureReason();
                                 throw new CfnGeneralServiceException(String.format(FAILED_WORKFLOW_REQUEST, statusTrackId, failedReason));
                             }
+                            context.setStatusPollSeenRunningAt(statusPoller.now());
                             return false;
                         })
                         .handleError((awsRequest, exception, client, resourceModel, context) -> {
-                            if (exception instanceof ConflictException || exception instanceof ThrottlingException) {
-                                return ProgressEvent.defaultInProgressHandler(callbackContext, 300, model);
+                            if (exception instanceof ConflictException) {
+                                return waitForConflictingProvisioning(provisioningProxy, exception, model, context);
+                            } else if (exception instanceof ThrottlingException) {
+                                return ProgressEvent.defaultInProgressHandler(callbackContext, getRetryTime(exception), model);
                             } else if (exception instanceof ResourceNotFoundException) {
                                 return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InternalFailure);
                             } else if (exception instanceof InternalServerException) {
@@ -183,14 +224,103 @@ public class UpdateHandler extends BaseHandlerStd {
                         })
                         .progress()
                 )
-                .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+                .then(progress -> new ReadHandler(true, asyncProxyClient).handleRequest(proxy, request, callbackContext, proxyClient, logger));
+    }
+
+    /**
+     * Provisioning is needed when the plan calls for it, or when the managed policy step found the attached policies
+     * drifted from the template and corrected them.
+     */
+    private static boolean isProvisionNeeded(UpdatePlan plan, CallbackContext context) {
+        return plan.isProvision() || context.isManagedPoliciesChanged();
+    }
+
+    /**
+     * Looks for a provisioning of the permission set that is already in progress before issuing one. A provisioning
+     * to all accounts that started after this update made its changes provisions them too, so it is adopted and
+     * stabilized on. Any other one would make ours fail with a conflict, so it is polled until it finishes. If the
+     * lookup fails, the update provisions as it always did.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> awaitInFlightProvisioning(ProvisioningProxy provisioningProxy,
+                                                                                    ProgressEvent<ResourceModel, CallbackContext> progress) {
+        CallbackContext context = progress.getCallbackContext();
+        ResourceModel model = progress.getResourceModel();
+        if (context.getProvisioningRequestId() != null) {
+            return progress;
+        }
+        if (context.getChangesAppliedAt() == 0) {
+            context.setChangesAppliedAt(System.currentTimeMillis());
+        }
+
+        try {
+            if (context.getBlockingProvisioningRequestId() != null) {
+                PermissionSetProvisioningStatus blocking = provisioningProxy.describeProvisioning(model.getInstanceArn(), context.getBlockingProvisioningRequestId());
+                if (StatusValues.IN_PROGRESS.equals(blocking.status()) && context.getProvisioningPolls() < PROVISIONING_POLLS_MAX) {
+                    return pollProvisioning(blocking.requestId(), model, context);
+                }
+                context.setBlockingProvisioningRequestId(null);
+            }
+
+            Optional<PermissionSetProvisioningStatus> inFlight = provisioningProxy.findInProgressProvisioning(model.getInstanceArn(), model.getPermissionSetArn());
+            if (!inFlight.isPresent()) {
+                return progress;
+            }
+            PermissionSetProvisioningStatus status = inFlight.get();
+            if (status.accountId() == null && status.createdDate() != null
+                    && status.createdDate().toEpochMilli() >= context.getChangesAppliedAt() + PROVISIONING_ADOPTION_SKEW_MILLIS) {
+                logger.log(String.format("Adopting provisioning %s that started after the update.", status.requestId()));
+                context.setProvisioningRequestId(status.requestId());
+                context.setStatusPollStartedAt(Math.min(status.createdDate().toEpochMilli(), System.currentTimeMillis()));
+                return progress;
+            }
+            if (context.getProvisioningPolls() >= PROVISIONING_POLLS_MAX) {
+                return progress;
+            }
+            return pollProvisioning(status.requestId(), model, context);
+        } catch (RuntimeException e) {
+            logger.log(String.format("Could not look up provisioning in progress, provisioning anyway: %s", e.getMessage()));
+            context.setBlockingProvisioningRequestId(null);
+            return progress;
+        }
+    }
+
+    /**
+     * Handles a conflict on ProvisionPermissionSet by waiting for the provisioning it ran into, at the cost of a retry
+     * attempt when none is found. Backs off for a jittered delay when the provisioning in progress cannot be looked up.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> waitForConflictingProvisioning(ProvisioningProxy provisioningProxy,
+                                                                                         Exception exception,
+                                                                                         ResourceModel model,
+                                                                                         CallbackContext context) {
+        Optional<PermissionSetProvisioningStatus> inFlight;
+        try {
+            inFlight = provisioningProxy.findInProgressProvisioning(model.getInstanceArn(), model.getPermissionSetArn());
+        } catch (RuntimeException e) {
+            logger.log(String.format("Could not look up provisioning in progress, backing off: %s", e.getMessage()));
+            return ProgressEvent.defaultInProgressHandler(context, getRetryTime(e), model);
+        }
+        if (inFlight.isPresent() && context.getProvisioningPolls() < PROVISIONING_POLLS_MAX) {
+            return pollProvisioning(inFlight.get().requestId(), model, context);
+        }
+        if (context.getRetryAttempts() == RETRY_ATTEMPTS_ZERO) {
+            return ProgressEvent.defaultFailureHandler(exception, mapExceptionToHandlerCode(exception));
+        }
+        context.decrementRetryAttempts();
+        return ProgressEvent.defaultInProgressHandler(context, PROVISIONING_POLL_DELAY_SECONDS, model);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> pollProvisioning(String requestId, ResourceModel model, CallbackContext context) {
+        logger.log(String.format("Waiting for provisioning %s of the permission set to finish.", requestId));
+        context.setBlockingProvisioningRequestId(requestId);
+        context.setProvisioningPolls(context.getProvisioningPolls() + 1);
+        return ProgressEvent.defaultInProgressHandler(context, PROVISIONING_POLL_DELAY_SECONDS, model);
     }
 
+    /**
+     * Diffs the desired tags against the tags on the resource, so that tags changed outside the stack are corrected too.
+     */
     private void updateTags(ResourceModel model, AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient) {
-        Set<Tag> previousTags = new HashSet<>(getResourceTags(model.getInstanceArn(),
-                model.getPermissionSetArn(),
-                proxy,
-                proxyClient));
+        Set<Tag> previousTags = new HashSet<>(getResourceTags(model.getInstanceArn(), model.getPermissionSetArn(), proxy, proxyClient));
         Set<Tag> newTags = new HashSet<>(Translator.ConvertToSSOTag(model.getTags()));
 
         final Set<Tag> tagsToRemove = Sets.difference(previousTags, newTags);
@@ -0,0 +1,70 @@
+package software.amazon.sso.permissionset;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import static software.amazon.sso.permissionset.Translator.processInlinePolicy;
+
+/**
+ * The steps an update has to run, worked out by comparing the previous and the desired model. Without a previous
+ * model every step is planned. The tag and managed policy steps are not planned: they always list what is on the
+ * resource and diff it against the desired model, so changes made outside the stack are corrected too, and they only
+ * write when something differs. Provisioning is needed when something that ends up in the provisioned roles changed:
+ * the session duration or any of the policies.
+ */
+@lombok.Getter
+@lombok.AllArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class UpdatePlan {
+
+    private final boolean updatePermissionSet;
+    private final boolean updateInlinePolicy;
+    private final boolean provision;
+
+    public static UpdatePlan plan(final ResourceModel previous, final ResourceModel desired) {
+        if (previous == null) {
+            return new UpdatePlan(true, true, true);
+        }
+        boolean sessionDurationChanged = !Objects.equals(previous.getSessionDuration(), desired.getSessionDuration());
+        boolean updatePermissionSet = sessionDurationChanged
+                || !Objects.equals(previous.getDescription(), desired.getDescription())
+                || !Objects.equals(previous.getRelayStateType(), desired.getRelayStateType());
+        boolean updateManagedPolicies = !asSet(previous.getManagedPolicies()).equals(asSet(desired.getManagedPolicies()));
+        boolean updateInlinePolicy = !Objects.equals(normalizeInlinePolicy(previous.getInlinePolicy()),
+                normalizeInlinePolicy(desired.getInlinePolicy()));
+
+        return new UpdatePlan(updatePermissionSet, updateInlinePolicy,
+                sessionDurationChanged || updateManagedPolicies || updateInlinePolicy);
+    }
+
+    /**
+     * Service calls the plan runs, for logging. The tag and managed policy writes are only made for what differs.
+     */
+    public List<String> plannedCalls() {
+        List<String> calls = new ArrayList<>();
+        if (updatePermissionSet) {
+            calls.add("UpdatePermissionSet");
+        }
+        calls.add("ListTagsForResource");
+        calls.add("TagResource/UntagResource");
+        calls.add("ListManagedPoliciesInPermissionSet");
+        calls.add("AttachManagedPolicyToPermissionSet/DetachManagedPolicyFromPermissionSet");
+        if (updateInlinePolicy) {
+            calls.add("PutInlinePolicyToPermissionSet/DeleteInlinePolicyFromPermissionSet");
+        }
+        if (provision) {
+            calls.add("ProvisionPermissionSet");
+        }
+        return calls;
+    }
+
+    private static <T> HashSet<T> asSet(final List<T> values) {
+        return values == null ? new HashSet<>() : new HashSet<>(values);
+    }
+
+    private static String normalizeInlinePolicy(final Object inlinePolicy) {
+        String policy = processInlinePolicy(inlinePolicy);
+        return policy == null || policy.isEmpty() ? null : policy;
+    }
+}
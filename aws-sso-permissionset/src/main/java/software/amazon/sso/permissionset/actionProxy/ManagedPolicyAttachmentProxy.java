@@ -2,53 +2,120 @@ package software.amazon.sso.permissionset.actionProxy;
 
 import com.amazonaws.util.StringUtils;
 import com.google.common.collect.Sets;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.AttachedManagedPolicy;
+import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.sso.permissionset.CallbackContext;
 import software.amazon.sso.permissionset.ResourceModel;
+import software.amazon.sso.permissionset.utils.AimdConcurrencyLimit;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static software.amazon.sso.permissionset.utils.Constants.MANAGED_POLICIES_LIMIT_EXCEED_MESSAGE;
+import static software.amazon.sso.permissionset.utils.Constants.MANAGED_POLICY_CONCURRENCY_INITIAL;
+import static software.amazon.sso.permissionset.utils.Constants.MANAGED_POLICY_CONCURRENCY_MAX;
+import static software.amazon.sso.permissionset.utils.Constants.MANAGED_POLICY_CONGESTED_ROUNDS_MAX;
 
 public class ManagedPolicyAttachmentProxy {
 
+    // Learned per instance by the warm container, so an invocation starts where the last one on the same instance left
+    // off without the calls on another instance, throttled separately, weighing in
+    private static final Map<String, AimdConcurrencyLimit> CONCURRENCY = new ConcurrentHashMap<>();
+
     private AmazonWebServicesClientProxy proxy;
     private ProxyClient<SsoAdminClient> proxyClient;
+    private ProxyClient<SsoAdminAsyncClient> asyncProxyClient;
 
     public ManagedPolicyAttachmentProxy(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient) {
+        this(proxy, proxyClient, null);
+    }
+
+    /**
+     * With an {@code asyncProxyClient} the attach and detach calls are made concurrently, as many at a time as the
+     * concurrency limit allows.
+     */
+    public ManagedPolicyAttachmentProxy(AmazonWebServicesClientProxy proxy,
+                                        ProxyClient<SsoAdminClient> proxyClient,
+                                        ProxyClient<SsoAdminAsyncClient> asyncProxyClient) {
         this.proxy = proxy;
         this.proxyClient = proxyClient;
+        this.asyncProxyClient = asyncProxyClient;
     }
 
+    /**
+     * Attaches and detaches what it takes to get from the policies attached now to {@code updatedManagedPolicies},
+     * detaching everything when there are none. The first attempt lists what is attached and keeps the resulting plan in the {@code context}; the policies
+     * attached or detached are recorded there as well, so a retry makes only the calls left without listing again.
+     */
     public void updateManagedPolicyAttachment(String instanceArn,
                                               String permissionSetArn,
-                                              List<String> updatedManagedPolicies) {
-        if (updatedManagedPolicies != null && updatedManagedPolicies.size() > 0) {
+                                              List<String> updatedManagedPolicies,
+                                              CallbackContext context) {
+        if (!context.isManagedPolicyChangePlanned()) {
+            Set<String> newManagedPolicies = updatedManagedPolicies == null ? new HashSet<>() : new HashSet<>(updatedManagedPolicies);
             //This is set to match IAM hard limit of role managed policy attachment policy.
-            if (updatedManagedPolicies.size() > 20) {
+            if (newManagedPolicies.size() > 20) {
                 throw new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, MANAGED_POLICIES_LIMIT_EXCEED_MESSAGE);
             }
+            plan(new HashSet<>(getAttachedManagedPolicies(instanceArn, permissionSetArn)), newManagedPolicies, context);
+        }
+        applyPlan(instanceArn, permissionSetArn, context);
+    }
 
-            List<String> attachedManagedPolicies = getAttachedManagedPolicies(instanceArn, permissionSetArn);
-            Set<String> previousManagedPolicies = new HashSet<>(attachedManagedPolicies);
-            Set<String> newManagedPolicies = new HashSet<>(updatedManagedPolicies);
+    /**
+     * Attaches {@code managedPolicies} to a permission set that was just created and so has none attached yet,
+     * without listing what is attached. A retry after any attach was attempted diffs against what is attached
+     * instead, like an update, in case a call took effect although it failed.
+     */
+    public void attachManagedPoliciesToNewPermissionSet(String instanceArn,
+                                                        String permissionSetArn,
+                                                        List<String> managedPolicies,
+                                                        CallbackContext context) {
+        if (context.isManagedPolicyPlanAssumedEmpty() && context.isManagedPolicyPlanStarted()) {
+            context.clearManagedPolicyChanges();
+            updateManagedPolicyAttachment(instanceArn, permissionSetArn, managedPolicies, context);
+            return;
+        }
+        if (!context.isManagedPolicyChangePlanned()) {
+            Set<String> newPolicies = managedPolicies == null ? new HashSet<>() : new HashSet<>(managedPolicies);
+            //This is set to match IAM hard limit of role managed policy attachment policy.
+            if (newPolicies.size() > 20) {
+                throw new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, MANAGED_POLICIES_LIMIT_EXCEED_MESSAGE);
+            }
+            plan(new HashSet<>(), newPolicies, context);
+            context.setManagedPolicyPlanAssumedEmpty(true);
+        }
+        applyPlan(instanceArn, permissionSetArn, context);
+    }
 
-            Set<String> managedPoliciesToDetach = Sets.difference(previousManagedPolicies, newManagedPolicies);
-            Set<String> managedPoliciesToAttach = Sets.difference(newManagedPolicies, previousManagedPolicies);
+    private static void plan(Set<String> previousPolicies, Set<String> newPolicies, CallbackContext context) {
+        context.setManagedPoliciesToDetach(new ArrayList<>(Sets.difference(previousPolicies, newPolicies)));
+        context.setManagedPoliciesToAttach(new ArrayList<>(Sets.difference(newPolicies, previousPolicies)));
+    }
 
-            detachManagedPolicies(managedPoliciesToDetach, instanceArn, permissionSetArn);
-            attachManagedPolicies(managedPoliciesToAttach, instanceArn, permissionSetArn);
-        }
+    private void applyPlan(String instanceArn, String permissionSetArn, CallbackContext context) {
+        context.setManagedPolicyPlanStarted(true);
+        detachManagedPolicies(context.getManagedPoliciesToDetach(), instanceArn, permissionSetArn, context.getCompletedManagedPolicyArns());
+        attachManagedPolicies(context.getManagedPoliciesToAttach(), instanceArn, permissionSetArn, context.getCompletedManagedPolicyArns());
     }
 
     public List<String> getAttachedManagedPolicies(String instanceArn,
@@ -75,26 +142,107 @@ public class ManagedPolicyAttachmentProxy {
         return existingPolicies;
     }
 
-    private void detachManagedPolicies(Set<String> managedPoliciesToDetach, String instanceArn, String permissionSetArn) {
-        for(String managedPolicy: managedPoliciesToDetach) {
+    private void detachManagedPolicies(Collection<String> managedPoliciesToDetach, String instanceArn, String permissionSetArn,
+                                       List<String> completedPolicyArns) {
+        apply(concurrencyFor(instanceArn), managedPoliciesToDetach, completedPolicyArns, managedPolicy -> DetachManagedPolicyFromPermissionSetRequest.builder()
+                        .instanceArn(instanceArn)
+                        .permissionSetArn(permissionSetArn)
+                        .managedPolicyArn(managedPolicy)
+                        .build(),
+                request -> proxy.injectCredentialsAndInvokeV2(request, proxyClient.client()::detachManagedPolicyFromPermissionSet),
+                request -> asyncProxyClient.injectCredentialsAndInvokeV2Async(request, asyncProxyClient.client()::detachManagedPolicyFromPermissionSet));
+    }
 
-            DetachManagedPolicyFromPermissionSetRequest request = DetachManagedPolicyFromPermissionSetRequest.builder()
-                    .instanceArn(instanceArn)
-                    .permissionSetArn(permissionSetArn)
-                    .managedPolicyArn(managedPolicy)
-                    .build();
-            proxy.injectCredentialsAndInvokeV2(request, proxyClient.client()::detachManagedPolicyFromPermissionSet);
+    private void attachManagedPolicies(Collection<String> managedPoliciesToAttach, String instanceArn, String permissionSetArn,
+                                       List<String> completedPolicyArns) {
+        apply(concurrencyFor(instanceArn), managedPoliciesToAttach, completedPolicyArns, managedPolicy -> AttachManagedPolicyToPermissionSetRequest.builder()
+                        .instanceArn(instanceArn)
+                        .permissionSetArn(permissionSetArn)
+                        .managedPolicyArn(managedPolicy)
+                        .build(),
+                request -> proxy.injectCredentialsAndInvokeV2(request, proxyClient.client()::attachManagedPolicyToPermissionSet),
+                request -> asyncProxyClient.injectCredentialsAndInvokeV2Async(request, asyncProxyClient.client()::attachManagedPolicyToPermissionSet));
+    }
+
+    /**
+     * Makes the call for every policy not completed yet, one after another or, with the async client, in rounds of as
+     * many concurrent calls as the limit allows. A round in which calls are throttled or conflict halves the limit and
+     * the calls are made again in the next round, fewer at a time. After MANAGED_POLICY_CONGESTED_ROUNDS_MAX such
+     * rounds the exception is rethrown, so the handler waits in a callback rather than in process, and the calls left
+     * are resumed from the plan kept in the callback context.
+     */
+    private <RequestT> void apply(AimdConcurrencyLimit concurrency,
+                                  Collection<String> managedPolicies,
+                                  List<String> completedPolicyArns,
+                                  Function<String, RequestT> toRequest,
+                                  Function<RequestT, ?> syncCall,
+                                  Function<RequestT, CompletableFuture<?>> asyncCall) {
+        List<String> pending = new ArrayList<>();
+        for (String managedPolicy : managedPolicies) {
+            if (!completedPolicyArns.contains(managedPolicy)) {
+                pending.add(managedPolicy);
+            }
+        }
+
+        if (asyncProxyClient == null) {
+            for (String managedPolicy : pending) {
+                syncCall.apply(toRequest.apply(managedPolicy));
+                completedPolicyArns.add(managedPolicy);
+            }
+            return;
+        }
+
+        int congestedRounds = 0;
+        while (!pending.isEmpty()) {
+            Map<String, CompletableFuture<?>> round = new LinkedHashMap<>();
+            for (String managedPolicy : pending.subList(0, Math.min(concurrency.getLimit(), pending.size()))) {
+                round.put(managedPolicy, asyncCall.apply(toRequest.apply(managedPolicy)));
+            }
+
+            RuntimeException congestion = null;
+            RuntimeException failure = null;
+            for (Map.Entry<String, CompletableFuture<?>> call : round.entrySet()) {
+                try {
+                    join(call.getValue());
+                    pending.remove(call.getKey());
+                    completedPolicyArns.add(call.getKey());
+                } catch (ThrottlingException | ConflictException e) {
+                    congestion = e;
+                } catch (RuntimeException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            if (congestion == null) {
+                concurrency.onSuccess();
+            } else {
+                concurrency.onCongestion();
+                if (++congestedRounds >= MANAGED_POLICY_CONGESTED_ROUNDS_MAX) {
+                    throw congestion;
+                }
+            }
         }
     }
 
-    private void attachManagedPolicies(Set<String> managedPoliciesToAttach, String instanceArn, String permissionSetArn) {
-        for(String managedPolicy: managedPoliciesToAttach) {
-            AttachManagedPolicyToPermissionSetRequest request = AttachManagedPolicyToPermissionSetRequest.builder()
-                    .instanceArn(instanceArn)
-                    .permissionSetArn(permissionSetArn)
-                    .managedPolicyArn(managedPolicy)
-                    .build();
-            proxy.injectCredentialsAndInvokeV2(request, proxyClient.client()::attachManagedPolicyToPermissionSet);
+    private static AimdConcurrencyLimit concurrencyFor(String instanceArn) {
+        return CONCURRENCY.computeIfAbsent(instanceArn,
+                arn -> new AimdConcurrencyLimit(MANAGED_POLICY_CONCURRENCY_INITIAL, MANAGED_POLICY_CONCURRENCY_MAX));
+    }
+
+    /**
+     * Waits for an async call and rethrows the service exception it failed with, so callers see the same
+     * exceptions as on the synchronous path.
+     */
+    private static void join(CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
     }
 }
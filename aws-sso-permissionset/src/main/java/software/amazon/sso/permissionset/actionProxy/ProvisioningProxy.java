@@ -0,0 +1,73 @@
+package software.amazon.sso.permissionset.actionProxy;
+
+import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.OperationStatusFilter;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatus;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatusMetadata;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static software.amazon.sso.permissionset.utils.Constants.PROVISIONING_DESCRIBES_MAX;
+
+public class ProvisioningProxy {
+
+    private AmazonWebServicesClientProxy proxy;
+    private ProxyClient<SsoAdminClient> proxyClient;
+
+    public ProvisioningProxy(AmazonWebServicesClientProxy proxy, ProxyClient<SsoAdminClient> proxyClient) {
+        this.proxy = proxy;
+        this.proxyClient = proxyClient;
+    }
+
+    /**
+     * Finds a provisioning of the permission set that is in progress. The list only carries request ids, so requests
+     * in progress on the instance are described, newest of each page first, until one for the permission set turns
+     * up. After PROVISIONING_DESCRIBES_MAX describes the search gives up as if there were none, since on a busy
+     * instance provisioning again is cheaper than finding the one to adopt.
+     */
+    public Optional<PermissionSetProvisioningStatus> findInProgressProvisioning(String instanceArn, String permissionSetArn) {
+        int describes = 0;
+        String nextToken = null;
+        do {
+            ListPermissionSetProvisioningStatusRequest request = ListPermissionSetProvisioningStatusRequest.builder()
+                    .instanceArn(instanceArn)
+                    .filter(OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build())
+                    .nextToken(nextToken)
+                    .build();
+            ListPermissionSetProvisioningStatusResponse response = proxy.injectCredentialsAndInvokeV2(request, proxyClient.client()::listPermissionSetProvisioningStatus);
+            List<PermissionSetProvisioningStatusMetadata> page = new ArrayList<>(response.permissionSetsProvisioningStatus());
+            page.sort(Comparator.comparing(PermissionSetProvisioningStatusMetadata::createdDate,
+                    Comparator.nullsLast(Comparator.<Instant>reverseOrder())));
+            for (PermissionSetProvisioningStatusMetadata metadata : page) {
+                if (describes++ >= PROVISIONING_DESCRIBES_MAX) {
+                    return Optional.empty();
+                }
+                PermissionSetProvisioningStatus status = describeProvisioning(instanceArn, metadata.requestId());
+                if (permissionSetArn.equals(status.permissionSetArn()) && StatusValues.IN_PROGRESS.equals(status.status())) {
+                    return Optional.of(status);
+                }
+            }
+            nextToken = response.nextToken();
+        } while (nextToken != null && !nextToken.isEmpty() && describes < PROVISIONING_DESCRIBES_MAX);
+        return Optional.empty();
+    }
+
+    public PermissionSetProvisioningStatus describeProvisioning(String instanceArn, String requestId) {
+        DescribePermissionSetProvisioningStatusRequest request = DescribePermissionSetProvisioningStatusRequest.builder()
+                .instanceArn(instanceArn)
+                .provisionPermissionSetRequestId(requestId)
+                .build();
+        return proxy.injectCredentialsAndInvokeV2(request, proxyClient.client()::describePermissionSetProvisioningStatus)
+                .permissionSetProvisioningStatus();
+    }
+}
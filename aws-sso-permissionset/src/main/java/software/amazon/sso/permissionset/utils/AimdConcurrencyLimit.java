@@ -0,0 +1,28 @@
+package software.amazon.sso.permissionset.utils;
+
+/**
+ * Number of calls that may be in flight at once, grown by one after every round that went through and halved after
+ * a round that was throttled or ran into a conflict.
+ */
+public class AimdConcurrencyLimit {
+
+    private final int max;
+    private int limit;
+
+    public AimdConcurrencyLimit(final int initial, final int max) {
+        this.max = max;
+        this.limit = Math.max(1, Math.min(initial, max));
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized void onSuccess() {
+        limit = Math.min(max, limit + 1);
+    }
+
+    public synchronized void onCongestion() {
+        limit = Math.max(1, limit / 2);
+    }
+}
@@ -5,5 +5,25 @@ public class Constants {
             + "Please refer to https://docs.aws.amazon.com/singlesignon/latest/userguide/limits.html.";
     public final static int RETRY_ATTEMPTS = 5;
     public final static int RETRY_ATTEMPTS_ZERO = 0;
+    // Permission sets per List page, each of which is read with four calls before the page is returned
+    public final static int LIST_PAGE_SIZE = 20;
+    public final static int LIST_HYDRATION_PARALLELISM = 10;
+    // Wait before reading a permission set of a List page again after it was throttled
+    public final static int LIST_HYDRATION_RETRY_MIN_MILLIS = 200;
+    public final static int LIST_HYDRATION_RETRY_MAX_MILLIS = 1000;
+    // A provisioning of the same permission set in progress is polled this often, up to PROVISIONING_POLLS_MAX times
+    public final static int PROVISIONING_POLL_DELAY_SECONDS = 5;
+    public final static int PROVISIONING_POLLS_MAX = 120;
+    // Provisionings in progress on the instance described at most when looking for one of the same permission set
+    public final static int PROVISIONING_DESCRIBES_MAX = 10;
+    // Allowance for clock skew when telling whether a provisioning started after this handler's changes were made
+    public final static long PROVISIONING_ADOPTION_SKEW_MILLIS = 1000;
+    // First status poll of a provisioning until this container has learned how long they take
+    public final static long PROVISIONING_STATUS_EXPECTED_MILLIS = 2000;
+    // Managed policy attach and detach calls made concurrently start at this many in flight and never exceed the max
+    public final static int MANAGED_POLICY_CONCURRENCY_INITIAL = 4;
+    public final static int MANAGED_POLICY_CONCURRENCY_MAX = 20;
+    // Rounds of those calls that may be throttled or conflict before the rest is left to a callback retry
+    public final static int MANAGED_POLICY_CONGESTED_ROUNDS_MAX = 3;
     public final static String FAILED_WORKFLOW_REQUEST = "Request %s failed due to: %s";
 }
@@ -0,0 +1,339 @@
+package software.amazon.sso.permissionset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.AttachedManagedPolicy;
+import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInlinePolicyFromPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeleteInlinePolicyFromPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DeletePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DeletePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvisioningStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSet;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatus;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatusMetadata;
+import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PutInlinePolicyToPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.PutInlinePolicyToPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.StatusValues;
+import software.amazon.awssdk.services.ssoadmin.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.UpdatePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.UpdatePermissionSetResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.sso.commons.CountingProxyClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.sso.permissionset.TestConstants.TEST_INLINE_POLICY;
+import static software.amazon.sso.permissionset.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.permissionset.TestConstants.TEST_PERMISSION_SET_DESCRIPTION;
+import static software.amazon.sso.permissionset.TestConstants.TEST_PERMISSION_SET_NAME;
+import static software.amazon.sso.permissionset.TestConstants.TEST_SESSION_DURATION;
+import static software.amazon.sso.permissionset.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.permissionset.utils.Constants.PROVISIONING_DESCRIBES_MAX;
+
+/**
+ * Upper bounds on the SSO Admin calls each handler makes for a successful operation. The handlers are CPU cheap,
+ * their cost is in the calls, so a change that adds calls has to raise the bound here on purpose. Lists are
+ * scripted with {@link #PAGE_SIZE} items per page.
+ */
+public class ApiCallBudgetTest extends AbstractTestBase {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int[] MANAGED_POLICY_COUNTS = {0, 5, 20};
+    private static final int[] TAG_COUNTS = {0, 50};
+    private static final String TEST_REQUEST_ID = "provisioning-request";
+
+    private AmazonWebServicesClientProxy proxy;
+    private CountingProxyClient proxyClient;
+    private final Set<String> attachedPolicies = new LinkedHashSet<>();
+    private final Map<String, String> resourceTags = new LinkedHashMap<>();
+    private String inlinePolicy;
+
+    @BeforeEach
+    public void setup() {
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = new CountingProxyClient(proxy);
+        scriptPermissionSet();
+    }
+
+    @Test
+    public void create_StaysWithinBudget() {
+        for (int policies : MANAGED_POLICY_COUNTS) {
+            for (int tags : TAG_COUNTS) {
+                givenPermissionSet(0, 0, null);
+
+                run(new CreateHandler(), request(model(policies, tags, "p"), null));
+
+                // create, attach policies to the new permission set, put inline policy; the result is not read back
+                int budget = 1 + policies + 1;
+                assertWithinBudget("Create", policies, tags, budget);
+            }
+        }
+    }
+
+    @Test
+    public void read_StaysWithinBudget() {
+        for (int policies : MANAGED_POLICY_COUNTS) {
+            for (int tags : TAG_COUNTS) {
+                givenPermissionSet(policies, tags, TEST_INLINE_POLICY);
+
+                run(new ReadHandler(), request(ResourceModel.builder()
+                        .instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .build(), null));
+
+                // describe, tags, managed policies, inline policy
+                int budget = 1 + pages(tags) + pages(policies) + 1;
+                assertWithinBudget("Read", policies, tags, budget);
+            }
+        }
+    }
+
+    @Test
+    public void update_StaysWithinBudget() {
+        for (int policies : MANAGED_POLICY_COUNTS) {
+            for (int tags : TAG_COUNTS) {
+                givenPermissionSet(policies, tags, TEST_INLINE_POLICY);
+                ResourceModel previous = model(policies, tags, "p");
+                ResourceModel desired = model(policies, tags, "q");
+                desired.setDescription("Updated description");
+
+                run(new UpdateHandler(), request(desired, previous));
+
+                // update, list the tags, list what is attached and swap every policy, look for a provisioning in
+                // progress, provision and one status poll, then the chained read
+                int budget = 1 + pages(tags) + pages(policies) + 2 * policies + (policies > 0 ? 2 : 0)
+                        + 1 + 1 + (tags == 0 ? 1 : 0) + pages(policies) + 1;
+                assertWithinBudget("Update", policies, tags, budget);
+            }
+        }
+    }
+
+    @Test
+    public void update_OnBusyInstance_DescribesBoundedNumberOfProvisionings() {
+        givenPermissionSet(0, 0, TEST_INLINE_POLICY);
+        final List<PermissionSetProvisioningStatusMetadata> others = new ArrayList<>();
+        for (int i = 0; i < 5 * PAGE_SIZE; i++) {
+            others.add(PermissionSetProvisioningStatusMetadata.builder()
+                    .requestId("other-" + i)
+                    .status(StatusValues.IN_PROGRESS)
+                    .createdDate(Instant.ofEpochSecond(i))
+                    .build());
+        }
+        proxyClient
+                .on(ListPermissionSetProvisioningStatusRequest.class, request -> {
+                    int offset = offset(request.nextToken());
+                    return ListPermissionSetProvisioningStatusResponse.builder()
+                            .permissionSetsProvisioningStatus(page(others, offset))
+                            .nextToken(nextToken(offset, others.size()))
+                            .build();
+                })
+                .on(DescribePermissionSetProvisioningStatusRequest.class, request -> DescribePermissionSetProvisioningStatusResponse.builder()
+                        .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder()
+                                .requestId(request.provisionPermissionSetRequestId())
+                                .status(TEST_REQUEST_ID.equals(request.provisionPermissionSetRequestId()) ? StatusValues.SUCCEEDED : StatusValues.IN_PROGRESS)
+                                .permissionSetArn(TEST_REQUEST_ID.equals(request.provisionPermissionSetRequestId()) ? TEST_PERMISSION_SET_ARN : "other-permission-set")
+                                .build())
+                        .build());
+        ResourceModel desired = model(0, 0, "q");
+        desired.setDescription("Updated description");
+
+        run(new UpdateHandler(), request(desired, model(0, 0, "p")));
+
+        // as update_StaysWithinBudget, but looking for a provisioning in progress lists and describes only so many
+        int budget = 1 + 1 + 1 + pages(PROVISIONING_DESCRIBES_MAX) + PROVISIONING_DESCRIBES_MAX + 1 + 1 + 1 + 1 + 1;
+        assertWithinBudget("Update on a busy instance", 0, 0, budget);
+    }
+
+    @Test
+    public void delete_StaysWithinBudget() {
+        for (int policies : MANAGED_POLICY_COUNTS) {
+            for (int tags : TAG_COUNTS) {
+                givenPermissionSet(policies, tags, TEST_INLINE_POLICY);
+
+                run(new DeleteHandler(), request(model(policies, tags, "p"), null));
+
+                assertWithinBudget("Delete", policies, tags, 1);
+            }
+        }
+    }
+
+    private void run(final BaseHandlerStd handler, final ResourceHandlerRequest<ResourceModel> request) {
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        assertThat(response.getStatus()).as("%s: %s", handler.getClass().getSimpleName(), response.getMessage())
+                .isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    private void assertWithinBudget(final String operation, final int policies, final int tags, final int budget) {
+        assertThat(proxyClient.totalCalls())
+                .as("%s with %d managed policies and %d tags made %s", operation, policies, tags, proxyClient.callCounts())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private static int pages(final int items) {
+        return Math.max(1, (items + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    private void givenPermissionSet(final int policies, final int tags, final String inline) {
+        proxyClient.reset();
+        attachedPolicies.clear();
+        attachedPolicies.addAll(policyArns(policies, "p"));
+        resourceTags.clear();
+        for (int i = 0; i < tags; i++) {
+            resourceTags.put("key" + i, "value" + i);
+        }
+        inlinePolicy = inline;
+    }
+
+    private static ResourceModel model(final int policies, final int tags, final String policyPrefix) {
+        List<Tag> modelTags = new ArrayList<>();
+        for (int i = 0; i < tags; i++) {
+            modelTags.add(Tag.builder().key("key" + i).value("value" + i).build());
+        }
+        return ResourceModel.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .name(TEST_PERMISSION_SET_NAME)
+                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                .sessionDuration(TEST_SESSION_DURATION)
+                .managedPolicies(policies == 0 ? null : policyArns(policies, policyPrefix))
+                .tags(tags == 0 ? null : modelTags)
+                .inlinePolicy(TEST_INLINE_POLICY)
+                .build();
+    }
+
+    private static List<String> policyArns(final int policies, final String prefix) {
+        List<String> arns = new ArrayList<>();
+        for (int i = 0; i < policies; i++) {
+            arns.add(String.format("arn:aws:iam::aws:policy/%s%d", prefix, i));
+        }
+        return arns;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel desired, final ResourceModel previous) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(desired)
+                .previousResourceState(previous)
+                .build();
+    }
+
+    private static int offset(final String nextToken) {
+        return nextToken == null ? 0 : Integer.parseInt(nextToken);
+    }
+
+    private static String nextToken(final int offset, final int size) {
+        return offset + PAGE_SIZE < size ? String.valueOf(offset + PAGE_SIZE) : null;
+    }
+
+    private static <T> List<T> page(final List<T> items, final int offset) {
+        return items.subList(Math.min(offset, items.size()), Math.min(offset + PAGE_SIZE, items.size()));
+    }
+
+    private void scriptPermissionSet() {
+        final PermissionSet permissionSet = PermissionSet.builder()
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .name(TEST_PERMISSION_SET_NAME)
+                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                .sessionDuration(TEST_SESSION_DURATION)
+                .build();
+        final PermissionSetProvisioningStatus provisioning = PermissionSetProvisioningStatus.builder()
+                .requestId(TEST_REQUEST_ID)
+                .status(StatusValues.SUCCEEDED)
+                .build();
+
+        proxyClient
+                .on(CreatePermissionSetRequest.class, request -> CreatePermissionSetResponse.builder().permissionSet(permissionSet).build())
+                .on(DescribePermissionSetRequest.class, request -> DescribePermissionSetResponse.builder().permissionSet(permissionSet).build())
+                .on(UpdatePermissionSetRequest.class, request -> UpdatePermissionSetResponse.builder().build())
+                .on(DeletePermissionSetRequest.class, request -> DeletePermissionSetResponse.builder().build())
+                .on(ListTagsForResourceRequest.class, request -> {
+                    List<software.amazon.awssdk.services.ssoadmin.model.Tag> tags = resourceTags.entrySet().stream()
+                            .map(tag -> software.amazon.awssdk.services.ssoadmin.model.Tag.builder().key(tag.getKey()).value(tag.getValue()).build())
+                            .collect(Collectors.toList());
+                    int offset = offset(request.nextToken());
+                    return ListTagsForResourceResponse.builder()
+                            .tags(page(tags, offset))
+                            .nextToken(nextToken(offset, tags.size()))
+                            .build();
+                })
+                .on(TagResourceRequest.class, request -> {
+                    request.tags().forEach(tag -> resourceTags.put(tag.key(), tag.value()));
+                    return TagResourceResponse.builder().build();
+                })
+                .on(UntagResourceRequest.class, request -> {
+                    request.tagKeys().forEach(resourceTags::remove);
+                    return UntagResourceResponse.builder().build();
+                })
+                .on(ListManagedPoliciesInPermissionSetRequest.class, request -> {
+                    List<AttachedManagedPolicy> policies = attachedPolicies.stream()
+                            .map(arn -> AttachedManagedPolicy.builder().arn(arn).build())
+                            .collect(Collectors.toList());
+                    int offset = offset(request.nextToken());
+                    return ListManagedPoliciesInPermissionSetResponse.builder()
+                            .attachedManagedPolicies(page(policies, offset))
+                            .nextToken(nextToken(offset, policies.size()))
+                            .build();
+                })
+                .on(AttachManagedPolicyToPermissionSetRequest.class, request -> {
+                    attachedPolicies.add(request.managedPolicyArn());
+                    return AttachManagedPolicyToPermissionSetResponse.builder().build();
+                })
+                .on(DetachManagedPolicyFromPermissionSetRequest.class, request -> {
+                    attachedPolicies.remove(request.managedPolicyArn());
+                    return DetachManagedPolicyFromPermissionSetResponse.builder().build();
+                })
+                .on(PutInlinePolicyToPermissionSetRequest.class, request -> {
+                    inlinePolicy = request.inlinePolicy();
+                    return PutInlinePolicyToPermissionSetResponse.builder().build();
+                })
+                .on(DeleteInlinePolicyFromPermissionSetRequest.class, request -> {
+                    inlinePolicy = null;
+                    return DeleteInlinePolicyFromPermissionSetResponse.builder().build();
+                })
+                .on(GetInlinePolicyForPermissionSetRequest.class, request -> GetInlinePolicyForPermissionSetResponse.builder()
+                        .inlinePolicy(inlinePolicy)
+                        .build())
+                .on(ProvisionPermissionSetRequest.class, request -> ProvisionPermissionSetResponse.builder()
+                        .permissionSetProvisioningStatus(provisioning.toBuilder().status(StatusValues.IN_PROGRESS).build())
+                        .build())
+                .on(DescribePermissionSetProvisioningStatusRequest.class, request -> DescribePermissionSetProvisioningStatusResponse.builder()
+                        .permissionSetProvisioningStatus(provisioning)
+                        .build())
+                .on(ListPermissionSetProvisioningStatusRequest.class, request -> ListPermissionSetProvisioningStatusResponse.builder()
+                        .build());
+    }
+}
@@ -14,9 +14,7 @@ import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.CreatePermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
-import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetRequest;
-import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
 import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
@@ -37,6 +35,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -138,40 +137,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxy.injectCredentialsAndInvokeV2(psCreateRequest, proxyClient.client()::createPermissionSet))
                 .thenReturn(ssoResponse);
 
-        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        DescribePermissionSetResponse psDescribeResponse = DescribePermissionSetResponse.builder()
-                .permissionSet(testPermissionSet)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(psDescribeRequest, proxyClient.client()::describePermissionSet))
-                .thenReturn(psDescribeResponse);
-
-        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listAPResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        ListManagedPoliciesInPermissionSetResponse afterAttachListResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(attachedManagedPolicies)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listAPRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listAPResponse)
-                .thenReturn(afterAttachListResponse);
-
-        GetInlinePolicyForPermissionSetRequest getIPRequest = GetInlinePolicyForPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        GetInlinePolicyForPermissionSetResponse getIPResponse = GetInlinePolicyForPermissionSetResponse.builder()
-                .inlinePolicy(TEST_INLINE_POLICY)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(getIPRequest, proxyClient.client()::getInlinePolicyForPermissionSet))
-                .thenReturn(getIPResponse);
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
             .build();
@@ -196,6 +161,11 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(putInlinePolicyArgument.getValue().permissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN);
         assertThat(putInlinePolicyArgument.getValue().inlinePolicy()).isEqualTo(TEST_INLINE_POLICY);
 
+        // The result is built from what was written, nothing is read back
+        verify(proxyClient.client(), never()).describePermissionSet(any(DescribePermissionSetRequest.class));
+        verify(proxyClient.client(), never()).listManagedPoliciesInPermissionSet(any(ListManagedPoliciesInPermissionSetRequest.class));
+        verify(proxyClient.client(), never()).getInlinePolicyForPermissionSet(any(GetInlinePolicyForPermissionSetRequest.class));
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
@@ -205,6 +175,37 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_ReturnsValuesSetByService() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .name(TEST_PERMISSION_SET_NAME)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(Translator.translateToCreateRequest(model), proxyClient.client()::createPermissionSet))
+                .thenReturn(CreatePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder()
+                                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                                .name(TEST_PERMISSION_SET_NAME)
+                                .sessionDuration("PT1H")
+                                .build())
+                        .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getPermissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN);
+        assertThat(response.getResourceModel().getSessionDuration()).isEqualTo("PT1H");
+        assertThat(response.getResourceModel().getDescription()).isNull();
+        verify(proxyClient.client(), never()).describePermissionSet(any(DescribePermissionSetRequest.class));
+    }
+
     @Test
     public void handleRequest_SimpleSuccess_InlinePolicyMapObject() {
         final CreateHandler handler = new CreateHandler();
@@ -261,40 +262,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxy.injectCredentialsAndInvokeV2(psCreateRequest, proxyClient.client()::createPermissionSet))
                 .thenReturn(ssoResponse);
 
-        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        DescribePermissionSetResponse psDescribeResponse = DescribePermissionSetResponse.builder()
-                .permissionSet(testPermissionSet)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(psDescribeRequest, proxyClient.client()::describePermissionSet))
-                .thenReturn(psDescribeResponse);
-
-        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listAPResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        ListManagedPoliciesInPermissionSetResponse afterAttachListResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(attachedManagedPolicies)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listAPRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listAPResponse)
-                .thenReturn(afterAttachListResponse);
-
-        GetInlinePolicyForPermissionSetRequest getIPRequest = GetInlinePolicyForPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        GetInlinePolicyForPermissionSetResponse getIPResponse = GetInlinePolicyForPermissionSetResponse.builder()
-                .inlinePolicy(inlinePolicy)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(getIPRequest, proxyClient.client()::getInlinePolicyForPermissionSet))
-                .thenReturn(getIPResponse);
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
                 .build();
@@ -372,50 +339,13 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxy.injectCredentialsAndInvokeV2(psCreateRequest, proxyClient.client()::createPermissionSet))
                 .thenReturn(ssoResponse);
 
-        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        DescribePermissionSetResponse psDescribeResult = DescribePermissionSetResponse.builder()
-                .permissionSet(testPermissionSet)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(psDescribeRequest, proxyClient.client()::describePermissionSet))
-                .thenReturn(psDescribeResult);
-
-        ListManagedPoliciesInPermissionSetRequest listRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listResponse);
-
-        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listAPResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listAPRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listAPResponse);
-
-        GetInlinePolicyForPermissionSetRequest getIPRequest = GetInlinePolicyForPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        GetInlinePolicyForPermissionSetResponse getIPResponse = GetInlinePolicyForPermissionSetResponse.builder().build();
-        when(proxy.injectCredentialsAndInvokeV2(getIPRequest, proxyClient.client()::getInlinePolicyForPermissionSet))
-                .thenReturn(getIPResponse);
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
+        verify(proxyClient.client(), never()).listManagedPoliciesInPermissionSet(any(ListManagedPoliciesInPermissionSetRequest.class));
         verify(proxyClient.client(), never()).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
 
         verify(proxyClient.client(), never()).putInlinePolicyToPermissionSet(any(PutInlinePolicyToPermissionSetRequest.class));
@@ -475,50 +405,13 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxy.injectCredentialsAndInvokeV2(psCreateRequest, proxyClient.client()::createPermissionSet))
                 .thenReturn(ssoResponse);
 
-        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        DescribePermissionSetResponse psDescribeResult = DescribePermissionSetResponse.builder()
-                .permissionSet(testPermissionSet)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(psDescribeRequest, proxyClient.client()::describePermissionSet))
-                .thenReturn(psDescribeResult);
-
-        ListManagedPoliciesInPermissionSetRequest listRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listResponse);
-
-        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listAPResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listAPRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listAPResponse);
-
-        GetInlinePolicyForPermissionSetRequest getIPRequest = GetInlinePolicyForPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        GetInlinePolicyForPermissionSetResponse getIPResponse = GetInlinePolicyForPermissionSetResponse.builder().build();
-        when(proxy.injectCredentialsAndInvokeV2(getIPRequest, proxyClient.client()::getInlinePolicyForPermissionSet))
-                .thenReturn(getIPResponse);
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
+        verify(proxyClient.client(), never()).listManagedPoliciesInPermissionSet(any(ListManagedPoliciesInPermissionSetRequest.class));
         verify(proxyClient.client(), never()).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
 
         verify(proxyClient.client(), never()).putInlinePolicyToPermissionSet(any(PutInlinePolicyToPermissionSetRequest.class));
@@ -891,16 +784,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxy.injectCredentialsAndInvokeV2(psCreateRequest, proxyClient.client()::createPermissionSet))
                 .thenReturn(ssoResponse);
 
-        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listAPResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listAPRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listAPResponse);
-
         AttachManagedPolicyToPermissionSetRequest attachMPToPSRequest = AttachManagedPolicyToPermissionSetRequest.builder()
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
                 .permissionSetArn(TEST_PERMISSION_SET_ARN)
@@ -935,6 +818,110 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_Attachment_RetryAfterPartialAttach_DiffsAgainstAttached() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .name(TEST_PERMISSION_SET_NAME)
+                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .sessionDuration(TEST_SESSION_DURATION)
+                .relayStateType(TEST_RELAY_STATE)
+                .managedPolicies(new ArrayList<>(Arrays.asList(TEST_ADMIN_MANAGED_POLICY, TEST_READONLY_POLICY)))
+                .inlinePolicy(TEST_INLINE_POLICY)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(CreatePermissionSetRequest.builder()
+                .name(TEST_PERMISSION_SET_NAME)
+                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .relayState(TEST_RELAY_STATE)
+                .sessionDuration(TEST_SESSION_DURATION)
+                .tags(Collections.emptyList())
+                .build(), proxyClient.client()::createPermissionSet))
+                .thenReturn(CreatePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder().permissionSetArn(TEST_PERMISSION_SET_ARN).build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(AttachManagedPolicyToPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .managedPolicyArn(TEST_ADMIN_MANAGED_POLICY)
+                .build(), proxyClient.client()::attachManagedPolicyToPermissionSet))
+                .thenThrow(InternalServerException.builder().message(ISE_MESSAGE).build());
+        // The failed attach took effect after all
+        when(proxy.injectCredentialsAndInvokeV2(ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(ListManagedPoliciesInPermissionSetResponse.builder()
+                        .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(TEST_ADMIN_MANAGED_POLICY).build(),
+                                AttachedManagedPolicy.builder().arn(TEST_READONLY_POLICY).build())
+                        .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final CallbackContext context = new CallbackContext();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(context.getCompletedManagedPolicyArns()).containsExactly(TEST_READONLY_POLICY);
+
+        response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxyClient.client(), times(1)).listManagedPoliciesInPermissionSet(any(ListManagedPoliciesInPermissionSetRequest.class));
+        verify(proxyClient.client(), times(2)).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Attachment_RetryAfterFailedFirstAttach_DiffsAgainstAttached() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .name(TEST_PERMISSION_SET_NAME)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .managedPolicies(new ArrayList<>(Collections.singletonList(TEST_ADMIN_MANAGED_POLICY)))
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(Translator.translateToCreateRequest(model), proxyClient.client()::createPermissionSet))
+                .thenReturn(CreatePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder().permissionSetArn(TEST_PERMISSION_SET_ARN).build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(AttachManagedPolicyToPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .managedPolicyArn(TEST_ADMIN_MANAGED_POLICY)
+                .build(), proxyClient.client()::attachManagedPolicyToPermissionSet))
+                .thenThrow(InternalServerException.builder().message(ISE_MESSAGE).build());
+        // The only attach failed but took effect, so nothing is recorded as completed
+        when(proxy.injectCredentialsAndInvokeV2(ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(ListManagedPoliciesInPermissionSetResponse.builder()
+                        .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(TEST_ADMIN_MANAGED_POLICY).build())
+                        .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+        final CallbackContext context = new CallbackContext();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(context.getCompletedManagedPolicyArns()).isEmpty();
+
+        response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxyClient.client(), times(1)).listManagedPoliciesInPermissionSet(any(ListManagedPoliciesInPermissionSetRequest.class));
+        verify(proxyClient.client(), times(1)).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
+    }
+
     @Test
     public void handleRequest_Attachment_Invoked_And_Skipped() {
         final CreateHandler handler = new CreateHandler();
@@ -1072,20 +1059,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxy.injectCredentialsAndInvokeV2(psCreateRequest, proxyClient.client()::createPermissionSet))
                 .thenReturn(ssoResponse);
 
-        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listAPResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        ListManagedPoliciesInPermissionSetResponse afterAttachListResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(attachedManagedPolicies)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listAPRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listAPResponse)
-                .thenReturn(afterAttachListResponse);
-
         PutInlinePolicyToPermissionSetRequest putIpToPsRequest = PutInlinePolicyToPermissionSetRequest.builder()
                 .instanceArn(TEST_SSO_INSTANCE_ARN)
                 .permissionSetArn(TEST_PERMISSION_SET_ARN)
@@ -1181,40 +1154,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(proxy.injectCredentialsAndInvokeV2(psCreateRequest, proxyClient.client()::createPermissionSet))
                 .thenReturn(ssoResponse);
 
-        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        DescribePermissionSetResponse psDescribeResponse = DescribePermissionSetResponse.builder()
-                .permissionSet(testPermissionSet)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(psDescribeRequest, proxyClient.client()::describePermissionSet))
-                .thenReturn(psDescribeResponse);
-
-        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        ListManagedPoliciesInPermissionSetResponse listAPResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(Collections.emptyList())
-                .build();
-        ListManagedPoliciesInPermissionSetResponse afterAttachListResponse = ListManagedPoliciesInPermissionSetResponse.builder()
-                .attachedManagedPolicies(attachedManagedPolicies)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(listAPRequest, proxyClient.client()::listManagedPoliciesInPermissionSet))
-                .thenReturn(listAPResponse)
-                .thenReturn(afterAttachListResponse);
-
-        GetInlinePolicyForPermissionSetRequest getIPRequest = GetInlinePolicyForPermissionSetRequest.builder()
-                .instanceArn(TEST_SSO_INSTANCE_ARN)
-                .permissionSetArn(TEST_PERMISSION_SET_ARN)
-                .build();
-        GetInlinePolicyForPermissionSetResponse getIPResponse = GetInlinePolicyForPermissionSetResponse.builder()
-                .inlinePolicy(TEST_INLINE_POLICY)
-                .build();
-        when(proxy.injectCredentialsAndInvokeV2(getIPRequest, proxyClient.client()::getInlinePolicyForPermissionSet))
-                .thenReturn(getIPResponse);
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
                 .build();
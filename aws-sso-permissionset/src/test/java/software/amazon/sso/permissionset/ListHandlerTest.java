@@ -6,22 +6,53 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
+import software.amazon.awssdk.services.ssoadmin.model.AttachedManagedPolicy;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetsResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSet;
+import software.amazon.awssdk.services.ssoadmin.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssoadmin.model.Tag;
+import software.amazon.awssdk.services.ssoadmin.model.ThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static software.amazon.sso.permissionset.TestConstants.TEST_ADMIN_MANAGED_POLICY;
+import static software.amazon.sso.permissionset.TestConstants.TEST_INLINE_POLICY;
+import static software.amazon.sso.permissionset.TestConstants.TEST_PERMISSION_SET_ARN;
+import static software.amazon.sso.permissionset.TestConstants.TEST_PERMISSION_SET_DESCRIPTION;
+import static software.amazon.sso.permissionset.TestConstants.TEST_PERMISSION_SET_NAME;
+import static software.amazon.sso.permissionset.TestConstants.TEST_SSO_INSTANCE_ARN;
+import static software.amazon.sso.permissionset.TestConstants.THROTTLING_MESSAGE;
+import static software.amazon.sso.permissionset.utils.Constants.LIST_PAGE_SIZE;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest extends AbstractTestBase {
 
+    private static final String TEST_PERMISSION_SET_ARN_2 = "arn:aws:sso:::permissionSet/ssoins-1a5c249c9a03b908/ps-a7bc7a84aead19c2";
+
     @Mock
     private AmazonWebServicesClientProxy proxy;
 
+    @Mock
+    private ProxyClient<SsoAdminClient> proxyClient;
+
     @Mock
     SsoAdminClient sso;
 
@@ -29,28 +60,176 @@ public class ListHandlerTest extends AbstractTestBase {
     public void setup() {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         sso = mock(SsoAdminClient.class);
+        when(proxyClient.client()).thenReturn(sso);
     }
 
     @Test
     public void handleRequest_SimpleSuccess() {
         final ListHandler handler = new ListHandler();
 
-        final ResourceModel model = ResourceModel.builder().build();
+        when(proxy.injectCredentialsAndInvokeV2(listRequest("token"), proxyClient.client()::listPermissionSets))
+                .thenReturn(ListPermissionSetsResponse.builder()
+                        .permissionSets(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_ARN_2)
+                        .nextToken("nextToken")
+                        .build());
+        stubPermissionSet(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_NAME);
+        stubPermissionSet(TEST_PERMISSION_SET_ARN_2, "secondPermissionSet");
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
-                .desiredResourceState(model)
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN).build())
+                .nextToken("token")
                 .build();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, null, logger);
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
-        assertThat(response.getCallbackContext()).isNull();
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModel()).isNull();
-        assertThat(response.getResourceModels()).isNotNull();
+        assertThat(response.getNextToken()).isEqualTo("nextToken");
+        assertThat(response.getResourceModels()).hasSize(2);
+        assertThat(response.getResourceModels().get(0).getPermissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN);
+        assertThat(response.getResourceModels().get(0).getName()).isEqualTo(TEST_PERMISSION_SET_NAME);
+        assertThat(response.getResourceModels().get(0).getInstanceArn()).isEqualTo(TEST_SSO_INSTANCE_ARN);
+        assertThat(response.getResourceModels().get(0).getManagedPolicies()).containsExactly(TEST_ADMIN_MANAGED_POLICY);
+        assertThat(response.getResourceModels().get(0).getInlinePolicy()).isEqualTo(TEST_INLINE_POLICY);
+        assertThat(response.getResourceModels().get(0).getTags()).hasSize(1);
+        assertThat(response.getResourceModels().get(1).getPermissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN_2);
+        assertThat(response.getResourceModels().get(1).getName()).isEqualTo("secondPermissionSet");
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
+
+    @Test
+    public void handleRequest_SkipsPermissionSetDeletedSinceListed() {
+        final ListHandler handler = new ListHandler();
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(null), proxyClient.client()::listPermissionSets))
+                .thenReturn(ListPermissionSetsResponse.builder()
+                        .permissionSets(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_ARN_2)
+                        .build());
+        stubPermissionSet(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_NAME);
+        when(proxy.injectCredentialsAndInvokeV2(describeRequest(TEST_PERMISSION_SET_ARN_2), proxyClient.client()::describePermissionSet))
+                .thenThrow(ResourceNotFoundException.builder().message("Permission set not found.").build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels()).hasSize(1);
+        assertThat(response.getResourceModels().get(0).getPermissionSetArn()).isEqualTo(TEST_PERMISSION_SET_ARN);
+    }
+
+    @Test
+    public void handleRequest_Throttled() {
+        final ListHandler handler = new ListHandler();
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(null), proxyClient.client()::listPermissionSets))
+                .thenThrow(ThrottlingException.builder().message(THROTTLING_MESSAGE).build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+        assertThat(response.getResourceModels()).isNull();
+    }
+
+    @Test
+    public void handleRequest_ThrottledRead_RetriesPermissionSet() {
+        final ListHandler handler = new ListHandler();
+
+        when(proxy.injectCredentialsAndInvokeV2(listRequest(null), proxyClient.client()::listPermissionSets))
+                .thenReturn(ListPermissionSetsResponse.builder()
+                        .permissionSets(TEST_PERMISSION_SET_ARN)
+                        .build());
+        stubPermissionSet(TEST_PERMISSION_SET_ARN, TEST_PERMISSION_SET_NAME);
+        when(proxy.injectCredentialsAndInvokeV2(describeRequest(TEST_PERMISSION_SET_ARN), proxyClient.client()::describePermissionSet))
+                .thenThrow(ThrottlingException.builder().message(THROTTLING_MESSAGE).build())
+                .thenReturn(DescribePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder()
+                                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                                .name(TEST_PERMISSION_SET_NAME)
+                                .build())
+                        .build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN).build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(1);
+        assertThat(response.getResourceModels().get(0).getName()).isEqualTo(TEST_PERMISSION_SET_NAME);
+    }
+
+    @Test
+    public void handleRequest_NoDesiredState_InvalidRequest() {
+        final ListHandler handler = new ListHandler();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().build(), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
+
+    private void stubPermissionSet(String permissionSetArn, String name) {
+        when(proxy.injectCredentialsAndInvokeV2(describeRequest(permissionSetArn), proxyClient.client()::describePermissionSet))
+                .thenReturn(DescribePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder()
+                                .permissionSetArn(permissionSetArn)
+                                .name(name)
+                                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(ListTagsForResourceRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .resourceArn(permissionSetArn)
+                .build(), proxyClient.client()::listTagsForResource))
+                .thenReturn(ListTagsForResourceResponse.builder()
+                        .tags(Tag.builder().key("key").value("value").build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(permissionSetArn)
+                .build(), proxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(ListManagedPoliciesInPermissionSetResponse.builder()
+                        .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(TEST_ADMIN_MANAGED_POLICY).build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(GetInlinePolicyForPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(permissionSetArn)
+                .build(), proxyClient.client()::getInlinePolicyForPermissionSet))
+                .thenReturn(GetInlinePolicyForPermissionSetResponse.builder()
+                        .inlinePolicy(TEST_INLINE_POLICY)
+                        .build());
+    }
+
+    private ListPermissionSetsRequest listRequest(String nextToken) {
+        return ListPermissionSetsRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .maxResults(LIST_PAGE_SIZE)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private DescribePermissionSetRequest describeRequest(String permissionSetArn) {
+        return DescribePermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(permissionSetArn)
+                .build();
+    }
 }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AttachedManagedPolicy;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
@@ -31,10 +32,15 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static software.amazon.sso.permissionset.TestConstants.TEST_ADMIN_MANAGED_POLICY;
 import static software.amazon.sso.permissionset.TestConstants.TEST_INLINE_POLICY;
@@ -46,6 +52,7 @@ import static software.amazon.sso.permissionset.TestConstants.TEST_RELAY_STATE;
 import static software.amazon.sso.permissionset.TestConstants.TEST_SESSION_DURATION;
 import static software.amazon.sso.permissionset.TestConstants.TEST_SSO_INSTANCE_ARN;
 import static software.amazon.sso.permissionset.TestConstants.THROTTLING_MESSAGE;
+import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadHandlerTest extends AbstractTestBase {
@@ -294,6 +301,180 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
     }
 
+    @Test
+    public void handleRequest_Chained_Throttling_RetriedInCallback() {
+        final ReadHandler handler = new ReadHandler(true);
+
+        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(psDescribeRequest, proxyClient.client()::describePermissionSet))
+                .thenThrow(ThrottlingException.builder().message(THROTTLING_MESSAGE).build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .build())
+                .build();
+
+        CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(1, 5);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(context.getReadThrottlingAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
+        verify(sso, times(1)).describePermissionSet(psDescribeRequest);
+    }
+
+    @Test
+    public void handleRequest_Chained_Throttling_AttemptsExhausted() {
+        final ReadHandler handler = new ReadHandler(true);
+
+        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(psDescribeRequest, proxyClient.client()::describePermissionSet))
+                .thenThrow(ThrottlingException.builder().message(THROTTLING_MESSAGE).build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .build())
+                .build();
+
+        CallbackContext context = new CallbackContext();
+        context.setReadHandlerInvoked(true);
+        context.setReadThrottlingAttempts(1);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getMessage()).contains("Read request got throttled");
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
+    @Test
+    public void handleRequest_Async_ConcurrentLookups_Success() {
+        final SsoAdminAsyncClient ssoAsync = mock(SsoAdminAsyncClient.class);
+        final ProxyClient<SsoAdminAsyncClient> asyncProxyClient = proxy.newProxy(() -> ssoAsync);
+        final ReadHandler handler = new ReadHandler(false, asyncProxyClient);
+
+        DescribePermissionSetRequest psDescribeRequest = DescribePermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2Async(psDescribeRequest, asyncProxyClient.client()::describePermissionSet))
+                .thenReturn(CompletableFuture.completedFuture(DescribePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder()
+                                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                                .name(TEST_PERMISSION_SET_NAME)
+                                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                                .relayState(TEST_RELAY_STATE)
+                                .sessionDuration(TEST_SESSION_DURATION)
+                                .build())
+                        .build()));
+
+        ListTagsForResourceRequest listTagRequest = ListTagsForResourceRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .resourceArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2Async(listTagRequest, asyncProxyClient.client()::listTagsForResource))
+                .thenReturn(CompletableFuture.completedFuture(ListTagsForResourceResponse.builder()
+                        .tags(Tag.builder().key("key").value("value").build())
+                        .build()));
+
+        ListManagedPoliciesInPermissionSetRequest listAPRequest = ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2Async(listAPRequest, asyncProxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(CompletableFuture.completedFuture(ListManagedPoliciesInPermissionSetResponse.builder()
+                        .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(TEST_ADMIN_MANAGED_POLICY).build())
+                        .nextToken("nextToken")
+                        .build()));
+        when(proxy.injectCredentialsAndInvokeV2Async(listAPRequest.toBuilder().nextToken("nextToken").build(),
+                asyncProxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(CompletableFuture.completedFuture(ListManagedPoliciesInPermissionSetResponse.builder()
+                        .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(TEST_READONLY_POLICY).build())
+                        .build()));
+
+        GetInlinePolicyForPermissionSetRequest getIPRequest = GetInlinePolicyForPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2Async(getIPRequest, asyncProxyClient.client()::getInlinePolicyForPermissionSet))
+                .thenReturn(CompletableFuture.completedFuture(GetInlinePolicyForPermissionSetResponse.builder()
+                        .inlinePolicy(TEST_INLINE_POLICY)
+                        .build()));
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .build())
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getName()).isEqualTo(TEST_PERMISSION_SET_NAME);
+        assertThat(response.getResourceModel().getTags()).hasSize(1);
+        assertThat(response.getResourceModel().getManagedPolicies()).containsExactly(TEST_ADMIN_MANAGED_POLICY, TEST_READONLY_POLICY);
+        assertThat(response.getResourceModel().getInlinePolicy()).isEqualTo(TEST_INLINE_POLICY);
+        verify(proxyClient.client(), never()).describePermissionSet(any(DescribePermissionSetRequest.class));
+        verify(sso, never()).getInlinePolicyForPermissionSet(any(GetInlinePolicyForPermissionSetRequest.class));
+    }
+
+    @Test
+    public void handleRequest_Async_Chained_Throttling_RetriedInCallback() {
+        final SsoAdminAsyncClient ssoAsync = mock(SsoAdminAsyncClient.class);
+        final ProxyClient<SsoAdminAsyncClient> asyncProxyClient = proxy.newProxy(() -> ssoAsync);
+        final ReadHandler handler = new ReadHandler(true, asyncProxyClient);
+
+        final CompletableFuture<GetInlinePolicyForPermissionSetResponse> throttled = new CompletableFuture<>();
+        throttled.completeExceptionally(ThrottlingException.builder().message(THROTTLING_MESSAGE).build());
+
+        when(proxy.injectCredentialsAndInvokeV2Async(DescribePermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), asyncProxyClient.client()::describePermissionSet))
+                .thenReturn(CompletableFuture.completedFuture(DescribePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder().permissionSetArn(TEST_PERMISSION_SET_ARN).build())
+                        .build()));
+        when(proxy.injectCredentialsAndInvokeV2Async(ListTagsForResourceRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .resourceArn(TEST_PERMISSION_SET_ARN)
+                .build(), asyncProxyClient.client()::listTagsForResource))
+                .thenReturn(CompletableFuture.completedFuture(ListTagsForResourceResponse.builder().build()));
+        when(proxy.injectCredentialsAndInvokeV2Async(ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), asyncProxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(CompletableFuture.completedFuture(ListManagedPoliciesInPermissionSetResponse.builder().build()));
+        when(proxy.injectCredentialsAndInvokeV2Async(GetInlinePolicyForPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), asyncProxyClient.client()::getInlinePolicyForPermissionSet))
+                .thenReturn(throttled);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().instanceArn(TEST_SSO_INSTANCE_ARN)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .build())
+                .build();
+
+        CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(1, 5);
+        assertThat(context.getReadThrottlingAttempts()).isEqualTo(RETRY_ATTEMPTS - 1);
+        verify(proxyClient.client(), never()).describePermissionSet(any(DescribePermissionSetRequest.class));
+    }
+
     @Test
     public void handleRequest_Throttling_PS_Retryable_Success() {
         final ReadHandler handler = new ReadHandler();
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import software.amazon.awssdk.services.ssoadmin.SsoAdminAsyncClient;
 import software.amazon.awssdk.services.ssoadmin.SsoAdminClient;
 import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.AttachManagedPolicyToPermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.AttachedManagedPolicy;
 import software.amazon.awssdk.services.ssoadmin.model.ConflictException;
 import software.amazon.awssdk.services.ssoadmin.model.DeleteInlinePolicyFromPermissionSetRequest;
@@ -16,15 +19,20 @@ import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetProvi
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.DescribePermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetRequest;
+import software.amazon.awssdk.services.ssoadmin.model.DetachManagedPolicyFromPermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.GetInlinePolicyForPermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.InternalServerException;
 import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListManagedPoliciesInPermissionSetResponse;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusRequest;
+import software.amazon.awssdk.services.ssoadmin.model.ListPermissionSetProvisioningStatusResponse;
 import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssoadmin.model.OperationStatusFilter;
 import software.amazon.awssdk.services.ssoadmin.model.PermissionSet;
 import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatus;
+import software.amazon.awssdk.services.ssoadmin.model.PermissionSetProvisioningStatusMetadata;
 import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetRequest;
 import software.amazon.awssdk.services.ssoadmin.model.ProvisionPermissionSetResponse;
 import software.amazon.awssdk.services.ssoadmin.model.ProvisionTargetType;
@@ -47,9 +55,11 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -72,11 +82,15 @@ import static software.amazon.sso.permissionset.TestConstants.TEST_SESSION_DURAT
 import static software.amazon.sso.permissionset.TestConstants.TEST_SSO_INSTANCE_ARN;
 import static software.amazon.sso.permissionset.TestConstants.THROTTLING_MESSAGE;
 import static software.amazon.sso.permissionset.utils.Constants.MANAGED_POLICIES_LIMIT_EXCEED_MESSAGE;
+import static software.amazon.sso.permissionset.utils.Constants.MANAGED_POLICY_CONGESTED_ROUNDS_MAX;
+import static software.amazon.sso.permissionset.utils.Constants.PROVISIONING_POLL_DELAY_SECONDS;
+import static software.amazon.sso.permissionset.utils.Constants.RETRY_ATTEMPTS;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest extends AbstractTestBase {
 
     private static final String TEST_REQUEST_ID = "request_id";
+    private static final String IN_FLIGHT_REQUEST_ID = "in_flight_request_id";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -249,6 +263,408 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_PlannedFromPreviousState_OnlyTagsChanged() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceModel previousModel = planTestModel(TEST_READONLY_POLICY);
+        previousModel.setTags(Arrays.asList(software.amazon.sso.permissionset.Tag.builder().key("key1").value("value1").build()));
+        final ResourceModel inputModel = planTestModel(TEST_READONLY_POLICY);
+        inputModel.setTags(Arrays.asList(software.amazon.sso.permissionset.Tag.builder().key("key").value("value").build()));
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previousModel)
+                .desiredResourceState(inputModel)
+                .build();
+
+        stubChainedRead(TEST_READONLY_POLICY);
+        // A tag added outside the stack is removed as well
+        when(proxy.injectCredentialsAndInvokeV2(ListTagsForResourceRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .resourceArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listTagsForResource))
+                .thenReturn(ListTagsForResourceResponse.builder()
+                        .tags(Tag.builder().key("key1").value("value1").build(), Tag.builder().key("drifted").value("value").build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        ArgumentCaptor<UntagResourceRequest> untagArgument = ArgumentCaptor.forClass(UntagResourceRequest.class);
+        verify(proxyClient.client(), times(1)).untagResource(untagArgument.capture());
+        assertThat(untagArgument.getValue().tagKeys()).containsExactlyInAnyOrder("key1", "drifted");
+        verify(proxyClient.client(), times(1)).tagResource(any(TagResourceRequest.class));
+
+        verify(proxyClient.client(), never()).updatePermissionSet(any(UpdatePermissionSetRequest.class));
+        verify(proxyClient.client(), never()).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
+        verify(proxyClient.client(), never()).putInlinePolicyToPermissionSet(any(PutInlinePolicyToPermissionSetRequest.class));
+        verify(proxyClient.client(), never()).provisionPermissionSet(any(ProvisionPermissionSetRequest.class));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+    }
+
+    @Test
+    public void handleRequest_PlannedFromPreviousState_ManagedPolicyChanged() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(planTestModel(TEST_READONLY_POLICY))
+                .desiredResourceState(planTestModel(TEST_ADMIN_MANAGED_POLICY))
+                .build();
+
+        stubChainedRead(TEST_ADMIN_MANAGED_POLICY);
+        stubAttachedManagedPolicies(TEST_READONLY_POLICY, TEST_ADMIN_MANAGED_POLICY);
+        stubResourceTags();
+
+        ProvisionPermissionSetRequest provisionPsRequest = ProvisionPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(ProvisionTargetType.ALL_PROVISIONED_ACCOUNTS)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(provisionPsRequest, proxyClient.client()::provisionPermissionSet))
+                .thenReturn(ProvisionPermissionSetResponse.builder()
+                        .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder().status(StatusValues.IN_PROGRESS).requestId(TEST_REQUEST_ID).build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribePermissionSetProvisioningStatusRequest.builder()
+                .provisionPermissionSetRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describePermissionSetProvisioningStatus))
+                .thenReturn(DescribePermissionSetProvisioningStatusResponse.builder()
+                        .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder().status(StatusValues.SUCCEEDED).requestId(TEST_REQUEST_ID).build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        ArgumentCaptor<DetachManagedPolicyFromPermissionSetRequest> detachPolicyArgument = ArgumentCaptor.forClass(DetachManagedPolicyFromPermissionSetRequest.class);
+        verify(proxyClient.client(), times(1)).detachManagedPolicyFromPermissionSet(detachPolicyArgument.capture());
+        assertThat(detachPolicyArgument.getValue().managedPolicyArn()).isEqualTo(TEST_READONLY_POLICY);
+        ArgumentCaptor<AttachManagedPolicyToPermissionSetRequest> attachPolicyArgument = ArgumentCaptor.forClass(AttachManagedPolicyToPermissionSetRequest.class);
+        verify(proxyClient.client(), times(1)).attachManagedPolicyToPermissionSet(attachPolicyArgument.capture());
+        assertThat(attachPolicyArgument.getValue().managedPolicyArn()).isEqualTo(TEST_ADMIN_MANAGED_POLICY);
+
+        // The update diffs against what is attached, the chained read lists it again
+        verify(proxyClient.client(), times(2)).listManagedPoliciesInPermissionSet(any(ListManagedPoliciesInPermissionSetRequest.class));
+        verify(proxyClient.client(), never()).updatePermissionSet(any(UpdatePermissionSetRequest.class));
+        verify(proxyClient.client(), never()).tagResource(any(TagResourceRequest.class));
+        verify(proxyClient.client(), times(1)).provisionPermissionSet(provisionPsRequest);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+    }
+
+    @Test
+    public void handleRequest_UnchangedTemplate_CorrectsDriftedManagedPolicy() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(planTestModel(TEST_READONLY_POLICY))
+                .desiredResourceState(planTestModel(TEST_READONLY_POLICY))
+                .build();
+
+        // The policy was swapped outside the stack
+        stubChainedRead(TEST_READONLY_POLICY);
+        stubAttachedManagedPolicies(TEST_ADMIN_MANAGED_POLICY, TEST_READONLY_POLICY);
+        stubResourceTags();
+
+        ProvisionPermissionSetRequest provisionPsRequest = ProvisionPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .targetType(ProvisionTargetType.ALL_PROVISIONED_ACCOUNTS)
+                .build();
+        when(proxy.injectCredentialsAndInvokeV2(provisionPsRequest, proxyClient.client()::provisionPermissionSet))
+                .thenReturn(ProvisionPermissionSetResponse.builder()
+                        .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder().status(StatusValues.IN_PROGRESS).requestId(TEST_REQUEST_ID).build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(DescribePermissionSetProvisioningStatusRequest.builder()
+                .provisionPermissionSetRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describePermissionSetProvisioningStatus))
+                .thenReturn(DescribePermissionSetProvisioningStatusResponse.builder()
+                        .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder().status(StatusValues.SUCCEEDED).requestId(TEST_REQUEST_ID).build())
+                        .build());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        ArgumentCaptor<DetachManagedPolicyFromPermissionSetRequest> detachPolicyArgument = ArgumentCaptor.forClass(DetachManagedPolicyFromPermissionSetRequest.class);
+        verify(proxyClient.client(), times(1)).detachManagedPolicyFromPermissionSet(detachPolicyArgument.capture());
+        assertThat(detachPolicyArgument.getValue().managedPolicyArn()).isEqualTo(TEST_ADMIN_MANAGED_POLICY);
+        ArgumentCaptor<AttachManagedPolicyToPermissionSetRequest> attachPolicyArgument = ArgumentCaptor.forClass(AttachManagedPolicyToPermissionSetRequest.class);
+        verify(proxyClient.client(), times(1)).attachManagedPolicyToPermissionSet(attachPolicyArgument.capture());
+        assertThat(attachPolicyArgument.getValue().managedPolicyArn()).isEqualTo(TEST_READONLY_POLICY);
+
+        verify(proxyClient.client(), never()).updatePermissionSet(any(UpdatePermissionSetRequest.class));
+        verify(proxyClient.client(), never()).tagResource(any(TagResourceRequest.class));
+        verify(proxyClient.client(), never()).putInlinePolicyToPermissionSet(any(PutInlinePolicyToPermissionSetRequest.class));
+        verify(proxyClient.client(), times(1)).provisionPermissionSet(provisionPsRequest);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+    }
+
+    @Test
+    public void handleRequest_Provision_AdoptsProvisioningStartedAfterChanges() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(planTestModel(TEST_READONLY_POLICY))
+                .desiredResourceState(planTestModel(TEST_ADMIN_MANAGED_POLICY))
+                .build();
+
+        stubChainedRead(TEST_ADMIN_MANAGED_POLICY);
+        stubAttachedManagedPolicies(TEST_READONLY_POLICY, TEST_ADMIN_MANAGED_POLICY);
+        stubResourceTags();
+        stubInFlightProvisioning(Instant.now().plusSeconds(60));
+        when(proxy.injectCredentialsAndInvokeV2(describeInFlightProvisioning(), proxyClient.client()::describePermissionSetProvisioningStatus))
+                .thenReturn(inFlightProvisioning(StatusValues.IN_PROGRESS, Instant.now().plusSeconds(60)))
+                .thenReturn(inFlightProvisioning(StatusValues.SUCCEEDED, Instant.now().plusSeconds(60)));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        verify(proxyClient.client(), never()).provisionPermissionSet(any(ProvisionPermissionSetRequest.class));
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext().getProvisioningRequestId()).isEqualTo(IN_FLIGHT_REQUEST_ID);
+    }
+
+    @Test
+    public void handleRequest_Provision_WaitsForProvisioningStartedBeforeChanges() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(planTestModel(TEST_READONLY_POLICY))
+                .desiredResourceState(planTestModel(TEST_ADMIN_MANAGED_POLICY))
+                .build();
+
+        stubAttachedManagedPolicies(TEST_READONLY_POLICY);
+        stubResourceTags();
+        stubInFlightProvisioning(Instant.now().minusSeconds(60));
+        when(proxy.injectCredentialsAndInvokeV2(describeInFlightProvisioning(), proxyClient.client()::describePermissionSetProvisioningStatus))
+                .thenReturn(inFlightProvisioning(StatusValues.IN_PROGRESS, Instant.now().minusSeconds(60)));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // it may predate the policy swap, so the update provisions on its own once it is done
+        verify(proxyClient.client(), never()).provisionPermissionSet(any(ProvisionPermissionSetRequest.class));
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(PROVISIONING_POLL_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().getBlockingProvisioningRequestId()).isEqualTo(IN_FLIGHT_REQUEST_ID);
+        assertThat(response.getCallbackContext().getProvisioningRequestId()).isNull();
+    }
+
+    @Test
+    public void handleRequest_Provision_DoesNotProvisionAgainOnReinvocation() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(planTestModel(TEST_READONLY_POLICY))
+                .desiredResourceState(planTestModel(TEST_ADMIN_MANAGED_POLICY))
+                .build();
+
+        stubChainedRead(TEST_ADMIN_MANAGED_POLICY);
+        stubResourceTags();
+        when(proxy.injectCredentialsAndInvokeV2(DescribePermissionSetProvisioningStatusRequest.builder()
+                .provisionPermissionSetRequestId(TEST_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build(), proxyClient.client()::describePermissionSetProvisioningStatus))
+                .thenReturn(DescribePermissionSetProvisioningStatusResponse.builder()
+                        .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder().status(StatusValues.SUCCEEDED).requestId(TEST_REQUEST_ID).build())
+                        .build());
+
+        CallbackContext context = new CallbackContext();
+        context.setHandlerInvoked(true);
+        context.setRetryAttempts(RETRY_ATTEMPTS);
+        context.setManagedPolicyUpdated(true);
+        context.setProvisioningRequestId(TEST_REQUEST_ID);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        verify(proxyClient.client(), never()).listPermissionSetProvisioningStatus(any(ListPermissionSetProvisioningStatusRequest.class));
+        verify(proxyClient.client(), never()).provisionPermissionSet(any(ProvisionPermissionSetRequest.class));
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    @Test
+    public void handleRequest_ConcurrentAttachment_RetriesOnlyCallsLeft() {
+        final UpdateHandler handler = new UpdateHandler();
+        final SsoAdminAsyncClient ssoAsync = mock(SsoAdminAsyncClient.class);
+        handler.asyncProxyClient = proxy.newProxy(() -> ssoAsync);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(planTestModel(TEST_READONLY_POLICY))
+                .desiredResourceState(planTestModel(TEST_ADMIN_MANAGED_POLICY))
+                .build();
+
+        stubAttachedManagedPolicies(TEST_READONLY_POLICY);
+        stubResourceTags();
+        when(ssoAsync.detachManagedPolicyFromPermissionSet(any(DetachManagedPolicyFromPermissionSetRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DetachManagedPolicyFromPermissionSetResponse.builder().build()));
+        final CompletableFuture<AttachManagedPolicyToPermissionSetResponse> conflict = new CompletableFuture<>();
+        conflict.completeExceptionally(ConflictException.builder().message("Conflict").build());
+        when(ssoAsync.attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class)))
+                .thenReturn(conflict);
+
+        final CallbackContext context = new CallbackContext();
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        // Congested rounds are not waited out in process, the attach left is handed to a callback
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isGreaterThan(0);
+        assertThat(context.getCompletedManagedPolicyArns()).containsExactly(TEST_READONLY_POLICY);
+        verify(ssoAsync, times(MANAGED_POLICY_CONGESTED_ROUNDS_MAX)).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
+
+        response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        verify(ssoAsync, times(1)).detachManagedPolicyFromPermissionSet(any(DetachManagedPolicyFromPermissionSetRequest.class));
+        verify(proxyClient.client(), never()).detachManagedPolicyFromPermissionSet(any(DetachManagedPolicyFromPermissionSetRequest.class));
+        verify(proxyClient.client(), never()).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
+    }
+
+    @Test
+    public void handleRequest_UpdateAttachment_RetryResumesPlan() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(planTestModel(TEST_ADMIN_MANAGED_POLICY))
+                .build();
+
+        when(proxy.injectCredentialsAndInvokeV2(ListTagsForResourceRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .resourceArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listTagsForResource))
+                .thenReturn(ListTagsForResourceResponse.builder().build());
+        when(proxy.injectCredentialsAndInvokeV2(ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(ListManagedPoliciesInPermissionSetResponse.builder()
+                        .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(TEST_READONLY_POLICY).build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(AttachManagedPolicyToPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .managedPolicyArn(TEST_ADMIN_MANAGED_POLICY)
+                .build(), proxyClient.client()::attachManagedPolicyToPermissionSet))
+                .thenThrow(ThrottlingException.builder().message(THROTTLING_MESSAGE).build());
+
+        final CallbackContext context = new CallbackContext();
+        handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(context.getManagedPoliciesToDetach()).containsExactly(TEST_READONLY_POLICY);
+        assertThat(context.getManagedPoliciesToAttach()).containsExactly(TEST_ADMIN_MANAGED_POLICY);
+        assertThat(context.getCompletedManagedPolicyArns()).containsExactly(TEST_READONLY_POLICY);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        verify(proxyClient.client(), times(1)).listManagedPoliciesInPermissionSet(any(ListManagedPoliciesInPermissionSetRequest.class));
+        verify(proxyClient.client(), times(1)).detachManagedPolicyFromPermissionSet(any(DetachManagedPolicyFromPermissionSetRequest.class));
+        verify(proxyClient.client(), times(2)).attachManagedPolicyToPermissionSet(any(AttachManagedPolicyToPermissionSetRequest.class));
+    }
+
+    private void stubInFlightProvisioning(Instant createdDate) {
+        when(proxy.injectCredentialsAndInvokeV2(ListPermissionSetProvisioningStatusRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .filter(OperationStatusFilter.builder().status(StatusValues.IN_PROGRESS).build())
+                .build(), proxyClient.client()::listPermissionSetProvisioningStatus))
+                .thenReturn(ListPermissionSetProvisioningStatusResponse.builder()
+                        .permissionSetsProvisioningStatus(PermissionSetProvisioningStatusMetadata.builder()
+                                .requestId(IN_FLIGHT_REQUEST_ID)
+                                .status(StatusValues.IN_PROGRESS)
+                                .createdDate(createdDate)
+                                .build())
+                        .build());
+    }
+
+    private DescribePermissionSetProvisioningStatusRequest describeInFlightProvisioning() {
+        return DescribePermissionSetProvisioningStatusRequest.builder()
+                .provisionPermissionSetRequestId(IN_FLIGHT_REQUEST_ID)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .build();
+    }
+
+    private DescribePermissionSetProvisioningStatusResponse inFlightProvisioning(StatusValues status, Instant createdDate) {
+        return DescribePermissionSetProvisioningStatusResponse.builder()
+                .permissionSetProvisioningStatus(PermissionSetProvisioningStatus.builder()
+                        .requestId(IN_FLIGHT_REQUEST_ID)
+                        .status(status)
+                        .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                        .createdDate(createdDate)
+                        .build())
+                .build();
+    }
+
+    private ResourceModel planTestModel(String managedPolicyArn) {
+        return ResourceModel.builder()
+                .name(TEST_PERMISSION_SET_NAME)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .sessionDuration(TEST_SESSION_DURATION)
+                .relayStateType(TEST_RELAY_STATE)
+                .managedPolicies(new ArrayList<>(Arrays.asList(managedPolicyArn)))
+                .inlinePolicy(TEST_INLINE_POLICY_2)
+                .tags(Arrays.asList(software.amazon.sso.permissionset.Tag.builder().key("key").value("value").build()))
+                .build();
+    }
+
+    /**
+     * One ListManagedPoliciesInPermissionSet response per call, each with the given policy attached.
+     */
+    private void stubAttachedManagedPolicies(String... managedPolicyArnPerCall) {
+        OngoingStubbing<ListManagedPoliciesInPermissionSetResponse> stubbing = when(proxy.injectCredentialsAndInvokeV2(ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listManagedPoliciesInPermissionSet));
+        for (String managedPolicyArn : managedPolicyArnPerCall) {
+            stubbing = stubbing.thenReturn(ListManagedPoliciesInPermissionSetResponse.builder()
+                    .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(managedPolicyArn).build())
+                    .build());
+        }
+    }
+
+    /**
+     * The tags of planTestModel, so the tag step finds nothing to change.
+     */
+    private void stubResourceTags() {
+        when(proxy.injectCredentialsAndInvokeV2(ListTagsForResourceRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .resourceArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listTagsForResource))
+                .thenReturn(ListTagsForResourceResponse.builder()
+                        .tags(Tag.builder().key("key").value("value").build())
+                        .build());
+    }
+
+    private void stubChainedRead(String managedPolicyArn) {
+        when(proxy.injectCredentialsAndInvokeV2(DescribePermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::describePermissionSet))
+                .thenReturn(DescribePermissionSetResponse.builder()
+                        .permissionSet(PermissionSet.builder()
+                                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                                .name(TEST_PERMISSION_SET_NAME)
+                                .description(TEST_PERMISSION_SET_DESCRIPTION)
+                                .relayState(TEST_RELAY_STATE)
+                                .sessionDuration(TEST_SESSION_DURATION)
+                                .build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(ListManagedPoliciesInPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::listManagedPoliciesInPermissionSet))
+                .thenReturn(ListManagedPoliciesInPermissionSetResponse.builder()
+                        .attachedManagedPolicies(AttachedManagedPolicy.builder().arn(managedPolicyArn).build())
+                        .build());
+        when(proxy.injectCredentialsAndInvokeV2(GetInlinePolicyForPermissionSetRequest.builder()
+                .instanceArn(TEST_SSO_INSTANCE_ARN)
+                .permissionSetArn(TEST_PERMISSION_SET_ARN)
+                .build(), proxyClient.client()::getInlinePolicyForPermissionSet))
+                .thenReturn(GetInlinePolicyForPermissionSetResponse.builder()
+                        .inlinePolicy(TEST_INLINE_POLICY_2)
+                        .build());
+    }
+
     @Test
     public void handleRequest_SimpleSuccess_Delete_InlinePolicy() {
         final UpdateHandler handler = new UpdateHandler();
@@ -1143,7 +1559,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(300);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(40, 120);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -1255,7 +1671,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(300);
+        assertThat(response.getCallbackDelaySeconds()).isBetween(5, 100);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
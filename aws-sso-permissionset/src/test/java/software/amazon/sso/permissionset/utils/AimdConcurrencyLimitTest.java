@@ -0,0 +1,31 @@
+package software.amazon.sso.permissionset.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AimdConcurrencyLimitTest {
+
+    @Test
+    public void limit_GrowsByOneUpToMax() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(3, 5);
+
+        limit.onSuccess();
+        assertThat(limit.getLimit()).isEqualTo(4);
+        limit.onSuccess();
+        limit.onSuccess();
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    public void limit_HalvesOnCongestionDownToOne() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(8, 20);
+
+        limit.onCongestion();
+        assertThat(limit.getLimit()).isEqualTo(4);
+        limit.onCongestion();
+        limit.onCongestion();
+        limit.onCongestion();
+        assertThat(limit.getLimit()).isEqualTo(1);
+    }
+}